@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.cli;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.ResourceBundle;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * A child-first class loader of the CLI and embedded server classes. The
+ * classes are loaded from the CLI artifacts before the plugin class loader,
+ * except the classes of the API shared with the plugin (management client,
+ * DMR, JBoss Logging). Once the in-process CLI execution is done, the class
+ * loader is disposed and must be unloaded: no class of the plugin references
+ * its classes.
+ *
+ * @author jdenise
+ */
+public final class CLIClassLoader extends URLClassLoader {
+
+    // Types exchanged between the plugin and the CLI.
+    private static final String[] PARENT_FIRST = {
+        "java.",
+        "javax.",
+        "jdk.",
+        "sun.",
+        "org.jboss.as.controller.client.",
+        "org.jboss.dmr.",
+        "org.jboss.threads.",
+        "org.jboss.logging."};
+
+    private static final int UNLOAD_ATTEMPTS = 10;
+    private static final long UNLOAD_WAIT = 100;
+
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+
+    public CLIClassLoader(URL[] urls, ClassLoader parent) {
+        super(urls, parent);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (isParentFirst(name)) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> c = findLoadedClass(name);
+            if (c == null) {
+                try {
+                    c = findClass(name);
+                } catch (ClassNotFoundException ex) {
+                    c = getParent().loadClass(name);
+                }
+            }
+            if (resolve) {
+                resolveClass(c);
+            }
+            return c;
+        }
+    }
+
+    @Override
+    public URL getResource(String name) {
+        if (isParentFirst(name.replace('/', '.'))) {
+            return super.getResource(name);
+        }
+        URL url = findResource(name);
+        return url == null ? getParent().getResource(name) : url;
+    }
+
+    @Override
+    public Enumeration<URL> getResources(String name) throws IOException {
+        if (isParentFirst(name.replace('/', '.'))) {
+            return super.getResources(name);
+        }
+        List<URL> urls = Collections.list(findResources(name));
+        urls.addAll(Collections.list(getParent().getResources(name)));
+        return Collections.enumeration(urls);
+    }
+
+    private static boolean isParentFirst(String name) {
+        for (String prefix : PARENT_FIRST) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Release the references held by the JVM to the classes of this class
+     * loader and close it.
+     */
+    @Override
+    public void close() throws IOException {
+        // MBeans registered by the embedded server in the platform MBean server.
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : server.queryNames(null, null)) {
+            try {
+                ClassLoader cl = server.getClassLoaderFor(name);
+                if (cl != null && (cl == this || cl.getClass().getClassLoader() == this)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (Exception ex) {
+                // Unregistered concurrently or not unregistrable.
+            }
+        }
+        ResourceBundle.clearCache(this);
+        super.close();
+    }
+
+    /**
+     * Wait for closed class loaders to be unloaded, the unloaded class loaders
+     * are removed from the list.
+     *
+     * @return true if all the class loaders have been unloaded.
+     */
+    public static boolean awaitUnloaded(List<WeakReference<ClassLoader>> loaders) throws InterruptedException {
+        for (int i = 0; i < UNLOAD_ATTEMPTS; i++) {
+            loaders.removeIf(ref -> ref.get() == null);
+            if (loaders.isEmpty()) {
+                return true;
+            }
+            System.gc();
+            Thread.sleep(UNLOAD_WAIT);
+        }
+        loaders.removeIf(ref -> ref.get() == null);
+        return loaders.isEmpty();
+    }
+
+    /**
+     * @return The names of the live threads that reference one of the class
+     * loaders, by their class or their context class loader.
+     */
+    public static List<String> getReferencingThreads(List<WeakReference<ClassLoader>> loaders) {
+        List<String> threads = new ArrayList<>();
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            for (WeakReference<ClassLoader> ref : loaders) {
+                ClassLoader cl = ref.get();
+                if (cl != null && (t.getContextClassLoader() == cl || t.getClass().getClassLoader() == cl)) {
+                    threads.add(t.getName());
+                    break;
+                }
+            }
+        }
+        return threads;
+    }
+}
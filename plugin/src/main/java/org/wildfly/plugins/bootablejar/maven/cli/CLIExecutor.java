@@ -31,4 +31,9 @@ public interface CLIExecutor extends AutoCloseable {
     void generateBootLoggingConfig() throws Exception;
 
     void execute(List<String> commands) throws Exception;
+
+    /**
+     * Execute CLI sessions in a single boot of the embedded server.
+     */
+    void execute(CLISessionsPlan plan) throws Exception;
 }
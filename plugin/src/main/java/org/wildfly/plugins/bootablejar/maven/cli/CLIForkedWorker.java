@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.cli;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Entry point of the CLI worker process. The worker executes the CLI requests
+ * read from its standard input, one request per line, and answers each request
+ * with a line written to its standard output. The process exits when its
+ * standard input is closed.
+ *
+ * A request is made of tab separated fields: the request type, the system
+ * properties file and, for an {@code execute} request, the script file and
+ * the resolve expression flag, for a {@code plan} request, the file of the CLI
+ * sessions plan.
+ *
+ * While a request is executed, the worker streams the CLI output, one
+ * {@code output} line per line of output, and the execution time of each
+ * command, one {@code timing} line per command, before the {@code response}
+ * line. Other lines are written to the standard output by the JVM (eg: GC
+ * logs enabled with {@code JAVA_TOOL_OPTIONS}), they are not responses.
+ *
+ * @author jdenise
+ */
+public class CLIForkedWorker {
+
+    static final String EXECUTE = "execute";
+    static final String BOOT_LOGGING = "boot-logging";
+    static final String PLAN = "plan";
+    static final String OK = "ok";
+    static final String ERROR = "error";
+    static final String OUTPUT = "output";
+    static final String TIMING = "timing";
+    static final String RESPONSE = "response";
+    static final String SEPARATOR = "\t";
+
+    public static void main(String[] args) throws Exception {
+        Path jbossHome = Paths.get(args[0]);
+        // The standard output is reserved to the responses, the server and CLI output goes to the error stream.
+        PrintStream responses = new PrintStream(System.out, false, StandardCharsets.UTF_8);
+        System.setOut(System.err);
+        CLIOutputListener listener = new CLIOutputListener() {
+            @Override
+            public void output(String line) {
+                synchronized (responses) {
+                    responses.println(OUTPUT + SEPARATOR + line);
+                    responses.flush();
+                }
+            }
+
+            @Override
+            public void executed(String command, long millis) {
+                synchronized (responses) {
+                    responses.println(TIMING + SEPARATOR + millis + SEPARATOR + command);
+                    responses.flush();
+                }
+            }
+        };
+        BufferedReader requests = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = requests.readLine()) != null) {
+            String[] request = line.split(SEPARATOR);
+            Properties properties = (Properties) System.getProperties().clone();
+            String response = OK;
+            try {
+                setSystemProperties(Paths.get(request[1]));
+                try (EmbeddedCLISession cli = new EmbeddedCLISession(jbossHome, CLIForkedWorker.class.getClassLoader(), listener)) {
+                    switch (request[0]) {
+                        case EXECUTE:
+                            cli.setResolveExpression(Boolean.parseBoolean(request[3]));
+                            for (String command : Files.readAllLines(Paths.get(request[2]), StandardCharsets.UTF_8)) {
+                                cli.handle(command);
+                            }
+                            break;
+                        case BOOT_LOGGING:
+                            cli.generateBootLoggingConfig(jbossHome);
+                            break;
+                        case PLAN:
+                            CLISessionsPlan.load(Paths.get(request[2])).execute(cli, jbossHome);
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Unknown request " + request[0]);
+                    }
+                }
+            } catch (Throwable t) {
+                t.printStackTrace();
+                response = ERROR + SEPARATOR + String.valueOf(t).replace('\n', ' ').replace('\r', ' ');
+            } finally {
+                // Each request starts from the system properties of the worker.
+                System.setProperties(properties);
+            }
+            synchronized (responses) {
+                responses.println(RESPONSE + SEPARATOR + response);
+                responses.flush();
+            }
+        }
+        // Threads left by the embedded server must not keep the worker alive.
+        System.exit(0);
+    }
+
+    private static void setSystemProperties(Path systemProperties) throws Exception {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(systemProperties)) {
+            properties.load(in);
+        }
+        for (String key : properties.stringPropertyNames()) {
+            System.setProperty(key, properties.getProperty(key));
+        }
+    }
+}
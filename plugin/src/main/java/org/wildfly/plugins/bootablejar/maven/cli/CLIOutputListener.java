@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.cli;
+
+/**
+ * Receives the output of a CLI execution while the commands are executed.
+ *
+ * @author jdenise
+ */
+public interface CLIOutputListener {
+
+    /**
+     * A line of the CLI output.
+     */
+    void output(String line);
+
+    /**
+     * A command has been executed.
+     */
+    void executed(String command, long millis);
+}
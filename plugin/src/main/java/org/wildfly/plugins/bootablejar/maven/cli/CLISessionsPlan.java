@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.cli;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.wildfly.plugin.tools.bootablejar.BootLoggingConfiguration;
+
+/**
+ * The CLI sessions of a server, executed in order in a single boot of the
+ * embedded server. Each session keeps its properties file and its expression
+ * resolution. The boot logging configuration is generated at the end of the
+ * same boot.
+ *
+ * @author jdenise
+ */
+public class CLISessionsPlan {
+
+    public static class Session {
+
+        private final String name;
+        private final List<String> commands;
+        private final Path propertiesFile;
+        private final boolean resolveExpression;
+
+        /**
+         * @param propertiesFile The system properties set during the session, can be null.
+         */
+        public Session(String name, List<String> commands, Path propertiesFile, boolean resolveExpression) {
+            this.name = name;
+            this.commands = Collections.unmodifiableList(new ArrayList<>(commands));
+            this.propertiesFile = propertiesFile;
+            this.resolveExpression = resolveExpression;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final String SESSIONS = "sessions";
+    private static final String SESSION = "session.";
+    private static final String NAME = ".name";
+    private static final String COMMANDS = ".commands";
+    private static final String COMMAND = ".command.";
+    private static final String PROPERTIES = ".properties";
+    private static final String RESOLVE_EXPRESSION = ".resolve-expression";
+    private static final String LOGGING_FILE_COPY = "logging-file-copy";
+
+    private final List<Session> sessions = new ArrayList<>();
+    private Path loggingFileCopy;
+
+    public void addSession(Session session) {
+        sessions.add(session);
+    }
+
+    public List<Session> getSessions() {
+        return Collections.unmodifiableList(sessions);
+    }
+
+    /**
+     * Generate the boot logging configuration at the end of the sessions.
+     *
+     * @param loggingFileCopy The file in which the logging configuration of
+     * the server is copied before being replaced by the boot logging
+     * configuration.
+     */
+    public void setBootLoggingGeneration(Path loggingFileCopy) {
+        this.loggingFileCopy = loggingFileCopy;
+    }
+
+    public boolean isEmpty() {
+        return sessions.isEmpty() && loggingFileCopy == null;
+    }
+
+    /**
+     * Execute the sessions in a single boot of the embedded server.
+     */
+    void execute(EmbeddedCLISession cli, Path jbossHome) throws Exception {
+        cli.handle("embed-server --jboss-home=" + jbossHome + " --std-out=discard");
+        try {
+            for (Session session : sessions) {
+                Properties props = loadProperties(session.propertiesFile);
+                try {
+                    cli.setResolveExpression(session.resolveExpression);
+                    for (String command : session.commands) {
+                        cli.handle(command);
+                    }
+                } catch (Exception ex) {
+                    throw new Exception("CLI session " + session.name + " failed: " + ex.getLocalizedMessage(), ex);
+                } finally {
+                    for (String key : props.stringPropertyNames()) {
+                        System.clearProperty(key);
+                    }
+                }
+            }
+            if (loggingFileCopy != null) {
+                Path configDir = jbossHome.resolve("standalone").resolve("configuration");
+                Path loggingFile = configDir.resolve("logging.properties");
+                if (Files.exists(loggingFile)) {
+                    Files.copy(loggingFile, loggingFileCopy, StandardCopyOption.REPLACE_EXISTING);
+                }
+                new BootLoggingConfiguration().generate(configDir, cli.getModelControllerClient());
+            }
+        } finally {
+            cli.handle("stop-embedded-server");
+        }
+    }
+
+    public void store(Path file) throws IOException {
+        Properties props = new Properties();
+        props.setProperty(SESSIONS, Integer.toString(sessions.size()));
+        for (int i = 0; i < sessions.size(); i++) {
+            Session session = sessions.get(i);
+            props.setProperty(SESSION + i + NAME, session.name);
+            props.setProperty(SESSION + i + COMMANDS, Integer.toString(session.commands.size()));
+            for (int j = 0; j < session.commands.size(); j++) {
+                props.setProperty(SESSION + i + COMMAND + j, session.commands.get(j));
+            }
+            if (session.propertiesFile != null) {
+                props.setProperty(SESSION + i + PROPERTIES, session.propertiesFile.toString());
+            }
+            props.setProperty(SESSION + i + RESOLVE_EXPRESSION, Boolean.toString(session.resolveExpression));
+        }
+        if (loggingFileCopy != null) {
+            props.setProperty(LOGGING_FILE_COPY, loggingFileCopy.toString());
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            props.store(out, "CLI sessions");
+        }
+    }
+
+    public static CLISessionsPlan load(Path file) throws IOException {
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        }
+        CLISessionsPlan plan = new CLISessionsPlan();
+        int size = Integer.parseInt(props.getProperty(SESSIONS));
+        for (int i = 0; i < size; i++) {
+            List<String> commands = new ArrayList<>();
+            int numCommands = Integer.parseInt(props.getProperty(SESSION + i + COMMANDS));
+            for (int j = 0; j < numCommands; j++) {
+                commands.add(props.getProperty(SESSION + i + COMMAND + j));
+            }
+            String propertiesFile = props.getProperty(SESSION + i + PROPERTIES);
+            plan.addSession(new Session(props.getProperty(SESSION + i + NAME), commands,
+                    propertiesFile == null ? null : Paths.get(propertiesFile),
+                    Boolean.parseBoolean(props.getProperty(SESSION + i + RESOLVE_EXPRESSION))));
+        }
+        String loggingFileCopy = props.getProperty(LOGGING_FILE_COPY);
+        if (loggingFileCopy != null) {
+            plan.setBootLoggingGeneration(Paths.get(loggingFileCopy));
+        }
+        return plan;
+    }
+
+    private static Properties loadProperties(Path propertiesFile) throws IOException {
+        Properties props = new Properties();
+        if (propertiesFile != null) {
+            try (Reader reader = new InputStreamReader(Files.newInputStream(propertiesFile), StandardCharsets.UTF_8)) {
+                props.load(reader);
+            }
+            for (String key : props.stringPropertyNames()) {
+                System.setProperty(key, props.getProperty(key));
+            }
+        }
+        return props;
+    }
+}
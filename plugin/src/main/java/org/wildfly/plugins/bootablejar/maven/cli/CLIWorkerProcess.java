@@ -0,0 +1,250 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A long-lived forked JVM that executes the CLI scripts of an execution. The
+ * JVM is started once and executes all the CLI sessions of the server, instead
+ * of forking a JVM per session. The JVM is bound to a server: JBoss Modules
+ * keeps static references to the modules it loads, a worker can't be shared by
+ * servers.
+ *
+ * @author jdenise
+ */
+public class CLIWorkerProcess implements AutoCloseable {
+
+    private static final long EXIT_TIMEOUT = 10;
+    // The end of the worker log reported when the worker exits.
+    private static final int LOG_TAIL_LINES = 20;
+    private static final int LOG_TAIL_BYTES = 8192;
+
+    private final Path jbossHome;
+    private final Process process;
+    private final BufferedWriter requests;
+    private final BufferedReader responses;
+    private final Path log;
+    private final Path argFile;
+    // The log of a worker that exited is kept to investigate the failure.
+    private boolean keepLog;
+
+    public CLIWorkerProcess(Path jbossHome, List<Path> cliArtifacts) throws IOException {
+        this.jbossHome = jbossHome;
+        Set<String> cp = new LinkedHashSet<>();
+        for (Path p : cliArtifacts) {
+            cp.add(p.toAbsolutePath().toString());
+        }
+        collectClassPath(Thread.currentThread().getContextClassLoader(), cp);
+        if (cp.size() == cliArtifacts.size()) {
+            for (String p : System.getProperty("java.class.path").split(File.pathSeparator)) {
+                cp.add(p);
+            }
+        }
+        // The class path can be too long for a command line.
+        argFile = Files.createTempFile("cli-worker-classpath", ".txt");
+        Files.writeString(argFile, "-cp \"" + String.join(File.pathSeparator, cp).replace("\\", "\\\\") + "\"",
+                StandardCharsets.UTF_8);
+        log = Files.createTempFile("cli-worker", ".log");
+        List<String> cmd = new ArrayList<>();
+        cmd.add(Paths.get(System.getProperty("java.home")).resolve("bin").resolve("java").toString());
+        cmd.add("-server");
+        cmd.add("@" + argFile);
+        cmd.add(CLIForkedWorker.class.getName());
+        cmd.add(jbossHome.toString());
+        process = new ProcessBuilder(cmd).redirectErrorStream(false).redirectError(log.toFile()).start();
+        requests = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        responses = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    public Path getJBossHome() {
+        return jbossHome;
+    }
+
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    /**
+     * Execute a CLI script.
+     *
+     * @param listener Receives the CLI output while the script is executed.
+     */
+    public void execute(Path script, boolean resolveExpression, CLIOutputListener listener) throws IOException {
+        request(listener, CLIForkedWorker.EXECUTE, script.toString(), Boolean.toString(resolveExpression));
+    }
+
+    /**
+     * Execute CLI sessions in a single boot of the embedded server.
+     *
+     * @param plan The file of the stored sessions.
+     * @param listener Receives the CLI output while the sessions are executed.
+     */
+    public void executePlan(Path plan, CLIOutputListener listener) throws IOException {
+        request(listener, CLIForkedWorker.PLAN, plan.toString());
+    }
+
+    /**
+     * Generate the boot logging configuration of the server.
+     *
+     * @param listener Receives the CLI output.
+     */
+    public void generateBootLoggingConfig(CLIOutputListener listener) throws IOException {
+        request(listener, CLIForkedWorker.BOOT_LOGGING);
+    }
+
+    private synchronized void request(CLIOutputListener listener, String type, String... args) throws IOException {
+        // The worker sees the system properties of the Maven JVM at the time of the request.
+        Path systemProperties = Files.createTempFile("cli-worker-sysprops", ".properties");
+        try {
+            Properties props = new Properties();
+            for (String key : System.getProperties().stringPropertyNames()) {
+                props.setProperty(key, System.getProperty(key));
+            }
+            try (OutputStream out = Files.newOutputStream(systemProperties)) {
+                props.store(out, null);
+            }
+            StringBuilder line = new StringBuilder(type).append(CLIForkedWorker.SEPARATOR).append(systemProperties);
+            for (String arg : args) {
+                line.append(CLIForkedWorker.SEPARATOR).append(arg);
+            }
+            String response;
+            try {
+                requests.write(line.toString());
+                requests.newLine();
+                requests.flush();
+                response = readResponse(listener);
+            } catch (IOException ex) {
+                response = null;
+            }
+            if (response == null) {
+                keepLog = true;
+                close();
+                throw new IOException("The CLI worker process exited, see " + log + ", last lines:"
+                        + System.lineSeparator() + readLogTail());
+            }
+            if (!response.equals(CLIForkedWorker.OK)) {
+                // The state of the worker is unknown after a failure, the next session uses a new worker.
+                close();
+                throw new IOException("CLI execution failed in the CLI worker process: "
+                        + response.substring(Math.min(response.length(), CLIForkedWorker.ERROR.length() + 1)));
+            }
+        } finally {
+            Files.deleteIfExists(systemProperties);
+        }
+    }
+
+    // The output and timing lines streamed before the response are passed to the listener. The lines written to the
+    // standard output by the worker JVM itself (eg: GC logs) are passed as output.
+    private String readResponse(CLIOutputListener listener) throws IOException {
+        String line;
+        while ((line = responses.readLine()) != null) {
+            if (line.startsWith(CLIForkedWorker.RESPONSE + CLIForkedWorker.SEPARATOR)) {
+                return line.substring(CLIForkedWorker.RESPONSE.length() + 1);
+            } else if (line.startsWith(CLIForkedWorker.OUTPUT + CLIForkedWorker.SEPARATOR)) {
+                listener.output(line.substring(CLIForkedWorker.OUTPUT.length() + 1));
+            } else if (line.startsWith(CLIForkedWorker.TIMING + CLIForkedWorker.SEPARATOR)) {
+                String[] timing = line.split(CLIForkedWorker.SEPARATOR, 3);
+                listener.executed(timing[2], Long.parseLong(timing[1]));
+            } else {
+                listener.output(line);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        try {
+            requests.close();
+        } catch (IOException ex) {
+            // The worker has exited.
+        }
+        try {
+            if (!process.waitFor(EXIT_TIMEOUT, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException ex) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+        try {
+            Files.deleteIfExists(argFile);
+            if (!keepLog) {
+                Files.deleteIfExists(log);
+            }
+        } catch (IOException ex) {
+            // Temporary files.
+        }
+    }
+
+    private String readLogTail() throws IOException {
+        byte[] bytes;
+        try (SeekableByteChannel channel = Files.newByteChannel(log)) {
+            long start = Math.max(0, channel.size() - LOG_TAIL_BYTES);
+            ByteBuffer buffer = ByteBuffer.allocate((int) (channel.size() - start));
+            channel.position(start);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Read until the end.
+            }
+            bytes = buffer.array();
+        }
+        String[] lines = new String(bytes, StandardCharsets.UTF_8).split("\\R");
+        List<String> tail = Arrays.asList(lines).subList(Math.max(0, lines.length - LOG_TAIL_LINES), lines.length);
+        return String.join(System.lineSeparator(), tail);
+    }
+
+    private static void collectClassPath(ClassLoader cl, Set<String> cp) throws IOException {
+        if (cl == null) {
+            return;
+        }
+        collectClassPath(cl.getParent(), cp);
+        if (cl instanceof URLClassLoader) {
+            for (URL url : ((URLClassLoader) cl).getURLs()) {
+                if ("file".equals(url.getProtocol())) {
+                    try {
+                        cp.add(new File(url.toURI()).getAbsolutePath());
+                    } catch (URISyntaxException ex) {
+                        throw new IOException(ex);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.wildfly.plugin.tools.bootablejar.BootLoggingConfiguration;
+
+/**
+ * A CLI session whose expression resolution can be changed between commands,
+ * so that CLI scripts with different {@code resolve-expressions} options are
+ * executed against the same embedded server. The CLI classes are loaded from
+ * the provided class loader. The output is either kept in memory or streamed,
+ * line by line, to a listener.
+ *
+ * @author jdenise
+ */
+class EmbeddedCLISession implements AutoCloseable {
+
+    private static final String CLI_CONFIG = "jboss.cli.config";
+    // Longer lines are split, at a character boundary.
+    static final int MAX_LINE_LENGTH = 8192;
+
+    /**
+     * Streams the complete lines of the output to the listener.
+     */
+    static final class LineOutputStream extends OutputStream {
+
+        private final CLIOutputListener listener;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+        LineOutputStream(CLIOutputListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (b == '\n') {
+                flushLine();
+            } else if (b != '\r') {
+                // A UTF-8 continuation byte belongs to the character being written.
+                if (line.size() >= MAX_LINE_LENGTH && (b & 0xC0) != 0x80) {
+                    flushLine();
+                }
+                line.write(b);
+            }
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            if (line.size() > 0) {
+                flushLine();
+            }
+        }
+
+        private void flushLine() {
+            listener.output(line.toString(StandardCharsets.UTF_8));
+            line.reset();
+        }
+    }
+
+    private final Object ctx;
+    private final Method handle;
+    private final Method setResolveParameterValues;
+    private final Method getModelControllerClient;
+    private final Method terminateSession;
+    private final OutputStream out;
+    private final CLIOutputListener listener;
+    private final String origConfig;
+
+    EmbeddedCLISession(Path jbossHome, ClassLoader cl) throws Exception {
+        this(jbossHome, cl, null);
+    }
+
+    /**
+     * @param listener The listener of the output and of the executed commands,
+     * null to keep the output in memory.
+     */
+    EmbeddedCLISession(Path jbossHome, ClassLoader cl, CLIOutputListener listener) throws Exception {
+        this.listener = listener;
+        out = listener == null ? new ByteArrayOutputStream() : new LineOutputStream(listener);
+        Path config = jbossHome.resolve("bin").resolve("jboss-cli.xml");
+        origConfig = System.getProperty(CLI_CONFIG);
+        if (Files.exists(config)) {
+            System.setProperty(CLI_CONFIG, config.toString());
+        }
+        Class<?> configClass = cl.loadClass("org.jboss.as.cli.impl.CommandContextConfiguration");
+        Object builder = cl.loadClass("org.jboss.as.cli.impl.CommandContextConfiguration$Builder").getConstructor().newInstance();
+        builder.getClass().getMethod("setEchoCommand", boolean.class).invoke(builder, true);
+        builder.getClass().getMethod("setConsoleOutput", OutputStream.class).invoke(builder, out);
+        Object configuration = builder.getClass().getMethod("build").invoke(builder);
+        Object factory = cl.loadClass("org.jboss.as.cli.CommandContextFactory").getMethod("getInstance").invoke(null);
+        ctx = factory.getClass().getMethod("newCommandContext", configClass).invoke(factory, configuration);
+        handle = ctx.getClass().getMethod("handle", String.class);
+        setResolveParameterValues = ctx.getClass().getMethod("setResolveParameterValues", boolean.class);
+        getModelControllerClient = ctx.getClass().getMethod("getModelControllerClient");
+        terminateSession = ctx.getClass().getMethod("terminateSession");
+    }
+
+    void setResolveExpression(boolean resolveExpression) throws Exception {
+        invoke(setResolveParameterValues, resolveExpression);
+    }
+
+    void handle(String command) throws Exception {
+        long start = System.currentTimeMillis();
+        invoke(handle, command);
+        if (listener != null) {
+            listener.executed(command, System.currentTimeMillis() - start);
+        }
+    }
+
+    ModelControllerClient getModelControllerClient() throws Exception {
+        return (ModelControllerClient) invoke(getModelControllerClient);
+    }
+
+    /**
+     * @return The output kept in memory, empty if the output is streamed.
+     */
+    String getOutput() {
+        return out instanceof ByteArrayOutputStream ? ((ByteArrayOutputStream) out).toString(StandardCharsets.UTF_8) : "";
+    }
+
+    /**
+     * Start the embedded server, generate the boot logging configuration and
+     * stop the embedded server.
+     */
+    void generateBootLoggingConfig(Path jbossHome) throws Exception {
+        handle("embed-server --jboss-home=" + jbossHome + " --std-out=discard");
+        try {
+            new BootLoggingConfiguration().generate(jbossHome.resolve("standalone").resolve("configuration"),
+                    getModelControllerClient());
+        } finally {
+            handle("stop-embedded-server");
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            invoke(terminateSession);
+        } finally {
+            try {
+                out.close();
+            } catch (IOException ex) {
+                // In memory or streamed output.
+            }
+            if (origConfig == null) {
+                System.clearProperty(CLI_CONFIG);
+            } else {
+                System.setProperty(CLI_CONFIG, origConfig);
+            }
+        }
+    }
+
+    private Object invoke(Method method, Object... args) throws Exception {
+        try {
+            return method.invoke(ctx, args);
+        } catch (InvocationTargetException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw ex;
+        }
+    }
+}
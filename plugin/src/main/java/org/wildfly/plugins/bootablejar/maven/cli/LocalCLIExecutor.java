@@ -18,10 +18,11 @@ package org.wildfly.plugins.bootablejar.maven.cli;
 
 import java.io.IOException;
 import java.net.URL;
-import java.net.URLClassLoader;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import org.wildfly.plugins.bootablejar.maven.goals.AbstractBuildBootableJarMojo;
 import org.wildfly.plugin.tools.bootablejar.BootLoggingConfiguration;
@@ -33,6 +34,11 @@ import org.wildfly.plugin.tools.cli.CLIWrapper;
  * are sharing the same jboss module classes between execution run inside the
  * same JVM.
  *
+ * The class loader is child-first and is disposed when the executor is
+ * closed. The system properties of the embedded server and the CLI (eg:
+ * {@code module.path}) changed by the execution are reverted when the
+ * executor is closed, the other system properties are not modified.
+ *
  * CLI dependencies are retrieved from provisioned server artifacts list and
  * resolved using maven. In addition jboss-modules.jar located in the
  * provisioned server * is added.
@@ -41,15 +47,29 @@ import org.wildfly.plugin.tools.cli.CLIWrapper;
  */
 public class LocalCLIExecutor implements CLIExecutor {
 
+    // The system properties set by the embedded server and the CLI.
+    private static final String[] SERVER_PROPERTIES = {
+        "module.path",
+        "jboss.",
+        "org.jboss.",
+        "wildfly.",
+        "org.wildfly.",
+        "logging.configuration",
+        "java.util.logging.manager"};
+
     private final Level level;
     private final ClassLoader originalCl;
-    private final URLClassLoader cliCl;
+    private final CLIClassLoader cliCl;
+    private final Map<String, String> systemProperties;
     private final AbstractBuildBootableJarMojo mojo;
     private final CLIWrapper cliWrapper;
+    private final Path jbossHome;
+    private String planOutput;
 
     public LocalCLIExecutor(Path jbossHome, List<Path> cliArtifacts,
             AbstractBuildBootableJarMojo mojo, boolean resolveExpression, BootLoggingConfiguration bootLoggingConfiguration) throws Exception {
         this.mojo = mojo;
+        this.jbossHome = jbossHome;
         level = mojo.disableLog();
         final URL[] cp = new URL[cliArtifacts.size()];
         Iterator<Path> it = cliArtifacts.iterator();
@@ -58,8 +78,9 @@ public class LocalCLIExecutor implements CLIExecutor {
             cp[i] = it.next().toUri().toURL();
             i += 1;
         }
+        systemProperties = getSystemProperties();
         originalCl = Thread.currentThread().getContextClassLoader();
-        cliCl = new URLClassLoader(cp, originalCl);
+        cliCl = new CLIClassLoader(cp, originalCl);
         Thread.currentThread().setContextClassLoader(cliCl);
         cliWrapper = new CLIWrapper(jbossHome, resolveExpression, cliCl, bootLoggingConfiguration);
     }
@@ -71,7 +92,7 @@ public class LocalCLIExecutor implements CLIExecutor {
 
     @Override
     public String getOutput() {
-        return cliWrapper.getOutput();
+        return planOutput == null ? cliWrapper.getOutput() : planOutput;
     }
 
     @Override
@@ -80,10 +101,12 @@ public class LocalCLIExecutor implements CLIExecutor {
             cliWrapper.close();
         } finally {
             Thread.currentThread().setContextClassLoader(originalCl);
+            restoreSystemProperties(systemProperties);
             try {
                 cliCl.close();
             } catch (IOException e) {
             }
+            mojo.cliClassLoaderClosed(cliCl);
             mojo.enableLog(level);
         }
     }
@@ -95,8 +118,54 @@ public class LocalCLIExecutor implements CLIExecutor {
         }
     }
 
+    @Override
+    public void execute(CLISessionsPlan plan) throws Exception {
+        try (EmbeddedCLISession cli = new EmbeddedCLISession(jbossHome, cliCl)) {
+            try {
+                plan.execute(cli, jbossHome);
+            } finally {
+                planOutput = cli.getOutput();
+            }
+        }
+    }
+
     @Override
     public void generateBootLoggingConfig() throws Exception {
         cliWrapper.generateBootLoggingConfig();
     }
+
+    private static Map<String, String> getSystemProperties() {
+        Map<String, String> properties = new HashMap<>();
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (isServerProperty(key)) {
+                properties.put(key, System.getProperty(key));
+            }
+        }
+        return properties;
+    }
+
+    // Only the properties changed since the executor has been created are reverted, other builds of the JVM can
+    // set properties concurrently.
+    private static void restoreSystemProperties(Map<String, String> properties) {
+        Map<String, String> current = getSystemProperties();
+        for (String key : current.keySet()) {
+            if (!properties.containsKey(key)) {
+                System.clearProperty(key);
+            }
+        }
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            if (!entry.getValue().equals(current.get(entry.getKey()))) {
+                System.setProperty(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static boolean isServerProperty(String key) {
+        for (String prefix : SERVER_PROPERTIES) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,698 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.cli;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jboss.galleon.util.HashUtils;
+
+/**
+ * Applies CLI commands to the XML configuration of a server without booting
+ * an embedded server. The applier understands the operations used by the
+ * server configurations generated by the plugin (cloud configuration, JGroups
+ * authentication, development mode deployment scanner): {@code read-resource}
+ * conditions, {@code add}, {@code remove}, {@code write-attribute} and
+ * {@code undefine-attribute} operations on the resources whose XML
+ * representation is known. The {@code deploy} command of the application is
+ * applied as a managed deployment: the content is copied to the content
+ * repository of the server ({@code standalone/data/content}) and referenced
+ * by its SHA-1 hash. The commands it doesn't understand are returned, they
+ * must be executed with an embedded server after the applied commands.
+ *
+ * The commands are applied by unit: a single command, an {@code if} block or
+ * a batch is applied entirely or not at all. A unit that is not applied
+ * prevents the next units that address the same top level resource from being
+ * applied, their order is kept.
+ *
+ * @author jdenise
+ */
+public final class OfflineCLIApplier {
+
+    private static final Pattern IF = Pattern.compile("if\\s*\\(outcome\\s*(==|!=)\\s*success\\)\\s*of\\s+(/[^:]*):read-resource(\\(\\))?");
+    private static final Pattern OPERATION = Pattern.compile("(/[^:(]*):([\\w-]+)(\\((.*)\\))?");
+    private static final Pattern DEPLOY = Pattern.compile("deploy\\s+(.+?)((\\s+--[\\w-]+=\\S+)*)");
+    private static final Pattern DEPLOY_OPTION = Pattern.compile("--([\\w-]+)=(\\S+)");
+    private static final String DEPLOYMENTS = "deployments";
+    // The elements of the server configuration written before the deployments.
+    private static final Set<String> DEPLOYMENTS_AFTER = new HashSet<>(Arrays.asList("extensions", "system-properties",
+            "paths", "vault", "management", "profile", "interfaces", "socket-binding-group"));
+
+    private enum Kind {
+        // XML attribute of the element.
+        ATTRIBUTE,
+        // XML attribute of an existing child element.
+        CHILD_ATTRIBUTE,
+        // Child element with the value as attribute.
+        ELEMENT,
+        // Child element with the value as text.
+        TEXT,
+        // Child element with an item element per value.
+        LIST
+    }
+
+    private static final class Mapping {
+
+        private final Kind kind;
+        private final String element;
+        private final String item;
+        private final String attribute;
+        // Siblings written before the child element, null if the child element must exist.
+        private final Set<String> after;
+
+        private Mapping(Kind kind, String element, String item, String attribute, String... after) {
+            this.kind = kind;
+            this.element = element;
+            this.item = item;
+            this.attribute = attribute;
+            this.after = after == null ? null : new HashSet<>(Arrays.asList(after));
+        }
+    }
+
+    // Model attributes, by resource type and attribute name.
+    private static final Map<String, Mapping> ATTRIBUTES = new HashMap<>();
+
+    static {
+        ATTRIBUTES.put("management-interface.console-enabled", new Mapping(Kind.ATTRIBUTE, null, null, "console-enabled"));
+        ATTRIBUTES.put("root-logger.level", new Mapping(Kind.ELEMENT, "level", null, "name"));
+        ATTRIBUTES.put("root-logger.handlers", new Mapping(Kind.LIST, "handlers", "handler", "name", "level", "filter", "filter-spec"));
+        ATTRIBUTES.put("console-handler.level", new Mapping(Kind.ELEMENT, "level", null, "name"));
+        ATTRIBUTES.put("interface.inet-address", new Mapping(Kind.ELEMENT, "inet-address", null, "value", (String[]) null));
+        ATTRIBUTES.put("socket-binding.interface", new Mapping(Kind.ATTRIBUTE, null, null, "interface"));
+        ATTRIBUTES.put("channel.cluster", new Mapping(Kind.ATTRIBUTE, null, null, "cluster"));
+        ATTRIBUTES.put("channel.stack", new Mapping(Kind.ATTRIBUTE, null, null, "stack"));
+        ATTRIBUTES.put("cache-container.default-cache", new Mapping(Kind.ATTRIBUTE, null, null, "default-cache"));
+        ATTRIBUTES.put("http-listener.proxy-address-forwarding", new Mapping(Kind.ATTRIBUTE, null, null, "proxy-address-forwarding"));
+        ATTRIBUTES.put("subsystem=transactions.node-identifier", new Mapping(Kind.CHILD_ATTRIBUTE, "core-environment", null, "node-identifier"));
+        ATTRIBUTES.put("subsystem=transactions.recovery-listener", new Mapping(Kind.CHILD_ATTRIBUTE, "recovery-environment", null, "recovery-listener"));
+        ATTRIBUTES.put("subsystem=webservices.modify-wsdl-address", new Mapping(Kind.TEXT, "modify-wsdl-address", null, null));
+        ATTRIBUTES.put("subsystem=webservices.wsdl-host", new Mapping(Kind.TEXT, "wsdl-host", null, null, "modify-wsdl-address"));
+    }
+
+    private static final Set<String> RESOURCE_TYPES = new HashSet<>(Arrays.asList("subsystem", "core-service",
+            "management-interface", "interface", "socket-binding-group", "socket-binding", "channel", "stack", "protocol",
+            "root-logger", "periodic-rotating-file-handler", "console-handler", "pattern-formatter", "security-realm",
+            "server-identity", "server", "http-listener", "https-listener", "ajp-listener", "cache-container",
+            "distributed-cache", "component", "scanner"));
+
+    private static final class Operation {
+
+        private final List<String[]> address;
+        private final String name;
+        private final Map<String, String> params;
+
+        private Operation(List<String[]> address, String name, Map<String, String> params) {
+            this.address = address;
+            this.name = name;
+            this.params = params;
+        }
+    }
+
+    private static final class Deployment {
+
+        private final Path content;
+        private final String name;
+        private final String runtimeName;
+
+        private Deployment(Path content, String name, String runtimeName) {
+            this.content = content;
+            this.name = name;
+            this.runtimeName = runtimeName;
+        }
+    }
+
+    private static final class Unit {
+
+        private final List<String> lines = new ArrayList<>();
+        private final List<Operation> operations = new ArrayList<>();
+        private Deployment deployment;
+        private final Set<String> resources = new HashSet<>();
+        private List<String[]> condition;
+        private boolean negate;
+        private boolean understood = true;
+        private String end;
+    }
+
+    // The state of the configuration seen by the operations of a unit.
+    private static final class View {
+
+        private final XmlConfigEditor editor;
+        // The content repository of the server.
+        private final Path contentDir;
+        private final Set<String> created = new HashSet<>();
+        private final Set<String> deleted = new HashSet<>();
+        private final List<Runnable> actions = new ArrayList<>();
+
+        private View(XmlConfigEditor editor, Path contentDir) {
+            this.editor = editor;
+            this.contentDir = contentDir;
+        }
+
+        private boolean exists(String key) {
+            if (created.contains(key)) {
+                return true;
+            }
+            for (String d : deleted) {
+                if (key.equals(d) || key.startsWith(d + "/")) {
+                    return false;
+                }
+            }
+            return editor.exists(key);
+        }
+
+        private boolean isAdded(String key) {
+            return created.contains(key) || editor.isAdded(key);
+        }
+
+        private void remove(String key) {
+            deleted.add(key);
+            created.removeIf(k -> k.equals(key) || k.startsWith(key + "/"));
+            actions.add(() -> editor.remove(key));
+        }
+
+        private void setChild(String key, XmlConfigEditor.Node child, Set<String> after) {
+            String childKey = XmlConfigEditor.child(key, child.step());
+            deleted.remove(childKey);
+            created.add(childKey);
+            actions.add(() -> editor.setChild(key, child, after));
+        }
+    }
+
+    private OfflineCLIApplier() {
+    }
+
+    /**
+     * Apply the commands to the server configuration.
+     *
+     * @return The commands that are not applied, in their order.
+     */
+    public static List<String> apply(Path config, List<String> commands) throws Exception {
+        XmlConfigEditor editor = new XmlConfigEditor(config);
+        // standalone/configuration/standalone.xml
+        Path contentDir = config.toAbsolutePath().getParent().resolveSibling("data").resolve("content");
+        List<String> remaining = new ArrayList<>();
+        Set<String> notApplied = new HashSet<>();
+        boolean applied = false;
+        for (Unit unit : parse(commands)) {
+            if (unit.understood && Collections.disjoint(unit.resources, notApplied)) {
+                View view = new View(editor, contentDir);
+                if (plan(unit, view)) {
+                    view.actions.forEach(Runnable::run);
+                    applied = true;
+                    continue;
+                }
+            }
+            remaining.addAll(unit.lines);
+            notApplied.addAll(unit.resources);
+        }
+        if (applied) {
+            editor.write();
+        }
+        return remaining;
+    }
+
+    private static List<Unit> parse(List<String> commands) {
+        List<Unit> units = new ArrayList<>();
+        Unit unit = null;
+        for (String line : commands) {
+            String cmd = line.trim();
+            if (cmd.isEmpty() || cmd.startsWith("#")) {
+                if (unit != null) {
+                    unit.lines.add(line);
+                }
+                continue;
+            }
+            if (unit != null) {
+                unit.lines.add(line);
+                if (cmd.equals(unit.end)) {
+                    unit = null;
+                } else {
+                    addOperation(unit, cmd);
+                }
+                continue;
+            }
+            unit = new Unit();
+            unit.lines.add(line);
+            units.add(unit);
+            Matcher m = IF.matcher(cmd);
+            if (m.matches()) {
+                unit.negate = m.group(1).equals("!=");
+                unit.condition = parseAddress(m.group(2));
+                addResource(unit, unit.condition);
+                unit.end = "end-if";
+            } else if (cmd.equals("batch")) {
+                unit.end = "run-batch";
+            } else if (cmd.startsWith("deploy ")) {
+                addDeployment(unit, cmd);
+                unit = null;
+            } else {
+                addOperation(unit, cmd);
+                unit = null;
+            }
+        }
+        if (unit != null) {
+            // Not terminated.
+            unit.understood = false;
+        }
+        return units;
+    }
+
+    private static void addOperation(Unit unit, String cmd) {
+        Matcher m = OPERATION.matcher(cmd);
+        Operation op = null;
+        if (m.matches()) {
+            List<String[]> address = parseAddress(m.group(1));
+            Map<String, String> params = parseParams(m.group(4));
+            if (address != null && params != null) {
+                op = new Operation(address, m.group(2), params);
+                addResource(unit, address);
+            }
+        }
+        if (op == null) {
+            unit.understood = false;
+        } else {
+            unit.operations.add(op);
+        }
+    }
+
+    private static void addDeployment(Unit unit, String cmd) {
+        Matcher m = DEPLOY.matcher(cmd);
+        if (!m.matches()) {
+            unit.understood = false;
+            return;
+        }
+        Path content = Path.of(m.group(1));
+        String name = content.getFileName().toString();
+        String runtimeName = null;
+        Matcher options = DEPLOY_OPTION.matcher(m.group(2));
+        while (options.find()) {
+            switch (options.group(1)) {
+                case "name":
+                    name = options.group(2);
+                    break;
+                case "runtime-name":
+                    runtimeName = options.group(2);
+                    break;
+                default:
+                    // eg: --disabled, --headers
+                    unit.understood = false;
+                    return;
+            }
+        }
+        unit.deployment = new Deployment(content, name, runtimeName == null ? name : runtimeName);
+        unit.resources.add("deployment=" + name);
+    }
+
+    private static void addResource(Unit unit, List<String[]> address) {
+        if (address != null && !address.isEmpty()) {
+            unit.resources.add(address.get(0)[0] + "=" + address.get(0)[1]);
+        }
+    }
+
+    private static List<String[]> parseAddress(String address) {
+        List<String[]> segments = new ArrayList<>();
+        for (String segment : address.substring(1).split("/")) {
+            int i = segment.indexOf('=');
+            if (i <= 0) {
+                return null;
+            }
+            segments.add(new String[]{segment.substring(0, i).trim(), segment.substring(i + 1).trim()});
+        }
+        return segments;
+    }
+
+    // Parameters split at the top level commas, null if the parameters can't be parsed.
+    private static Map<String, String> parseParams(String params) {
+        Map<String, String> map = new LinkedHashMap<>();
+        if (params == null || params.isBlank()) {
+            return map;
+        }
+        for (String param : split(params)) {
+            int i = param.indexOf('=');
+            if (i <= 0) {
+                return null;
+            }
+            map.put(param.substring(0, i).trim(), param.substring(i + 1).trim());
+        }
+        return map;
+    }
+
+    private static List<String> split(String value) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        boolean quoted = false;
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && quoted) {
+                i += 1;
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && (c == '(' || c == '[' || c == '{')) {
+                depth += 1;
+            } else if (!quoted && (c == ')' || c == ']' || c == '}')) {
+                depth -= 1;
+            } else if (!quoted && depth == 0 && c == ',') {
+                parts.add(value.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        parts.add(value.substring(start).trim());
+        return parts;
+    }
+
+    // A simple value, null for lists and objects.
+    private static String value(String value) {
+        if (value.startsWith("[") || value.startsWith("{")) {
+            return null;
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 1; i < value.length() - 1; i++) {
+                char c = value.charAt(i);
+                if (c == '\\' && i < value.length() - 2) {
+                    i += 1;
+                    c = value.charAt(i);
+                }
+                builder.append(c);
+            }
+            return builder.toString();
+        }
+        return value;
+    }
+
+    private static String toKey(List<String[]> address) {
+        String key = "";
+        for (String[] segment : address) {
+            String type = segment[0];
+            String name = segment[1];
+            if (!RESOURCE_TYPES.contains(type)) {
+                return null;
+            }
+            String steps;
+            switch (type) {
+                case "subsystem":
+                    steps = "profile/subsystem[" + name + "]";
+                    break;
+                case "core-service":
+                    if (!name.equals("management")) {
+                        return null;
+                    }
+                    steps = "management";
+                    break;
+                case "management-interface":
+                    steps = "management-interfaces/" + name;
+                    break;
+                case "interface":
+                    steps = "interfaces/interface[" + name + "]";
+                    break;
+                case "channel":
+                    steps = "channels/channel[" + name + "]";
+                    break;
+                case "stack":
+                    steps = "stacks/stack[" + name + "]";
+                    break;
+                case "root-logger":
+                    steps = "root-logger";
+                    break;
+                case "pattern-formatter":
+                    steps = "formatter[" + name + "]";
+                    break;
+                case "security-realm":
+                    steps = "security-realms/security-realm[" + name + "]";
+                    break;
+                case "server-identity":
+                    steps = "server-identities/" + name;
+                    break;
+                case "component":
+                    steps = name;
+                    break;
+                case "scanner":
+                    steps = "deployment-scanner[" + name + "]";
+                    break;
+                default:
+                    steps = type + "[" + name + "]";
+            }
+            key = XmlConfigEditor.child(key, steps);
+        }
+        return key;
+    }
+
+    private static boolean exists(List<String[]> address, View view) {
+        String key = toKey(address);
+        String[] last = address.get(address.size() - 1);
+        if (last[0].equals("pattern-formatter")) {
+            // A formatter element contains the formatter type.
+            key = XmlConfigEditor.child(key, "pattern-formatter");
+        }
+        return view.exists(key);
+    }
+
+    private static boolean plan(Unit unit, View view) {
+        if (unit.deployment != null) {
+            return planDeploy(unit.deployment, view);
+        }
+        if (unit.condition != null) {
+            if (toKey(unit.condition) == null) {
+                return false;
+            }
+            if (exists(unit.condition, view) == unit.negate) {
+                // Nothing to execute.
+                return true;
+            }
+        }
+        for (Operation op : unit.operations) {
+            if (!plan(op, view)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean plan(Operation op, View view) {
+        String key = toKey(op.address);
+        if (key == null || op.address.isEmpty()) {
+            return false;
+        }
+        String[] last = op.address.get(op.address.size() - 1);
+        String type = last[0].equals("subsystem") ? "subsystem=" + last[1] : last[0];
+        switch (op.name) {
+            case "remove":
+                // Removing a server identity can leave an invalid security realm.
+                if (!op.params.isEmpty() || !exists(op.address, view) || type.equals("server-identity")) {
+                    return false;
+                }
+                view.remove(key);
+                return true;
+            case "write-attribute":
+            case "undefine-attribute":
+                if (!exists(op.address, view)) {
+                    return false;
+                }
+                Set<String> params = new HashSet<>(op.params.keySet());
+                params.removeAll(Arrays.asList("name", "value"));
+                String attribute = op.params.get("name");
+                if (!params.isEmpty() || attribute == null) {
+                    return false;
+                }
+                Mapping mapping = ATTRIBUTES.get(type + "." + attribute);
+                String value = op.name.equals("undefine-attribute") ? null : op.params.get("value");
+                return mapping != null && planAttribute(key, mapping, value, view);
+            case "add":
+                return planAdd(key, last, op.params, view);
+            default:
+                return false;
+        }
+    }
+
+    private static boolean planDeploy(Deployment deployment, View view) {
+        String key = XmlConfigEditor.child(DEPLOYMENTS, "deployment[" + deployment.name + "]");
+        if (view.exists(key) || !Files.isRegularFile(deployment.content)) {
+            return false;
+        }
+        String hash;
+        try {
+            hash = HashUtils.hashFile(deployment.content);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        XmlConfigEditor.Node node = new XmlConfigEditor.Node("deployment").attribute("name", deployment.name)
+                .attribute("runtime-name", deployment.runtimeName)
+                .child(new XmlConfigEditor.Node("content").attribute("sha1", hash));
+        if (view.exists(DEPLOYMENTS)) {
+            view.setChild(DEPLOYMENTS, node, null);
+        } else {
+            view.setChild("", new XmlConfigEditor.Node(DEPLOYMENTS).child(node), DEPLOYMENTS_AFTER);
+        }
+        // The layout of the content repository: <2 first characters of the hash>/<rest of the hash>/content
+        Path target = view.contentDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2)).resolve("content");
+        view.actions.add(() -> {
+            try {
+                if (Files.notExists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.copy(deployment.content, target);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return true;
+    }
+
+    private static boolean planAttribute(String key, Mapping mapping, String value, View view) {
+        if (mapping.kind == Kind.LIST) {
+            if (value == null) {
+                return planUndefine(key, mapping, view);
+            }
+            if (!value.startsWith("[") || !value.endsWith("]")) {
+                return false;
+            }
+            XmlConfigEditor.Node list = new XmlConfigEditor.Node(mapping.element);
+            for (String item : split(value.substring(1, value.length() - 1))) {
+                String v = value(item);
+                if (v == null) {
+                    return false;
+                }
+                if (!v.isEmpty()) {
+                    list.child(new XmlConfigEditor.Node(mapping.item).attribute(mapping.attribute, v));
+                }
+            }
+            view.setChild(key, list, mapping.after);
+            return true;
+        }
+        String v = value == null ? null : value(value);
+        if (value != null && v == null) {
+            return false;
+        }
+        switch (mapping.kind) {
+            case ATTRIBUTE:
+                view.actions.add(() -> view.editor.setAttribute(key, mapping.attribute, v));
+                return true;
+            case CHILD_ATTRIBUTE:
+                String childKey = XmlConfigEditor.child(key, mapping.element);
+                if (!view.exists(childKey)) {
+                    return false;
+                }
+                view.actions.add(() -> view.editor.setAttribute(childKey, mapping.attribute, v));
+                return true;
+            case ELEMENT:
+            case TEXT:
+                if (v == null) {
+                    return planUndefine(key, mapping, view);
+                }
+                if (mapping.after == null && !view.exists(XmlConfigEditor.child(key, mapping.element))) {
+                    return false;
+                }
+                XmlConfigEditor.Node node = new XmlConfigEditor.Node(mapping.element);
+                if (mapping.kind == Kind.TEXT) {
+                    node.text(v);
+                } else {
+                    node.attribute(mapping.attribute, v);
+                }
+                view.setChild(key, node, mapping.after);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean planUndefine(String key, Mapping mapping, View view) {
+        // A child element that must exist can't be undefined.
+        if (mapping.after == null) {
+            return false;
+        }
+        String childKey = XmlConfigEditor.child(key, mapping.element);
+        if (view.exists(childKey)) {
+            view.remove(childKey);
+        }
+        return true;
+    }
+
+    private static boolean planAdd(String key, String[] resource, Map<String, String> params, View view) {
+        String parent = XmlConfigEditor.parent(key);
+        if (view.exists(key) || !view.exists(parent)) {
+            return false;
+        }
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            String v = value(param.getValue());
+            if (v == null) {
+                return false;
+            }
+            attributes.put(param.getKey(), v);
+        }
+        XmlConfigEditor.Node node;
+        Set<String> after = null;
+        switch (resource[0]) {
+            case "interface":
+                String address = attributes.remove("inet-address");
+                if (address == null || !attributes.isEmpty()) {
+                    return false;
+                }
+                node = new XmlConfigEditor.Node("interface").attribute("name", resource[1])
+                        .child(new XmlConfigEditor.Node("inet-address").attribute("value", address));
+                break;
+            case "protocol":
+                String index = attributes.remove("add-index");
+                if (!attributes.isEmpty() || (index != null && !index.equals("0"))) {
+                    return false;
+                }
+                if (index != null) {
+                    // The protocols follow the transport.
+                    after = Collections.singleton("transport");
+                }
+                node = new XmlConfigEditor.Node("protocol").attribute("type", resource[1]);
+                break;
+            case "distributed-cache":
+                if (!attributes.isEmpty()) {
+                    return false;
+                }
+                node = new XmlConfigEditor.Node("distributed-cache").attribute("name", resource[1]);
+                break;
+            case "component":
+                // The position of a component in an existing cache is not known.
+                if (!resource[1].equals("expiration") || !view.isAdded(parent)) {
+                    return false;
+                }
+                node = new XmlConfigEditor.Node("expiration");
+                break;
+            case "scanner":
+                node = new XmlConfigEditor.Node("deployment-scanner").attribute("name", resource[1]);
+                break;
+            default:
+                return false;
+        }
+        if (!resource[0].equals("interface")) {
+            attributes.forEach(node::attribute);
+        }
+        view.setChild(parent, node, after);
+        return true;
+    }
+}
@@ -20,40 +20,43 @@ import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.logging.Level;
-import org.wildfly.plugin.tools.bootablejar.BootLoggingConfiguration;
-import org.wildfly.plugin.tools.cli.ForkedCLIUtil;
+import org.apache.maven.plugin.logging.Log;
 import org.wildfly.plugins.bootablejar.maven.goals.AbstractBuildBootableJarMojo;
 
 /**
- * A CLI executor, that forks CLI execution in a remote process.
+ * A CLI executor, that executes CLI in a remote process, the CLI worker
+ * process of the execution. The CLI output is streamed from the worker: it is
+ * logged while the commands are executed when the output is displayed, and
+ * only its last lines are kept to be reported in case of error.
  *
  * @author jdenise
  */
-public class RemoteCLIExecutor implements CLIExecutor {
+public class RemoteCLIExecutor implements CLIExecutor, CLIOutputListener {
+
+    private static final int MAX_OUTPUT_LINES = 1000;
 
     private final Level level;
     private final AbstractBuildBootableJarMojo mojo;
-    private final Path output;
-    private final Path jbossHome;
-    private final String[] cp;
+    private final CLIWorkerProcess worker;
     private final boolean resolveExpression;
+    private final boolean displayOutput;
+    private final Deque<String> output = new ArrayDeque<>();
+    private long skippedLines;
 
+    /**
+     * @param displayOutput true to log the CLI output while it is executed.
+     */
     public RemoteCLIExecutor(Path jbossHome, List<Path> cliArtifacts,
-            AbstractBuildBootableJarMojo mojo, boolean resolveExpression) throws Exception {
-        this.jbossHome = jbossHome;
+            AbstractBuildBootableJarMojo mojo, boolean resolveExpression, boolean displayOutput) throws Exception {
         this.mojo = mojo;
         this.resolveExpression = resolveExpression;
+        this.displayOutput = displayOutput;
+        worker = mojo.getCliWorker(jbossHome, cliArtifacts);
         level = mojo.disableLog();
-        output = File.createTempFile("cli-script-output", null).toPath();
-        Files.deleteIfExists(output);
-        cp = new String[cliArtifacts.size()];
-        int i = 0;
-        for (Path p : cliArtifacts) {
-            cp[i] = p.toString();
-            i += 1;
-        }
     }
 
     @Override
@@ -61,50 +64,74 @@ public class RemoteCLIExecutor implements CLIExecutor {
         throw new UnsupportedOperationException("handle is unsupported, call execute instead.");
     }
 
+    @Override
+    public void output(String line) {
+        if (displayOutput) {
+            mojo.getLog().info(line);
+        }
+        if (output.size() == MAX_OUTPUT_LINES) {
+            output.removeFirst();
+            skippedLines += 1;
+        }
+        output.addLast(line);
+    }
+
+    @Override
+    public void executed(String command, long millis) {
+        Log log = mojo.getLog();
+        if (log.isDebugEnabled()) {
+            log.debug("CLI command executed in " + millis + "ms: " + command);
+        }
+    }
+
+    /**
+     * @return The last lines of the CLI output.
+     */
     @Override
     public String getOutput() throws Exception {
         StringBuilder out = new StringBuilder();
-        if (Files.exists(output)) {
-            for (String s : Files.readAllLines(output)) {
-                out.append(s).append("\n");
-            }
-        } else {
-            out.append("ERROR, no CLI output file found, an error occured while executing CLI");
+        if (skippedLines > 0) {
+            out.append("[").append(skippedLines).append(" lines not shown]\n");
+        }
+        for (String s : output) {
+            out.append(s).append("\n");
         }
         return out.toString();
     }
 
     @Override
     public void close() throws Exception {
-        try {
-            Files.deleteIfExists(output);
-        } finally {
-            mojo.enableLog(level);
-        }
+        mojo.enableLog(level);
     }
 
     @Override
     public void execute(List<String> commands) throws Exception {
         Path script = File.createTempFile("cli-script", null).toPath();
-        Files.deleteIfExists(script);
-        Files.deleteIfExists(output);
         StringBuilder cmds = new StringBuilder();
         for (String cmd : commands) {
             cmds.append(cmd).append(System.lineSeparator());
         }
         Files.write(script, cmds.toString().getBytes(StandardCharsets.UTF_8));
-        String[] args = new String[2];
-        args[0] = script.toString();
-        args[1] = Boolean.toString(resolveExpression);
         try {
-            ForkedCLIUtil.fork(cp, CLIForkedExecutor.class, jbossHome, output, args);
+            worker.execute(script, resolveExpression, this);
         } finally {
             Files.deleteIfExists(script);
         }
     }
 
+    @Override
+    public void execute(CLISessionsPlan plan) throws Exception {
+        Path planFile = File.createTempFile("cli-sessions", null).toPath();
+        try {
+            plan.store(planFile);
+            worker.executePlan(planFile, this);
+        } finally {
+            Files.deleteIfExists(planFile);
+        }
+    }
+
     @Override
     public void generateBootLoggingConfig() throws Exception {
-        BootLoggingConfiguration.generateBootLoggingConfig(cp,jbossHome, output);
+        worker.generateBootLoggingConfig(this);
     }
 }
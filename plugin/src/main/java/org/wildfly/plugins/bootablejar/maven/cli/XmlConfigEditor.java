@@ -0,0 +1,513 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.cli;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Edits of a server XML configuration, applied in a single streaming pass.
+ * Elements are identified by a key: the path of the element from the root
+ * element, each step being the element local name qualified by its name
+ * ({@code interfaces/interface[public]}), the subsystem name for the
+ * subsystems ({@code profile/subsystem[logging]}) or the protocol type for
+ * the JGroups protocols ({@code protocol[MPING]}). The keys of the elements
+ * are read when the editor is created and are updated by the edits.
+ *
+ * @author jdenise
+ */
+final class XmlConfigEditor {
+
+    /**
+     * An element added by an edit.
+     */
+    static final class Node {
+
+        private final String name;
+        private final Map<String, String> attributes = new LinkedHashMap<>();
+        private final List<Node> children = new ArrayList<>();
+        private String text;
+
+        Node(String name) {
+            this.name = name;
+        }
+
+        Node attribute(String name, String value) {
+            attributes.put(name, value);
+            return this;
+        }
+
+        Node child(Node child) {
+            children.add(child);
+            return this;
+        }
+
+        Node text(String text) {
+            this.text = text;
+            return this;
+        }
+
+        String step() {
+            return XmlConfigEditor.step(name, null, attributes.get("name"), attributes.get("type"));
+        }
+    }
+
+    private static final class ChildEdit {
+
+        private final Node node;
+        // Local names of the siblings written before the child, null to append the child.
+        private final Set<String> after;
+        private boolean done;
+
+        private ChildEdit(Node node, Set<String> after) {
+            this.node = node;
+            this.after = after;
+        }
+    }
+
+    private static final class ElementEdit {
+
+        private boolean remove;
+        private final Map<String, String> attributes = new LinkedHashMap<>();
+        private final List<ChildEdit> children = new ArrayList<>();
+    }
+
+    private static final class Frame {
+
+        private final String key;
+        private final ElementEdit edit;
+        private final String indent;
+
+        private Frame(String key, ElementEdit edit, String indent) {
+            this.key = key;
+            this.edit = edit;
+            this.indent = indent;
+        }
+    }
+
+    private static final String INDENT = "    ";
+
+    private final Path config;
+    private final Set<String> keys = new HashSet<>();
+    private final Map<String, ElementEdit> edits = new HashMap<>();
+    // Elements added by the edits, by key.
+    private final Map<String, Node> added = new HashMap<>();
+
+    XmlConfigEditor(Path config) throws IOException, XMLStreamException {
+        this.config = config;
+        try (InputStream in = Files.newInputStream(config)) {
+            XMLStreamReader reader = newInputFactory().createXMLStreamReader(in);
+            Deque<String> path = new ArrayDeque<>();
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String key = path.isEmpty() ? "" : child(path.peek(), step(reader));
+                    keys.add(key);
+                    path.push(key);
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    path.pop();
+                }
+            }
+            reader.close();
+        }
+    }
+
+    static String child(String key, String step) {
+        return key.isEmpty() ? step : key + "/" + step;
+    }
+
+    static String parent(String key) {
+        int i = key.lastIndexOf('/');
+        return i < 0 ? "" : key.substring(0, i);
+    }
+
+    boolean exists(String key) {
+        return keys.contains(key);
+    }
+
+    boolean isAdded(String key) {
+        return added.containsKey(key);
+    }
+
+    void remove(String key) {
+        removeKeys(key);
+        Node node = added.remove(key);
+        if (node != null) {
+            Node parent = added.get(parent(key));
+            if (parent != null) {
+                parent.children.remove(node);
+            } else {
+                edit(parent(key)).children.removeIf(c -> c.node == node);
+            }
+        } else {
+            edit(key).remove = true;
+        }
+    }
+
+    /**
+     * Set an attribute of an element.
+     *
+     * @param value The attribute value, null to remove the attribute.
+     */
+    void setAttribute(String key, String name, String value) {
+        Node node = added.get(key);
+        if (node != null) {
+            if (value == null) {
+                node.attributes.remove(name);
+            } else {
+                node.attributes.put(name, value);
+            }
+        } else {
+            edit(key).attributes.put(name, value);
+        }
+    }
+
+    /**
+     * Add a child element, an existing child with the same key is replaced.
+     *
+     * @param after The local names of the siblings that are written before
+     * the child, null to append the child.
+     */
+    void setChild(String key, Node child, Set<String> after) {
+        String childKey = child(key, child.step());
+        if (keys.contains(childKey)) {
+            remove(childKey);
+        }
+        addKeys(key, child);
+        Node node = added.get(key);
+        if (node != null) {
+            node.children.add(child);
+        } else {
+            edit(key).children.add(new ChildEdit(child, after));
+        }
+    }
+
+    private ElementEdit edit(String key) {
+        return edits.computeIfAbsent(key, k -> new ElementEdit());
+    }
+
+    private void addKeys(String parent, Node node) {
+        String key = child(parent, node.step());
+        keys.add(key);
+        added.put(key, node);
+        for (Node c : node.children) {
+            addKeys(key, c);
+        }
+    }
+
+    private void removeKeys(String key) {
+        keys.removeIf(k -> k.equals(key) || k.startsWith(key + "/"));
+        added.keySet().removeIf(k -> k.startsWith(key + "/"));
+    }
+
+    /**
+     * Write the edited configuration.
+     */
+    void write() throws IOException, XMLStreamException {
+        Path tmp = config.resolveSibling(config.getFileName() + ".tmp");
+        try (InputStream in = Files.newInputStream(config);
+                Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            XMLStreamReader reader = newInputFactory().createXMLStreamReader(in);
+            XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+            new Transformation(reader, writer).run();
+            writer.close();
+            reader.close();
+        }
+        Files.move(tmp, config, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    private static String step(XMLStreamReader reader) {
+        return step(reader.getLocalName(), reader.getNamespaceURI(), reader.getAttributeValue(null, "name"),
+                reader.getAttributeValue(null, "type"));
+    }
+
+    private static String step(String localName, String namespace, String name, String type) {
+        if (localName.equals("subsystem")) {
+            // urn:jboss:domain:logging:8.0
+            String[] parts = namespace == null ? new String[0] : namespace.split(":");
+            return localName + "[" + (parts.length < 2 ? "" : parts[parts.length - 2]) + "]";
+        }
+        if (localName.endsWith("protocol") && type != null) {
+            return "protocol[" + type + "]";
+        }
+        if (localName.equals("deployment-scanner")) {
+            return localName + "[" + (name == null ? "default" : name) + "]";
+        }
+        // The name of a level is its value.
+        if (name == null || localName.equals("level")) {
+            return localName;
+        }
+        return localName + "[" + name + "]";
+    }
+
+    private final class Transformation {
+
+        private final XMLStreamReader reader;
+        private final XMLStreamWriter writer;
+        private final Deque<Frame> frames = new ArrayDeque<>();
+        // Whitespace is written with the next event, it is dropped with a removed element.
+        private final StringBuilder whitespace = new StringBuilder();
+        // Event read ahead of an element start, not yet handled.
+        private int next = -1;
+
+        private Transformation(XMLStreamReader reader, XMLStreamWriter writer) {
+            this.reader = reader;
+            this.writer = writer;
+        }
+
+        private void run() throws XMLStreamException {
+            String version = reader.getVersion();
+            writer.writeStartDocument("UTF-8", version == null ? "1.0" : version);
+            writer.writeCharacters("\n");
+            while (next >= 0 || reader.hasNext()) {
+                int event = next >= 0 ? next : reader.next();
+                next = -1;
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        startElement();
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        endElement();
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.SPACE:
+                    case XMLStreamConstants.CDATA:
+                        if (reader.isWhiteSpace()) {
+                            if (!frames.isEmpty()) {
+                                whitespace.append(reader.getText());
+                            }
+                        } else {
+                            flush();
+                            if (event == XMLStreamConstants.CDATA) {
+                                writer.writeCData(reader.getText());
+                            } else {
+                                writer.writeCharacters(reader.getText());
+                            }
+                        }
+                        break;
+                    case XMLStreamConstants.COMMENT:
+                        flush();
+                        writer.writeComment(reader.getText());
+                        if (frames.isEmpty()) {
+                            writer.writeCharacters("\n");
+                        }
+                        break;
+                    case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                        flush();
+                        writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+                        break;
+                    case XMLStreamConstants.END_DOCUMENT:
+                        writer.writeCharacters("\n");
+                        writer.writeEndDocument();
+                        break;
+                    default:
+                        break;
+                }
+            }
+            writer.flush();
+        }
+
+        private void startElement() throws XMLStreamException {
+            Frame parent = frames.peek();
+            String localName = reader.getLocalName();
+            String step = step(reader);
+            String key = parent == null ? "" : child(parent.key, step);
+            String indent = parent == null ? "" : indent(parent);
+            if (parent != null && parent.edit != null) {
+                ChildEdit replaced = null;
+                for (ChildEdit c : parent.edit.children) {
+                    if (c.node.step().equals(step)) {
+                        replaced = c;
+                    } else if (!c.done && c.after != null && !c.after.contains(localName)) {
+                        flush();
+                        writeNode(c.node, indent);
+                        whitespace.append("\n").append(indent);
+                        c.done = true;
+                    }
+                }
+                if (replaced != null) {
+                    if (replaced.done) {
+                        whitespace.setLength(0);
+                    } else {
+                        flush();
+                        writeNode(replaced.node, indent);
+                        replaced.done = true;
+                    }
+                    skip();
+                    return;
+                }
+            }
+            ElementEdit edit = edits.get(key);
+            if (edit != null && edit.remove) {
+                whitespace.setLength(0);
+                skip();
+                return;
+            }
+            flush();
+            String prefix = reader.getPrefix() == null ? "" : reader.getPrefix();
+            String namespace = reader.getNamespaceURI();
+            List<String[]> namespaces = new ArrayList<>();
+            for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                namespaces.add(new String[]{reader.getNamespacePrefix(i), reader.getNamespaceURI(i)});
+            }
+            // Attributes in the document order.
+            Map<String, String> edited = edit == null ? new LinkedHashMap<>() : new LinkedHashMap<>(edit.attributes);
+            List<String[]> attributes = new ArrayList<>();
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                String attributePrefix = reader.getAttributePrefix(i);
+                String attributeName = reader.getAttributeLocalName(i);
+                if (attributePrefix == null || attributePrefix.isEmpty()) {
+                    String value = edited.containsKey(attributeName) ? edited.remove(attributeName) : reader.getAttributeValue(i);
+                    if (value != null) {
+                        attributes.add(new String[]{null, null, attributeName, value});
+                    }
+                } else {
+                    attributes.add(new String[]{attributePrefix, reader.getAttributeNamespace(i), attributeName,
+                        reader.getAttributeValue(i)});
+                }
+            }
+            for (Map.Entry<String, String> attribute : edited.entrySet()) {
+                if (attribute.getValue() != null) {
+                    attributes.add(new String[]{null, null, attribute.getKey(), attribute.getValue()});
+                }
+            }
+            next = reader.next();
+            boolean empty = next == XMLStreamConstants.END_ELEMENT && (edit == null || edit.children.isEmpty());
+            if (empty) {
+                next = -1;
+                writer.writeEmptyElement(prefix, localName, namespace == null ? "" : namespace);
+            } else {
+                writer.writeStartElement(prefix, localName, namespace == null ? "" : namespace);
+            }
+            for (String[] ns : namespaces) {
+                if (ns[0] == null || ns[0].isEmpty()) {
+                    writer.writeDefaultNamespace(ns[1]);
+                } else {
+                    writer.writeNamespace(ns[0], ns[1]);
+                }
+            }
+            for (String[] attribute : attributes) {
+                if (attribute[0] == null) {
+                    writer.writeAttribute(attribute[2], attribute[3]);
+                } else {
+                    writer.writeAttribute(attribute[0], attribute[1], attribute[2], attribute[3]);
+                }
+            }
+            if (!empty) {
+                frames.push(new Frame(key, edit, indent));
+            }
+        }
+
+        private void endElement() throws XMLStreamException {
+            Frame frame = frames.pop();
+            if (frame.edit != null) {
+                for (ChildEdit c : frame.edit.children) {
+                    if (!c.done) {
+                        String indent = frame.indent + INDENT;
+                        writer.writeCharacters("\n" + indent);
+                        writeNode(c.node, indent);
+                        c.done = true;
+                        if (whitespace.length() == 0) {
+                            whitespace.append("\n").append(frame.indent);
+                        }
+                    }
+                }
+            }
+            flush();
+            writer.writeEndElement();
+        }
+
+        // The indentation of the current element, read from the preceding whitespace.
+        private String indent(Frame parent) {
+            int i = whitespace.lastIndexOf("\n");
+            return i < 0 ? parent.indent + INDENT : whitespace.substring(i + 1);
+        }
+
+        private void flush() throws XMLStreamException {
+            if (whitespace.length() > 0) {
+                writer.writeCharacters(whitespace.toString());
+                whitespace.setLength(0);
+            }
+        }
+
+        private void skip() throws XMLStreamException {
+            int depth = 1;
+            while (depth > 0) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth += 1;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth -= 1;
+                }
+            }
+        }
+
+        private void writeNode(Node node, String indent) throws XMLStreamException {
+            boolean empty = node.children.isEmpty() && node.text == null;
+            if (empty) {
+                writer.writeEmptyElement(node.name);
+            } else {
+                writer.writeStartElement(node.name);
+            }
+            for (Map.Entry<String, String> attribute : node.attributes.entrySet()) {
+                writer.writeAttribute(attribute.getKey(), attribute.getValue());
+            }
+            if (empty) {
+                return;
+            }
+            if (node.text != null) {
+                writer.writeCharacters(node.text);
+            }
+            for (Node c : node.children) {
+                writer.writeCharacters("\n" + indent + INDENT);
+                writeNode(c, indent + INDENT);
+            }
+            if (!node.children.isEmpty()) {
+                writer.writeCharacters("\n" + indent);
+            }
+            writer.writeEndElement();
+        }
+    }
+}
@@ -17,7 +17,6 @@
 package org.wildfly.plugins.bootablejar.maven.cloud;
 
 import java.io.BufferedReader;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -27,7 +26,6 @@ import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Properties;
 import java.util.Set;
 import java.util.jar.Manifest;
 import java.util.stream.Collectors;
@@ -35,6 +33,7 @@ import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.codehaus.plexus.configuration.PlexusConfigurationException;
 import org.jboss.galleon.universe.maven.MavenUniverseException;
+import org.wildfly.plugins.bootablejar.maven.common.BuildDigest;
 import org.wildfly.plugins.bootablejar.maven.goals.BuildBootableJarMojo;
 import org.wildfly.plugin.tools.bootablejar.BootableJarSupport;
 
@@ -98,11 +97,9 @@ public class CloudConfig {
             Files.copy(stream, target, StandardCopyOption.REPLACE_EXISTING);
         }
         Path marker = contentDir.resolve(type + ".properties");
-        Properties props = new Properties();
         // TODO, if we need it, add properties there.
-        try (FileOutputStream s = new FileOutputStream(marker.toFile())) {
-            props.store(s, type + " properties");
-        }
+        // Empty properties file written without the Properties.store date comment to keep the JAR reproducible.
+        Files.write(marker, ("#" + type + " properties\n").getBytes(StandardCharsets.ISO_8859_1));
         try {
             BootableJarSupport.unzipCloudExtension(contentDir, mojo.retrievePluginVersion(), mojo.getArtifactResolver());
         } catch (MavenUniverseException ex) {
@@ -110,6 +107,11 @@ public class CloudConfig {
         }
     }
 
+    public void addBuildDigestInputs(BuildDigest digest) {
+        digest.add("cloud-type", type);
+        digest.add("cloud-enable-jgroups-password", enableJgroupsPassword);
+    }
+
     public Set<String> getExtraLayers(BuildBootableJarMojo mojo, String healthLayer, Log log) {
         Set<String> set = new HashSet<>();
         if (healthLayer == null) {
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+
+/**
+ * Assemble the bootable JAR in a single streaming pass. Entries of the runtime
+ * and jboss-modules jars are copied raw (no inflate/deflate round trip) to the
+ * target JAR, the files of the content directory are then added. When an entry
+ * exists in more than one source, the runtime wins over jboss-modules that wins
+ * over the content directory.
+ *
+ * @author jdenise
+ */
+public class BootableJarAssembler {
+
+    private static final String META_INF = "META-INF/";
+
+    private final Path runtimeJar;
+    private final Path jbossModulesJar;
+    private final Path contentDir;
+    private final CompressionPolicy policy;
+    private final ReproducibleOutput reproducible;
+    private final Set<String> written = new HashSet<>();
+
+    /**
+     * @param runtimeJar The wildfly-jar-boot runtime jar.
+     * @param jbossModulesJar The jboss-modules jar, can be null if the runtime
+     * already contains jboss-modules.
+     * @param contentDir The directory containing the server zip and extra content.
+     * @param policy The compression policy of the content directory files.
+     * @param reproducible The entries normalization, null if the output is not reproducible.
+     */
+    public BootableJarAssembler(Path runtimeJar, Path jbossModulesJar, Path contentDir, CompressionPolicy policy,
+            ReproducibleOutput reproducible) {
+        this.runtimeJar = runtimeJar;
+        this.jbossModulesJar = jbossModulesJar;
+        this.contentDir = contentDir;
+        this.policy = policy;
+        this.reproducible = reproducible;
+    }
+
+    /**
+     * Check if a jar contains an entry without extracting it.
+     */
+    public static boolean containsEntry(Path jar, String entryName) throws IOException {
+        try (java.util.zip.ZipFile zip = new java.util.zip.ZipFile(jar.toFile())) {
+            return zip.getEntry(entryName) != null;
+        }
+    }
+
+    /**
+     * Write the bootable JAR.
+     *
+     * @param jarFile The target JAR file.
+     * @param manifestUpdater Called with the runtime manifest, returns true if
+     * the manifest has been updated and must be re-written.
+     */
+    public void assemble(Path jarFile, Predicate<Manifest> manifestUpdater) throws IOException {
+        written.clear();
+        try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(jarFile);
+                ZipFile runtime = ZipFile.builder().setPath(runtimeJar).get();
+                ZipFile modules = jbossModulesJar == null ? null : ZipFile.builder().setPath(jbossModulesJar).get()) {
+            out.setLevel(policy.getLevel());
+            // The manifest must be the first entries of a JAR to be seen by JarInputStream.
+            writeManifest(out, runtime, modules, manifestUpdater);
+            copyRaw(out, runtime);
+            if (modules != null) {
+                copyRaw(out, modules);
+            }
+            addContent(out);
+        }
+    }
+
+    private void writeManifest(ZipArchiveOutputStream out, ZipFile runtime, ZipFile modules,
+            Predicate<Manifest> manifestUpdater) throws IOException {
+        ZipFile source = runtime;
+        ZipArchiveEntry manifestEntry = runtime.getEntry(JarFile.MANIFEST_NAME);
+        if (manifestEntry == null && modules != null) {
+            source = modules;
+            manifestEntry = modules.getEntry(JarFile.MANIFEST_NAME);
+        }
+        if (manifestEntry == null) {
+            return;
+        }
+        Manifest manifest;
+        try (InputStream stream = source.getInputStream(manifestEntry)) {
+            manifest = new Manifest(stream);
+        }
+        addDirectory(out, META_INF);
+        if (manifestUpdater.test(manifest)) {
+            ZipArchiveEntry entry = new ZipArchiveEntry(JarFile.MANIFEST_NAME);
+            entry.setTime(manifestEntry.getTime());
+            normalize(entry);
+            out.putArchiveEntry(entry);
+            if (reproducible != null) {
+                manifest = ReproducibleOutput.sort(manifest);
+            }
+            manifest.write(out);
+            out.closeArchiveEntry();
+        } else {
+            normalize(manifestEntry);
+            try (InputStream raw = source.getRawInputStream(manifestEntry)) {
+                out.addRawArchiveEntry(manifestEntry, raw);
+            }
+        }
+        written.add(JarFile.MANIFEST_NAME);
+    }
+
+    private void copyRaw(ZipArchiveOutputStream out, ZipFile source) throws IOException {
+        Enumeration<ZipArchiveEntry> entries = source.getEntriesInPhysicalOrder();
+        while (entries.hasMoreElements()) {
+            ZipArchiveEntry entry = entries.nextElement();
+            if (!written.add(entry.getName())) {
+                continue;
+            }
+            normalize(entry);
+            try (InputStream raw = source.getRawInputStream(entry)) {
+                out.addRawArchiveEntry(entry, raw);
+            }
+        }
+    }
+
+    private void addContent(ZipArchiveOutputStream out) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.walk(contentDir)) {
+            stream.filter(p -> !p.equals(contentDir)).sorted().forEach(files::add);
+        }
+        for (Path file : files) {
+            String name = contentDir.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+            if (Files.isDirectory(file)) {
+                addDirectory(out, name + "/");
+            } else if (written.add(name)) {
+                ZipArchiveEntry entry = new ZipArchiveEntry(name);
+                entry.setMethod(policy.getJarEntryMethod(name));
+                entry.setTime(Files.getLastModifiedTime(file).toMillis());
+                normalize(entry);
+                out.putArchiveEntry(entry);
+                Files.copy(file, out);
+                out.closeArchiveEntry();
+            }
+        }
+    }
+
+    private void addDirectory(ZipArchiveOutputStream out, String name) throws IOException {
+        if (written.add(name)) {
+            ZipArchiveEntry entry = new ZipArchiveEntry(name);
+            normalize(entry);
+            out.putArchiveEntry(entry);
+            out.closeArchiveEntry();
+        }
+    }
+
+    private void normalize(ZipArchiveEntry entry) {
+        if (reproducible != null) {
+            reproducible.normalize(entry);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * SHA-256 digest of the inputs of a bootable JAR build. Each input is recorded
+ * as a key/value pair, the order in which inputs are added matters.
+ *
+ * @author jdenise
+ */
+public class BuildDigest {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final MessageDigest digest;
+
+    public BuildDigest() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public BuildDigest add(String key, Object value) {
+        update(key);
+        update(String.valueOf(value));
+        return this;
+    }
+
+    /**
+     * Add the content of a file, a missing file is recorded as such.
+     */
+    public BuildDigest addFile(String key, Path file) throws IOException {
+        update(key);
+        if (file == null || Files.notExists(file)) {
+            update("<missing>");
+        } else {
+            updateContent(file);
+        }
+        return this;
+    }
+
+    /**
+     * Add the relative paths and the content of all the files of a directory.
+     */
+    public BuildDigest addDirectory(String key, Path dir) throws IOException {
+        update(key);
+        if (Files.notExists(dir)) {
+            update("<missing>");
+            return this;
+        }
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.walk(dir)) {
+            stream.filter(Files::isRegularFile).sorted().forEach(files::add);
+        }
+        for (Path file : files) {
+            update(dir.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/"));
+            updateContent(file);
+        }
+        return this;
+    }
+
+    /**
+     * Add the size and last modified time of a file. Cheaper than the content
+     * for big files that are not expected to be modified in place, such as
+     * artifacts of the local Maven repository.
+     */
+    public BuildDigest addFileStats(String key, Path file) throws IOException {
+        update(key);
+        if (file == null || Files.notExists(file)) {
+            update("<missing>");
+        } else {
+            update(file.toAbsolutePath().toString());
+            update(Long.toString(Files.size(file)));
+            update(Long.toString(Files.getLastModifiedTime(file).toMillis()));
+        }
+        return this;
+    }
+
+    /**
+     * @return The hexadecimal digest. The digest can't be updated afterward.
+     */
+    public String toHex() {
+        byte[] bytes = digest.digest();
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+        }
+        return builder.toString();
+    }
+
+    private void update(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        updateLength(bytes.length);
+        digest.update(bytes);
+    }
+
+    private void updateContent(Path file) throws IOException {
+        updateLength(Files.size(file));
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    private void updateLength(long length) {
+        for (int i = 56; i >= 0; i -= 8) {
+            digest.update((byte) (length >>> i));
+        }
+    }
+}
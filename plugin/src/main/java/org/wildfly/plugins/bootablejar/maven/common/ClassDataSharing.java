@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.wildfly.core.launcher.CommandBuilder;
+import org.wildfly.core.launcher.Launcher;
+import org.wildfly.plugin.tools.server.ServerManager;
+
+/**
+ * Dynamic class data sharing (CDS) archive of the classes loaded when the
+ * server boots. The archive is generated by booting the server once in a
+ * forked JVM that dumps the archive when it exits. The archive is only valid
+ * for the JVM that generated it and for the same application class path, the
+ * JVM ignores an archive that doesn't match.
+ *
+ * @author jdenise
+ */
+public final class ClassDataSharing {
+
+    public static final String ARCHIVE_EXTENSION = ".jsa";
+    public static final String EXPLODED_ARCHIVE = "server" + ARCHIVE_EXTENSION;
+
+    // WFLYSRV0025: started, WFLYSRV0026: started with errors.
+    private static final String[] STARTED_MESSAGES = {"WFLYSRV0025", "WFLYSRV0026"};
+    private static final long POLL_INTERVAL = 200;
+
+    private ClassDataSharing() {
+    }
+
+    /**
+     * @return The archive of a bootable JAR, located next to the JAR.
+     */
+    public static Path getArchive(Path jarFile) {
+        String name = jarFile.getFileName().toString();
+        if (name.endsWith(".jar")) {
+            name = name.substring(0, name.length() - 4);
+        }
+        return jarFile.resolveSibling(name + ARCHIVE_EXTENSION);
+    }
+
+    /**
+     * @return The JVM option to use an archive.
+     */
+    public static String getUseArchiveOption(Path archive) {
+        return "-XX:SharedArchiveFile=" + archive.toAbsolutePath();
+    }
+
+    /**
+     * @return The JVM option to dump an archive when the JVM exits.
+     */
+    public static String getDumpArchiveOption(Path archive) {
+        return "-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath();
+    }
+
+    /**
+     * Boot the server, wait for it to be started then shut it down. The
+     * server is started when its output contains the server started message,
+     * a server that exits before is reported at once. The server is shut down
+     * with the management interface if any, otherwise the process is
+     * terminated, the JVM exits normally. The command must contain the option
+     * to dump the archive.
+     *
+     * @param command The server command.
+     * @param output The file in which the server output is written.
+     * @param managementPort The management HTTP port of the booted server, -1
+     * if the server has no management interface.
+     * @param timeout The timeout in seconds to boot and to shutdown the server.
+     */
+    public static void bootServer(CommandBuilder command, Path output, int managementPort, long timeout) throws IOException {
+        Process process = Launcher.of(command).setRedirectErrorStream(true).redirectOutput(output).launch();
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+            while (!isStarted(output)) {
+                if (!process.isAlive()) {
+                    throw new IOException("The server exited with code " + process.exitValue() + " before being started, see " + output);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IOException("The server didn't start in " + timeout + " seconds, see " + output);
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            if (managementPort < 0) {
+                process.destroy();
+            } else {
+                try (ModelControllerClient client = ModelControllerClient.Factory.create("localhost", managementPort)) {
+                    ServerManager.builder().client(client).process(process).standalone().shutdown(timeout);
+                }
+            }
+            // The archive is dumped when the JVM exits.
+            if (!process.waitFor(timeout, TimeUnit.SECONDS)) {
+                throw new IOException("The server didn't stop in " + timeout + " seconds, see " + output);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } finally {
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static boolean isStarted(Path output) throws IOException {
+        if (Files.notExists(output)) {
+            return false;
+        }
+        String content = new String(Files.readAllBytes(output), StandardCharsets.ISO_8859_1);
+        for (String message : STARTED_MESSAGES) {
+            if (content.contains(message)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read the management HTTP port from a server configuration. The default
+     * value of a port expression is used and the port offset is added.
+     *
+     * @param config The {@code standalone.xml} file.
+     * @param portOffset The port offset of the server.
+     * @return The port or -1 if the server has no HTTP management interface.
+     */
+    public static int getManagementPort(Path config, int portOffset) throws IOException {
+        String binding = null;
+        Map<String, String> ports = new HashMap<>();
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        boolean httpInterface = false;
+        try (InputStream in = Files.newInputStream(config)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if (name.equals("http-interface")) {
+                        httpInterface = true;
+                    } else if (name.equals("socket-binding")) {
+                        if (httpInterface) {
+                            binding = reader.getAttributeValue(null, "http");
+                        } else if (reader.getAttributeValue(null, "name") != null && reader.getAttributeValue(null, "port") != null) {
+                            ports.put(reader.getAttributeValue(null, "name"), reader.getAttributeValue(null, "port"));
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("http-interface")) {
+                    httpInterface = false;
+                }
+            }
+            reader.close();
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        }
+        String port = binding == null ? null : ports.get(binding);
+        if (port == null) {
+            return -1;
+        }
+        // ${jboss.management.http.port:9990}
+        if (port.startsWith("${") && port.endsWith("}")) {
+            int i = port.lastIndexOf(':');
+            if (i < 0) {
+                return -1;
+            }
+            port = port.substring(i + 1, port.length() - 1);
+        }
+        try {
+            return Integer.parseInt(port) + portOffset;
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+}
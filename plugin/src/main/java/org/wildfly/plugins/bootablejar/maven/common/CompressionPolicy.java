@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * How entries of the server zip and of the bootable JAR are compressed.
+ *
+ * @author jdenise
+ */
+public class CompressionPolicy {
+
+    public static final CompressionPolicy DEFAULT = new CompressionPolicy(Deflater.DEFAULT_COMPRESSION, false, false);
+
+    private static final String[] COMPRESSED_EXTENSIONS = {".jar", ".zip", ".war"};
+
+    private final int level;
+    private final boolean storeCompressedEntries;
+    private final boolean storeServerZip;
+
+    /**
+     * @param level The deflate level, from 0 to 9 or -1 for the default level.
+     * @param storeCompressedEntries True to store already compressed files of the server as-is.
+     * @param storeServerZip True to store the server zip as-is in the bootable JAR.
+     */
+    public CompressionPolicy(int level, boolean storeCompressedEntries, boolean storeServerZip) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level " + level + ", must be between -1 and 9");
+        }
+        this.level = level;
+        this.storeCompressedEntries = storeCompressedEntries;
+        this.storeServerZip = storeServerZip;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return The zip method of a server file.
+     */
+    public int getServerEntryMethod(String name) {
+        if (storeCompressedEntries && isCompressed(name)) {
+            return ZipEntry.STORED;
+        }
+        return ZipEntry.DEFLATED;
+    }
+
+    /**
+     * @return The zip method of a file added to the bootable JAR.
+     */
+    public int getJarEntryMethod(String name) {
+        if (storeServerZip && ServerZipper.SERVER_ZIP.equals(name)) {
+            return ZipEntry.STORED;
+        }
+        return ZipEntry.DEFLATED;
+    }
+
+    private static boolean isCompressed(String name) {
+        String lower = name.toLowerCase(Locale.ENGLISH);
+        for (String ext : COMPRESSED_EXTENSIONS) {
+            if (lower.endsWith(ext)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import org.jboss.galleon.util.IoUtils;
+import org.wildfly.plugin.tools.GalleonUtils;
+
+/**
+ * The exploded output of the package goal: the configured server, ready to
+ * run, and a launcher script. Starting the server doesn't require the
+ * extraction of the server zip that the bootable JAR does at each start.
+ *
+ * @author jdenise
+ */
+public class ExplodedOutput {
+
+    public static final String LAUNCHER = "run.sh";
+    public static final String JBOSS_MODULES_JAR = "jboss-modules.jar";
+
+    private static final String EXPLODED_SUFFIX = "-exploded";
+
+    // Options required by the server on a modular JVM, the ones set by the server launch scripts.
+    private static final String MODULAR_JVM_OPTIONS = "--add-exports=java.desktop/sun.awt=ALL-UNNAMED"
+            + " --add-exports=java.naming/com.sun.jndi.ldap=ALL-UNNAMED"
+            + " --add-exports=java.naming/com.sun.jndi.url.ldap=ALL-UNNAMED"
+            + " --add-exports=java.naming/com.sun.jndi.url.ldaps=ALL-UNNAMED"
+            + " --add-exports=jdk.naming.dns/com.sun.jndi.dns=ALL-UNNAMED"
+            + " --add-opens=java.base/java.lang=ALL-UNNAMED"
+            + " --add-opens=java.base/java.lang.invoke=ALL-UNNAMED"
+            + " --add-opens=java.base/java.lang.reflect=ALL-UNNAMED"
+            + " --add-opens=java.base/java.io=ALL-UNNAMED"
+            + " --add-opens=java.base/java.net=ALL-UNNAMED"
+            + " --add-opens=java.base/java.security=ALL-UNNAMED"
+            + " --add-opens=java.base/java.util=ALL-UNNAMED"
+            + " --add-opens=java.base/java.util.concurrent=ALL-UNNAMED"
+            + " --add-opens=java.management/javax.management=ALL-UNNAMED"
+            + " --add-opens=java.naming/javax.naming=ALL-UNNAMED"
+            + " --add-modules=java.se";
+
+    private final Path explodedDir;
+
+    public ExplodedOutput(Path explodedDir) {
+        this.explodedDir = explodedDir;
+    }
+
+    /**
+     * @param jarFile The bootable JAR file that the exploded output replaces.
+     * @return The exploded output of the bootable JAR.
+     */
+    public static ExplodedOutput of(Path jarFile) {
+        String name = jarFile.getFileName().toString();
+        if (name.endsWith(".jar")) {
+            name = name.substring(0, name.length() - 4);
+        }
+        return new ExplodedOutput(jarFile.resolveSibling(name + EXPLODED_SUFFIX));
+    }
+
+    public Path getExplodedDir() {
+        return explodedDir;
+    }
+
+    public boolean exists() {
+        return Files.exists(explodedDir.resolve(JBOSS_MODULES_JAR));
+    }
+
+    public void delete() {
+        IoUtils.recursiveDelete(explodedDir);
+    }
+
+    /**
+     * Create the exploded output from a configured server, the existing
+     * exploded directory is replaced.
+     *
+     * @param home The configured server home directory, it is not modified.
+     * @param jbossModules The JBoss Modules JAR to use if the server doesn't
+     * contain one, can be null.
+     */
+    public void create(Path home, Path jbossModules) throws IOException {
+        delete();
+        // The modules are never updated by the running server, they are linked. Other files are copied,
+        // the server updates its configuration in place.
+        Path modules = home.resolve("modules");
+        FileLinker linker = new FileLinker(FileLinker.Mode.HARDLINK);
+        Files.walkFileTree(home, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(explodedDir.resolve(home.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path target = explodedDir.resolve(home.relativize(file).toString());
+                if (file.startsWith(modules)) {
+                    linker.link(file, target);
+                } else {
+                    Files.copy(file, target, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        GalleonUtils.cleanupServer(explodedDir);
+        Files.deleteIfExists(explodedDir.resolve("README.txt"));
+        Path jbossModulesJar = explodedDir.resolve(JBOSS_MODULES_JAR);
+        if (Files.notExists(jbossModulesJar)) {
+            if (jbossModules == null) {
+                throw new IOException("No " + JBOSS_MODULES_JAR + " found for the exploded server");
+            }
+            Files.copy(jbossModules, jbossModulesJar);
+        }
+        writeLauncher();
+    }
+
+    private void writeLauncher() throws IOException {
+        Path launcher = explodedDir.resolve(LAUNCHER);
+        StringBuilder builder = new StringBuilder();
+        builder.append("#!/bin/sh\n");
+        builder.append("# Run the server, the arguments are passed to the server.\n");
+        builder.append("DIRNAME=$(cd \"$(dirname \"$0\")\" && pwd)\n");
+        builder.append("JAVA=java\n");
+        builder.append("if [ -n \"$JAVA_HOME\" ]; then\n");
+        builder.append("    JAVA=\"$JAVA_HOME/bin/java\"\n");
+        builder.append("fi\n");
+        builder.append("CDS_OPTS=\n");
+        builder.append("if [ -f \"$DIRNAME/").append(ClassDataSharing.EXPLODED_ARCHIVE).append("\" ]; then\n");
+        builder.append("    CDS_OPTS=\"-XX:SharedArchiveFile=$DIRNAME/").append(ClassDataSharing.EXPLODED_ARCHIVE).append("\"\n");
+        builder.append("fi\n");
+        builder.append("exec \"$JAVA\" ").append(MODULAR_JVM_OPTIONS).append(" $CDS_OPTS $JAVA_OPTS \\\n");
+        builder.append("    \"-Dorg.jboss.boot.log.file=$DIRNAME/standalone/log/server.log\" \\\n");
+        builder.append("    \"-Dlogging.configuration=file:$DIRNAME/standalone/configuration/logging.properties\" \\\n");
+        builder.append("    -jar \"$DIRNAME/").append(JBOSS_MODULES_JAR).append("\" -mp \"$DIRNAME/modules\" org.jboss.as.standalone \\\n");
+        builder.append("    \"-Djboss.home.dir=$DIRNAME\" \"$@\"\n");
+        Files.write(launcher, builder.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.setPosixFilePermissions(launcher, PosixFilePermissions.fromString("rwxr-xr-x"));
+        } catch (UnsupportedOperationException ex) {
+            // Not a POSIX file system.
+        }
+    }
+}
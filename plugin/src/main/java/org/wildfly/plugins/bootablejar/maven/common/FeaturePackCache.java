@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.galleon.ProvisioningException;
+import org.jboss.galleon.api.GalleonFeaturePackDescription;
+import org.jboss.galleon.api.Provisioning;
+
+/**
+ * The feature-packs resolved and parsed during a build: the resolved files of the feature-packs, their descriptions
+ * and the layers they define. When shared, the descriptions and the layers of immutable feature-packs are also kept
+ * for the builds that run later in the same JVM (reactor, development mode). A description is keyed by the
+ * feature-pack file and its size and modification time, the layers of released feature-packs by their locations. The
+ * shared entries are bounded, the least recently used ones are evicted.
+ *
+ * @author jdenise
+ */
+public final class FeaturePackCache {
+
+    static final int MAX_SHARED_DESCRIPTIONS = 32;
+    static final int MAX_SHARED_LAYERS = 64;
+
+    private static final Map<String, GalleonFeaturePackDescription> SHARED_DESCRIPTIONS = lru(MAX_SHARED_DESCRIPTIONS);
+    private static final Map<String, Set<String>> SHARED_LAYERS = lru(MAX_SHARED_LAYERS);
+
+    private final boolean shared;
+    private final Map<String, Path> paths = new HashMap<>();
+    private final Map<String, GalleonFeaturePackDescription> descriptions = new HashMap<>();
+    private final Map<String, Set<String>> layers = new HashMap<>();
+
+    public FeaturePackCache(boolean shared) {
+        this.shared = shared;
+    }
+
+    /**
+     * @param coords The Maven coordinates of the feature-pack.
+     * @return The file of the feature-pack resolved during this build or null.
+     */
+    public Path getPath(String coords) {
+        Path path = paths.get(coords);
+        return path == null || Files.notExists(path) ? null : path;
+    }
+
+    public void putPath(String coords, Path path) {
+        paths.put(coords, path);
+    }
+
+    /**
+     * Get the description of a feature-pack, the feature-pack is parsed once.
+     */
+    public GalleonFeaturePackDescription getDescription(Path file) throws ProvisioningException {
+        String key;
+        try {
+            key = getFileKey(file);
+        } catch (IOException ex) {
+            throw new ProvisioningException("Failed to read feature-pack " + file, ex);
+        }
+        GalleonFeaturePackDescription description = descriptions.get(key);
+        if (description == null && shared) {
+            description = SHARED_DESCRIPTIONS.get(key);
+        }
+        if (description == null) {
+            description = Provisioning.getFeaturePackDescription(file);
+            if (shared) {
+                SHARED_DESCRIPTIONS.put(key, description);
+            }
+        }
+        descriptions.put(key, description);
+        return description;
+    }
+
+    /**
+     * @param key The locations of the feature-packs.
+     * @return The layers of the feature-packs or null.
+     */
+    public Set<String> getLayers(String key) {
+        Set<String> set = layers.get(key);
+        if (set == null && shared) {
+            set = SHARED_LAYERS.get(key);
+        }
+        return set;
+    }
+
+    /**
+     * @param key The locations of the feature-packs.
+     * @param immutable True if the feature-packs can't change (released versions, files identified by their size and
+     * modification time), the layers are then shared.
+     */
+    public void putLayers(String key, Set<String> allLayers, boolean immutable) {
+        Set<String> set = Collections.unmodifiableSet(allLayers);
+        layers.put(key, set);
+        if (shared && immutable) {
+            SHARED_LAYERS.put(key, set);
+        }
+    }
+
+    private static <V> Map<String, V> lru(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public static String getFileKey(Path file) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        return file.toAbsolutePath() + ":" + attrs.size() + ":" + attrs.lastModifiedTime().toMillis();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+
+/**
+ * Populate files with hard links or copy-on-write reflinks, falling back to a
+ * copy when the source and the target don't share a file system or when the
+ * file system doesn't support it. Once a kind of link has failed it is not
+ * attempted again by this linker.
+ *
+ * @author jdenise
+ */
+public class FileLinker {
+
+    public enum Mode {
+        /**
+         * Always copy.
+         */
+        COPY,
+        /**
+         * Hard link, then copy.
+         */
+        HARDLINK,
+        /**
+         * Reflink, then copy.
+         */
+        REFLINK,
+        /**
+         * Reflink, then hard link, then copy.
+         */
+        AUTO;
+
+        public static Mode fromString(String mode) {
+            try {
+                return valueOf(mode.trim().toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Invalid link mode " + mode + ", must be one of copy, hardlink, reflink or auto");
+            }
+        }
+    }
+
+    private static final boolean IS_LINUX = System.getProperty("os.name", "").toLowerCase(Locale.ENGLISH).contains("linux");
+
+    private final Mode mode;
+    private volatile boolean reflink;
+    private volatile boolean hardlink;
+
+    public FileLinker(Mode mode) {
+        this.mode = mode;
+        reflink = IS_LINUX && (mode == Mode.REFLINK || mode == Mode.AUTO);
+        hardlink = mode == Mode.HARDLINK || mode == Mode.AUTO;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Create the target file, it must not exist.
+     *
+     * @return How the target has been created: {@code REFLINK}, {@code HARDLINK} or {@code COPY}.
+     */
+    public Mode link(Path source, Path target) throws IOException {
+        if (reflink) {
+            if (reflink(source, target)) {
+                return Mode.REFLINK;
+            }
+            reflink = false;
+        }
+        if (hardlink) {
+            try {
+                Files.createLink(target, source);
+                return Mode.HARDLINK;
+            } catch (IOException | UnsupportedOperationException ex) {
+                Files.deleteIfExists(target);
+                hardlink = false;
+            }
+        }
+        Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
+        return Mode.COPY;
+    }
+
+    private static boolean reflink(Path source, Path target) throws IOException {
+        ProcessBuilder builder = new ProcessBuilder("cp", "--reflink=always", "--preserve=timestamps",
+                source.toAbsolutePath().toString(), target.toAbsolutePath().toString());
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        try {
+            if (builder.start().waitFor() == 0) {
+                return true;
+            }
+        } catch (IOException ex) {
+            // No cp command.
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        }
+        Files.deleteIfExists(target);
+        return false;
+    }
+}
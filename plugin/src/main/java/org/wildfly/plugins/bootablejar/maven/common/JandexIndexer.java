@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.jandex.Indexer;
+import org.jboss.jandex.IndexWriter;
+
+/**
+ * Add Jandex annotation indexes ({@code META-INF/jandex.idx}) to archives
+ * that don't contain one. The server reads these indexes instead of scanning
+ * the classes when deploying. In a WAR, the index of the
+ * {@code WEB-INF/classes} root is {@code WEB-INF/classes/META-INF/jandex.idx}
+ * and each {@code WEB-INF/lib} JAR gets its own index. The modules of an EAR
+ * are indexed.
+ *
+ * @author jdenise
+ */
+public class JandexIndexer {
+
+    public static final String INDEX = "META-INF/jandex.idx";
+
+    private static final String CLASS_EXTENSION = ".class";
+    private static final String WAR_CLASSES = "WEB-INF/classes/";
+    private static final String WAR_LIB = "WEB-INF/lib/";
+    // Index version read by Jandex 2.4, the oldest Jandex release used by the supported servers.
+    private static final int DEFAULT_INDEX_VERSION = 10;
+    private static final Pattern JANDEX_JAR = Pattern.compile("jandex-(\\d+)\\.(\\d+)\\..*\\.jar");
+
+    private final int indexVersion;
+
+    public JandexIndexer(int indexVersion) {
+        this.indexVersion = indexVersion;
+    }
+
+    /**
+     * @return The index version to write for a server, the most recent
+     * version read by the Jandex module of the server. If multiple Jandex
+     * JARs are found, the oldest one applies.
+     */
+    public static int getIndexVersion(Path jbossHome) throws IOException {
+        Path modules = jbossHome.resolve("modules");
+        if (Files.notExists(modules)) {
+            return DEFAULT_INDEX_VERSION;
+        }
+        int version = -1;
+        try (Stream<Path> stream = Files.walk(modules)) {
+            for (Path p : (Iterable<Path>) stream::iterator) {
+                Matcher m = JANDEX_JAR.matcher(p.getFileName().toString());
+                if (m.matches()) {
+                    int jarVersion = getIndexVersion(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)));
+                    version = version < 0 ? jarVersion : Math.min(version, jarVersion);
+                }
+            }
+        }
+        return version < 0 ? DEFAULT_INDEX_VERSION : version;
+    }
+
+    /**
+     * @return The most recent index version read by a Jandex release.
+     */
+    static int getIndexVersion(int major, int minor) {
+        if (major > 3 || (major == 3 && minor >= 1)) {
+            return 12;
+        }
+        return major == 3 ? 11 : DEFAULT_INDEX_VERSION;
+    }
+
+    /**
+     * Copy a deployment, adding the missing indexes.
+     */
+    public void indexDeployment(Path deployment, Path target) throws IOException {
+        try (InputStream in = Files.newInputStream(deployment);
+                OutputStream out = Files.newOutputStream(target)) {
+            index(in, out, deployment.getFileName().toString());
+        }
+    }
+
+    /**
+     * Add an index to a JAR that doesn't contain one. The JAR is replaced, not
+     * updated in place.
+     *
+     * @return true if the index has been added.
+     */
+    public boolean indexJar(Path jar) throws IOException {
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            if (zip.getEntry(INDEX) != null) {
+                return false;
+            }
+        }
+        Path tmp = jar.resolveSibling(jar.getFileName() + ".indexed");
+        try {
+            try (InputStream in = Files.newInputStream(jar);
+                    OutputStream out = Files.newOutputStream(tmp)) {
+                index(in, out, jar.getFileName().toString());
+            }
+            Files.move(tmp, jar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return true;
+    }
+
+    private void index(InputStream in, OutputStream out, String name) throws IOException {
+        String archiveName = name.toLowerCase(Locale.ENGLISH);
+        boolean war = archiveName.endsWith(".war");
+        boolean ear = archiveName.endsWith(".ear");
+        String classesPrefix = war ? WAR_CLASSES : "";
+        String indexEntry = classesPrefix + INDEX;
+        Indexer indexer = new Indexer();
+        boolean indexed = false;
+        ZipInputStream zin = new ZipInputStream(in);
+        ZipOutputStream zout = new ZipOutputStream(out);
+        ZipEntry entry;
+        while ((entry = zin.getNextEntry()) != null) {
+            String entryName = entry.getName();
+            ZipEntry copy = new ZipEntry(entryName);
+            copy.setTime(entry.getTime());
+            zout.putNextEntry(copy);
+            if (!entry.isDirectory()) {
+                if (isNestedArchive(entryName, war, ear)) {
+                    ByteArrayOutputStream nested = new ByteArrayOutputStream();
+                    index(new ByteArrayInputStream(zin.readAllBytes()), nested, entryName);
+                    nested.writeTo(zout);
+                } else if (!ear && entryName.startsWith(classesPrefix) && entryName.endsWith(CLASS_EXTENSION)) {
+                    byte[] content = zin.readAllBytes();
+                    indexer.index(new ByteArrayInputStream(content));
+                    zout.write(content);
+                } else {
+                    zin.transferTo(zout);
+                }
+            }
+            zout.closeEntry();
+            indexed |= entryName.equals(indexEntry);
+        }
+        if (!ear && !indexed) {
+            zout.putNextEntry(new ZipEntry(indexEntry));
+            new IndexWriter(zout).write(indexer.complete(), indexVersion);
+            zout.closeEntry();
+        }
+        zout.finish();
+    }
+
+    private static boolean isNestedArchive(String entryName, boolean war, boolean ear) {
+        String name = entryName.toLowerCase(Locale.ENGLISH);
+        if (war) {
+            return name.startsWith(WAR_LIB.toLowerCase(Locale.ENGLISH)) && name.indexOf('/', WAR_LIB.length()) < 0
+                    && name.endsWith(".jar");
+        }
+        if (ear) {
+            return name.indexOf('/') < 0 && (name.endsWith(".jar") || name.endsWith(".war") || name.endsWith(".rar"));
+        }
+        return false;
+    }
+}
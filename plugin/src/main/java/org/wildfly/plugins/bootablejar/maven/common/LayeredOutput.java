@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.jboss.galleon.util.IoUtils;
+
+/**
+ * The layered output of the package goal. The content is split in
+ * directories, ordered from the least to the most frequently changing one, and
+ * a {@code layers.idx} file lists them in the index format understood by
+ * container image builders. The server layer contains the hollow bootable JAR
+ * (JBoss Modules, the bootable JAR runtime, the server modules and its
+ * configuration), the deployment layer contains the application that the
+ * bootable JAR deploys at boot time ({@code --deployment} argument). The
+ * bootable JAR is then hollow, the run and start goals add the deployment of
+ * the deployment layer to the server arguments.
+ *
+ * @author jdenise
+ */
+public class LayeredOutput {
+
+    public static final String LAYERS_INDEX = "layers.idx";
+    public static final String SERVER_LAYER = "server";
+    public static final String DEPLOYMENT_LAYER = "deployment";
+
+    private final Path layersDir;
+
+    public LayeredOutput(Path layersDir) {
+        this.layersDir = layersDir;
+    }
+
+    /**
+     * @param jarFile The bootable JAR file.
+     * @return The layered output of the bootable JAR.
+     */
+    public static LayeredOutput of(Path jarFile) {
+        String name = jarFile.getFileName().toString();
+        if (name.endsWith(".jar")) {
+            name = name.substring(0, name.length() - 4);
+        }
+        return new LayeredOutput(jarFile.resolveSibling(name + "-layers"));
+    }
+
+    public Path getLayersDir() {
+        return layersDir;
+    }
+
+    public void delete() {
+        IoUtils.recursiveDelete(layersDir);
+    }
+
+    /**
+     * @return The application of the deployment layer, null if no layered
+     * output or no deployment.
+     */
+    public Path getDeployment() throws IOException {
+        Path deploymentLayer = layersDir.resolve(DEPLOYMENT_LAYER);
+        if (Files.notExists(layersDir.resolve(LAYERS_INDEX)) || Files.notExists(deploymentLayer)) {
+            return null;
+        }
+        try (Stream<Path> stream = Files.list(deploymentLayer)) {
+            return stream.findFirst().orElse(null);
+        }
+    }
+
+    /**
+     * Create the layers, the existing layers directory is replaced.
+     *
+     * @param jarFile The hollow bootable JAR.
+     * @param deployment The deployment, null if no deployment.
+     * @param deploymentName The name of the deployment file, it defines the
+     * deployment runtime name.
+     */
+    public void create(Path jarFile, Path deployment, String deploymentName) throws IOException {
+        IoUtils.recursiveDelete(layersDir);
+        // The files are not updated in place, the JAR is deleted before being re-built.
+        FileLinker linker = new FileLinker(FileLinker.Mode.HARDLINK);
+        Map<String, String> layers = new LinkedHashMap<>();
+        Path serverLayer = Files.createDirectories(layersDir.resolve(SERVER_LAYER));
+        linker.link(jarFile, serverLayer.resolve(jarFile.getFileName().toString()));
+        layers.put(SERVER_LAYER, SERVER_LAYER + "/" + jarFile.getFileName());
+        Path deploymentLayer = Files.createDirectories(layersDir.resolve(DEPLOYMENT_LAYER));
+        if (deployment != null) {
+            Files.copy(deployment, deploymentLayer.resolve(deploymentName));
+            layers.put(DEPLOYMENT_LAYER, DEPLOYMENT_LAYER + "/" + deploymentName);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(layersDir.resolve(LAYERS_INDEX), StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, String> layer : layers.entrySet()) {
+                writer.write("- \"" + layer.getKey() + "\":");
+                writer.newLine();
+                writer.write("  - \"" + layer.getValue() + "\"");
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * @return The command line to run the layered output from the layers directory.
+     */
+    public static String getRunCommand(Path jarFile, String deploymentName) {
+        String cmd = "java -jar " + SERVER_LAYER + "/" + jarFile.getFileName();
+        if (deploymentName != null) {
+            cmd += " --deployment=" + DEPLOYMENT_LAYER + "/" + deploymentName;
+        }
+        return cmd;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+
+/**
+ * Normalization of the archive entries to produce byte-identical archives
+ * from identical inputs. Entries get a fixed timestamp, taken from the
+ * {@code project.build.outputTimestamp} property, and fixed permissions.
+ *
+ * @author jdenise
+ */
+public class ReproducibleOutput {
+
+    private static final int DIR_MODE = 040755;
+    private static final int FILE_MODE = 0100644;
+    private static final int EXECUTABLE_MODE = 0100755;
+
+    // Content of the server that changes at each embedded server boot.
+    private static final String[] SERVER_EXCLUDED_PATHS = {
+        "standalone/data/kernel/",
+        "standalone/log/",
+        "standalone/tmp/"
+    };
+
+    private final long time;
+
+    private ReproducibleOutput(Instant timestamp) {
+        long millis = timestamp.toEpochMilli();
+        // Zip entries time is in local time, shift it to have the same entries whatever the time zone.
+        this.time = millis - TimeZone.getDefault().getOffset(millis);
+    }
+
+    /**
+     * Parse an output timestamp, following the Maven conventions: an ISO-8601
+     * date-time or a number of seconds since the epoch. A missing or one
+     * character value disables reproducible output.
+     *
+     * @return The reproducible output or null if disabled.
+     */
+    public static ReproducibleOutput fromOutputTimestamp(String outputTimestamp) {
+        if (outputTimestamp == null || outputTimestamp.trim().length() < 2) {
+            return null;
+        }
+        String value = outputTimestamp.trim();
+        Instant instant;
+        try {
+            if (value.chars().allMatch(Character::isDigit)) {
+                instant = Instant.ofEpochSecond(Long.parseLong(value));
+            } else {
+                instant = OffsetDateTime.parse(value).toInstant();
+            }
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid project.build.outputTimestamp " + value
+                    + ", must be an ISO-8601 date-time or a number of seconds since the epoch");
+        }
+        return new ReproducibleOutput(instant);
+    }
+
+    public void normalize(ZipArchiveEntry entry) {
+        entry.setTime(time);
+        if (entry.isDirectory()) {
+            entry.setUnixMode(DIR_MODE);
+        } else if (entry.getName().endsWith(".sh")) {
+            entry.setUnixMode(EXECUTABLE_MODE);
+        } else {
+            entry.setUnixMode(FILE_MODE);
+        }
+    }
+
+    /**
+     * @param path The path relative to the server home, using '/' separator.
+     * @return true if the path must not be added to the server zip.
+     */
+    public boolean isExcludedFromServer(String path) {
+        String dir = path.endsWith("/") ? path : path + "/";
+        for (String excluded : SERVER_EXCLUDED_PATHS) {
+            if (dir.startsWith(excluded)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return A copy of the manifest with attributes sorted by name, the manifest version first.
+     */
+    public static Manifest sort(Manifest manifest) {
+        Manifest sorted = new Manifest();
+        copySorted(manifest.getMainAttributes(), sorted.getMainAttributes());
+        for (Map.Entry<String, Attributes> entry : new TreeMap<>(manifest.getEntries()).entrySet()) {
+            Attributes attributes = new Attributes();
+            copySorted(entry.getValue(), attributes);
+            sorted.getEntries().put(entry.getKey(), attributes);
+        }
+        return sorted;
+    }
+
+    private static void copySorted(Attributes source, Attributes target) {
+        Object version = source.get(Attributes.Name.MANIFEST_VERSION);
+        if (version != null) {
+            target.put(Attributes.Name.MANIFEST_VERSION, version);
+        }
+        List<Object> names = new ArrayList<>(source.keySet());
+        names.sort((a, b) -> a.toString().compareTo(b.toString()));
+        for (Object name : names) {
+            if (!Attributes.Name.MANIFEST_VERSION.equals(name)) {
+                target.put(name, source.get(name));
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
+import java.util.HexFormat;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+
+/**
+ * The per-entry checksum manifest of the server zip, stored next to the
+ * {@code wildfly.zip} file in the bootable JAR. Each line contains the SHA-256
+ * of the content in lower case hexadecimal, the size and the name of a file
+ * entry, separated by a space and terminated by {@code \n}, in the zip order.
+ * The directory entries are not listed.
+ * The manifest is only informative: the bootable JAR runtime doesn't read it
+ * and always extracts the whole server.
+ *
+ * @author jdenise
+ */
+public class ServerChecksums {
+
+    public static final String CHECKSUMS_FILE = ServerZipper.SERVER_ZIP + ".sha256";
+
+    private ServerChecksums() {
+    }
+
+    /**
+     * Write the manifest of a server zip in the same directory.
+     *
+     * @return The manifest file.
+     */
+    public static Path write(Path serverZip) throws IOException {
+        Path target = serverZip.resolveSibling(CHECKSUMS_FILE);
+        MessageDigest md = newDigest();
+        byte[] buffer = new byte[65536];
+        try (ZipFile zip = ZipFile.builder().setPath(serverZip).get();
+                BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            Enumeration<ZipArchiveEntry> entries = zip.getEntriesInPhysicalOrder();
+            while (entries.hasMoreElements()) {
+                ZipArchiveEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                md.reset();
+                try (InputStream in = zip.getInputStream(entry)) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        md.update(buffer, 0, read);
+                    }
+                }
+                // The line separator doesn't depend on the build platform.
+                writer.write(HexFormat.of().formatHex(md.digest()) + " " + entry.getSize() + " " + entry.getName() + "\n");
+            }
+        }
+        return target;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
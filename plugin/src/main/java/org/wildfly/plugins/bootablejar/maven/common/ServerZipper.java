@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.DefaultBackingStoreSupplier;
+import org.apache.commons.compress.archivers.zip.ParallelScatterZipCreator;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.jboss.galleon.util.IoUtils;
+import org.wildfly.plugin.tools.GalleonUtils;
+
+/**
+ * Zip the provisioned server into the {@code wildfly.zip} file embedded in the
+ * bootable JAR. When more than one thread is configured, the file entries are
+ * deflated concurrently in a fork/join pool then gathered into a single zip.
+ *
+ * @author jdenise
+ */
+public class ServerZipper {
+
+    public static final String SERVER_ZIP = "wildfly.zip";
+
+    private final int threads;
+    private final CompressionPolicy policy;
+    private final ReproducibleOutput reproducible;
+
+    /**
+     * @param threads The number of threads used to deflate entries. A value of
+     * 0 or less means the number of available processors.
+     * @param policy The compression policy of the server entries.
+     * @param reproducible The entries normalization, null if the output is not reproducible.
+     */
+    public ServerZipper(int threads, CompressionPolicy policy, ReproducibleOutput reproducible) {
+        this.threads = threads <= 0 ? Runtime.getRuntime().availableProcessors() : threads;
+        this.policy = policy;
+        this.reproducible = reproducible;
+    }
+
+    /**
+     * Cleanup the server then zip it in the target directory.
+     *
+     * @param home The server home directory.
+     * @param targetDir The directory in which the zip file is created.
+     * @return The zip file.
+     */
+    public Path zip(Path home, Path targetDir) throws IOException {
+        GalleonUtils.cleanupServer(home);
+        Files.deleteIfExists(home.resolve("README.txt"));
+        Path target = targetDir.resolve(SERVER_ZIP);
+        List<Path> dirs = new ArrayList<>();
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.walk(home)) {
+            stream.filter(p -> !p.equals(home)).filter(p -> !isExcluded(home, p)).sorted().forEach(p -> {
+                if (Files.isDirectory(p)) {
+                    dirs.add(p);
+                } else {
+                    files.add(p);
+                }
+            });
+        }
+        try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(target)) {
+            out.setLevel(policy.getLevel());
+            for (Path dir : dirs) {
+                out.putArchiveEntry(newEntry(home, dir));
+                out.closeArchiveEntry();
+            }
+            if (threads == 1) {
+                for (Path file : files) {
+                    out.putArchiveEntry(newEntry(home, file));
+                    Files.copy(file, out);
+                    out.closeArchiveEntry();
+                }
+            } else {
+                zipParallel(home, files, out);
+            }
+        }
+        return target;
+    }
+
+    private void zipParallel(Path home, List<Path> files, ZipArchiveOutputStream out) throws IOException {
+        Path scatterDir = Files.createTempDirectory("wildfly-zip-scatter");
+        try {
+            // writeTo shuts the pool down once all entries are gathered.
+            ParallelScatterZipCreator creator = new ParallelScatterZipCreator(new ForkJoinPool(threads),
+                    new DefaultBackingStoreSupplier(scatterDir), policy.getLevel());
+            for (Path file : files) {
+                creator.addArchiveEntry(newEntry(home, file), () -> {
+                    try {
+                        return Files.newInputStream(file);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+            creator.writeTo(out);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause() instanceof UncheckedIOException ? ex.getCause().getCause() : ex.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        } finally {
+            IoUtils.recursiveDelete(scatterDir);
+        }
+    }
+
+    private ZipArchiveEntry newEntry(Path home, Path file) throws IOException {
+        String name = toEntryName(home, file);
+        ZipArchiveEntry entry;
+        if (Files.isDirectory(file)) {
+            entry = new ZipArchiveEntry(name + "/");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(0);
+            entry.setCrc(0);
+        } else {
+            entry = new ZipArchiveEntry(name);
+            entry.setMethod(policy.getServerEntryMethod(name));
+            // A known size avoids the Zip64 extra field, entries are then identical whatever the number of threads.
+            entry.setSize(Files.size(file));
+        }
+        if (reproducible == null) {
+            entry.setTime(Files.getLastModifiedTime(file).toMillis());
+        } else {
+            reproducible.normalize(entry);
+        }
+        return entry;
+    }
+
+    private boolean isExcluded(Path home, Path file) {
+        return reproducible != null && reproducible.isExcludedFromServer(toEntryName(home, file));
+    }
+
+    private static String toEntryName(Path home, Path file) {
+        return home.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+}
@@ -19,6 +19,7 @@ package org.wildfly.plugins.bootablejar.maven.common;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -38,6 +39,9 @@ import org.jboss.galleon.config.ConfigId;
 import org.jboss.galleon.api.config.GalleonFeaturePackConfig;
 import org.jboss.galleon.api.config.GalleonProvisioningConfig;
 import org.jboss.galleon.universe.FeaturePackLocation;
+import org.wildfly.core.launcher.BootableJarCommandBuilder;
+import org.wildfly.core.launcher.CommandBuilder;
+import org.wildfly.core.launcher.StandaloneCommandBuilder;
 import org.wildfly.plugins.bootablejar.maven.goals.BuildBootableJarMojo;
 import static org.wildfly.plugins.bootablejar.maven.goals.AbstractBuildBootableJarMojo.STANDALONE;
 import static org.wildfly.plugins.bootablejar.maven.goals.AbstractBuildBootableJarMojo.STANDALONE_XML;
@@ -49,6 +53,7 @@ public class Utils {
 
     private static final String HEALTH = "health";
     private static final String MP_HEALTH = "microprofile-health";
+    private static final String DEPLOYMENT_ARG = "--deployment";
 
     public static class ProvisioningSpecifics {
 
@@ -93,16 +98,62 @@ public class Utils {
     private static final Pattern WHITESPACE_IF_NOT_QUOTED = Pattern.compile("(\\S+\"[^\"]+\")|\\S+");
 
     public static String getBootableJarPath(String jarFileName, MavenProject project, String goal) throws MojoExecutionException {
+        String path = getBootableJarFile(jarFileName, project).toString();
+        if (!Files.exists(Paths.get(path))) {
+            throw new MojoExecutionException("Cannot " + goal + " without a bootable jar; please `mvn wildfly-jar:package` prior to invoking wildfly-jar:run from the command-line");
+        }
+        return path;
+    }
+
+    /**
+     * Build the command to run the bootable JAR or, if no bootable JAR exists,
+     * the exploded server created by the package goal. The CDS archive
+     * generated by the package goal is used if it exists. The application of
+     * the deployment layer of a layered output is deployed.
+     */
+    public static CommandBuilder buildCommand(String jarFileName, MavenProject project, String goal,
+            List<String> jvmArguments, List<String> arguments) throws MojoExecutionException {
+        Path jarFile = getBootableJarFile(jarFileName, project);
+        ExplodedOutput exploded = ExplodedOutput.of(jarFile);
+        if (Files.notExists(jarFile) && exploded.exists()) {
+            StandaloneCommandBuilder builder = StandaloneCommandBuilder.of(exploded.getExplodedDir());
+            Path archive = exploded.getExplodedDir().resolve(ClassDataSharing.EXPLODED_ARCHIVE);
+            if (Files.exists(archive)) {
+                builder.addJavaOption(ClassDataSharing.getUseArchiveOption(archive));
+            }
+            return builder.addJavaOptions(jvmArguments)
+                    .addServerArguments(arguments);
+        }
+        BootableJarCommandBuilder builder = BootableJarCommandBuilder.of(getBootableJarPath(jarFileName, project, goal));
+        Path archive = ClassDataSharing.getArchive(jarFile);
+        if (Files.exists(archive)) {
+            builder.addJavaOption(ClassDataSharing.getUseArchiveOption(archive));
+        }
+        builder.addJavaOptions(jvmArguments)
+                .addServerArguments(arguments);
+        // The bootable JAR of a layered output is hollow, the application is in the deployment layer.
+        Path deployment = getLayeredDeployment(jarFile);
+        if (deployment != null && arguments.stream().noneMatch(arg -> arg.startsWith(DEPLOYMENT_ARG))) {
+            builder.addServerArgument(DEPLOYMENT_ARG + "=" + deployment.toAbsolutePath());
+        }
+        return builder;
+    }
+
+    private static Path getLayeredDeployment(Path jarFile) throws MojoExecutionException {
+        try {
+            return LayeredOutput.of(jarFile).getDeployment();
+        } catch (IOException ex) {
+            throw new MojoExecutionException(ex.getLocalizedMessage(), ex);
+        }
+    }
+
+    private static Path getBootableJarFile(String jarFileName, MavenProject project) {
         String jarName = jarFileName;
         if (jarName == null) {
             String finalName = project.getBuild().getFinalName();
             jarName = finalName + "-" + BootableJarSupport.BOOTABLE_SUFFIX + "." + BuildBootableJarMojo.JAR;
         }
-        String path = project.getBuild().getDirectory() + File.separator + jarName;
-        if (!Files.exists(Paths.get(path))) {
-            throw new MojoExecutionException("Cannot " + goal + " without a bootable jar; please `mvn wildfly-jar:package` prior to invoking wildfly-jar:run from the command-line");
-        }
-        return path;
+        return Paths.get(project.getBuild().getDirectory() + File.separator + jarName);
     }
 
     /**
@@ -125,11 +176,30 @@ public class Utils {
         return args;
     }
 
-    public static ProvisioningSpecifics getSpecifics(List<FeaturePack> fps, GalleonBuilder provider) throws ProvisioningException, IOException {
-        return new ProvisioningSpecifics(getAllLayers(fps, provider));
+    public static ProvisioningSpecifics getSpecifics(List<FeaturePack> fps, GalleonBuilder provider,
+            FeaturePackCache cache) throws ProvisioningException, IOException {
+        return new ProvisioningSpecifics(getAllLayers(fps, provider, cache));
     }
 
-    private static Set<String> getAllLayers(List<FeaturePack> fps, GalleonBuilder provider) throws ProvisioningException, IOException {
+    private static Set<String> getAllLayers(List<FeaturePack> fps, GalleonBuilder provider,
+            FeaturePackCache cache) throws ProvisioningException, IOException {
+        StringBuilder key = new StringBuilder();
+        boolean immutable = true;
+        for (FeaturePack fp : fps) {
+            String location;
+            if (fp.getNormalizedPath() != null) {
+                location = FeaturePackCache.getFileKey(fp.getNormalizedPath());
+            } else {
+                location = fp.getGroupId() != null && fp.getArtifactId() != null ? fp.getMavenCoords() : fp.getLocation();
+                String build = FeaturePackLocation.fromString(location).getBuild();
+                immutable &= build != null && !build.isEmpty() && !build.endsWith("SNAPSHOT");
+            }
+            key.append(location).append(',');
+        }
+        Set<String> layers = cache.getLayers(key.toString());
+        if (layers != null) {
+            return layers;
+        }
         GalleonProvisioningConfig.Builder builder = GalleonProvisioningConfig.builder();
         for (FeaturePack fp : fps) {
             final FeaturePackLocation fpl;
@@ -145,8 +215,10 @@ public class Utils {
         }
         GalleonProvisioningConfig pConfig = builder.build();
         try (Provisioning pm = provider.newProvisioningBuilder(pConfig).build()) {
-            return getAllLayers(pm, pConfig);
+            layers = getAllLayers(pm, pConfig);
         }
+        cache.putLayers(key.toString(), layers, immutable);
+        return layers;
     }
 
     private static Set<String> getAllLayers(Provisioning pm, GalleonProvisioningConfig pConfig)
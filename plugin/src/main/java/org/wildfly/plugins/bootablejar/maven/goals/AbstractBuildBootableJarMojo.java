@@ -20,13 +20,14 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
+import java.lang.ref.WeakReference;
 import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
@@ -42,9 +43,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.jar.Manifest;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 import javax.xml.stream.XMLStreamException;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
@@ -60,16 +64,18 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.MavenProjectHelper;
 import org.codehaus.plexus.configuration.PlexusConfigurationException;
+import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.listener.ChainedTransferListener;
 import org.jboss.galleon.Constants;
 import org.jboss.galleon.ProvisioningDescriptionException;
 import org.jboss.galleon.ProvisioningException;
-import org.jboss.galleon.maven.plugin.util.MavenArtifactRepositoryManager;
 import org.jboss.galleon.maven.plugin.util.MvnMessageWriter;
 import org.jboss.galleon.api.GalleonArtifactCoordinate;
 import org.jboss.galleon.api.GalleonBuilder;
+import org.jboss.galleon.api.GalleonFeaturePackDescription;
 import org.jboss.galleon.api.Provisioning;
 import org.jboss.galleon.config.ConfigId;
 import org.jboss.galleon.api.config.GalleonConfigurationWithLayersBuilder;
@@ -80,16 +86,37 @@ import org.jboss.galleon.universe.maven.MavenArtifact;
 import org.jboss.galleon.universe.maven.MavenUniverseException;
 import org.jboss.galleon.universe.maven.repo.MavenRepoManager;
 import org.jboss.galleon.util.IoUtils;
-import org.jboss.galleon.util.ZipUtils;
+import org.jboss.galleon.util.PathsUtils;
+import org.wildfly.channel.ChannelManifestCoordinate;
 import org.wildfly.channel.UnresolvedMavenArtifactException;
+import org.wildfly.core.launcher.BootableJarCommandBuilder;
+import org.wildfly.core.launcher.CommandBuilder;
+import org.wildfly.core.launcher.StandaloneCommandBuilder;
+import org.wildfly.plugin.tools.GalleonUtils;
 import org.wildfly.plugin.tools.PluginProgressTracker;
 
+import org.wildfly.plugins.bootablejar.maven.cli.CLIClassLoader;
 import org.wildfly.plugins.bootablejar.maven.cli.CLIExecutor;
+import org.wildfly.plugins.bootablejar.maven.cli.CLISessionsPlan;
+import org.wildfly.plugins.bootablejar.maven.cli.CLIWorkerProcess;
 import org.wildfly.plugins.bootablejar.maven.cli.LocalCLIExecutor;
+import org.wildfly.plugins.bootablejar.maven.cli.OfflineCLIApplier;
 import org.wildfly.plugins.bootablejar.maven.cli.RemoteCLIExecutor;
+import org.wildfly.plugins.bootablejar.maven.common.BootableJarAssembler;
+import org.wildfly.plugins.bootablejar.maven.common.BuildDigest;
+import org.wildfly.plugins.bootablejar.maven.common.ClassDataSharing;
+import org.wildfly.plugins.bootablejar.maven.common.CompressionPolicy;
+import org.wildfly.plugins.bootablejar.maven.common.ExplodedOutput;
 import org.wildfly.plugins.bootablejar.maven.common.FeaturePack;
+import org.wildfly.plugins.bootablejar.maven.common.FeaturePackCache;
+import org.wildfly.plugins.bootablejar.maven.common.FileLinker;
+import org.wildfly.plugins.bootablejar.maven.common.JandexIndexer;
+import org.wildfly.plugins.bootablejar.maven.common.LayeredOutput;
 import org.wildfly.plugins.bootablejar.maven.common.MavenRepositoriesEnricher;
 import org.wildfly.plugins.bootablejar.maven.common.OverriddenArtifact;
+import org.wildfly.plugins.bootablejar.maven.common.ReproducibleOutput;
+import org.wildfly.plugins.bootablejar.maven.common.ServerChecksums;
+import org.wildfly.plugins.bootablejar.maven.common.ServerZipper;
 import org.wildfly.plugins.bootablejar.maven.common.Utils;
 import org.wildfly.plugins.bootablejar.maven.common.Utils.ProvisioningSpecifics;
 import org.wildfly.plugin.tools.bootablejar.BootLoggingConfiguration;
@@ -107,6 +134,9 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
 
     public static final String JAR = "jar";
     public static final String WAR = "war";
+    public static final String EXPLODED = "exploded";
+
+    private static final long CDS_BOOT_TIMEOUT = 300;
 
     public static final String STANDALONE = "standalone";
     public static final String STANDALONE_XML = "standalone.xml";
@@ -117,6 +147,7 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
     private static final String JBOSS_PROVISIONING_MAVEN_REPO = "jboss-maven-provisioning-repo";
     private static final String MAVEN_REPO_LOCAL = "maven.repo.local";
     private static final String PLUGIN_PROVISIONING_FILE = ".wildfly-jar-plugin-provisioning.xml";
+    private static final String SNAPSHOT = "-SNAPSHOT";
 
     @Component
     RepositorySystem repoSystem;
@@ -146,6 +177,13 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
      * &lt;plugin-options&gt;<br/>
      * &lt;jboss-fork-embedded&gt;true&lt;/jboss-fork-embedded&gt;<br/>
      * &lt;/plugin-options&gt;
+     * <br/>
+     * When 'jboss-fork-embedded' is 'false', the CLI is executed in the Maven
+     * JVM. The embedded server sets JVM wide system properties
+     * ({@code module.path}, {@code jboss.*}, {@code wildfly.*}) while it runs
+     * and they are reverted after each execution, a parallel build ({@code -T})
+     * running other mojos that read or write these properties can see them
+     * changed.
      */
     @Parameter(alias = "plugin-options", required = false)
     Map<String, String> pluginOptions = Collections.emptyMap();
@@ -273,10 +311,69 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
     /**
      * By default executed CLI scripts output is not shown if execution is
      * successful. In order to display the CLI output, set this option to true.
+     * The output of the CLI executed in a forked process is displayed while the
+     * commands are executed. The execution time of each command is logged at the
+     * debug level.
      */
     @Parameter(alias = "display-cli-scripts-output")
     boolean displayCliScriptsOutput;
 
+    /**
+     * By default the CLI sessions are validated before the server is provisioned: the script and properties files must
+     * exist, the operations must be well formed, the control flow commands ({@code if}, {@code try}, {@code for},
+     * {@code batch}) must be closed. The commands that are not CLI built-in commands (eg: custom commands) and, for the
+     * sessions that resolve expressions, the expressions of the operations that can't be resolved from the properties
+     * file, the system properties, the environment or the server environment ({@code jboss.*}) are logged as warnings.
+     * Set to {@code false} to only detect the errors when the CLI scripts are executed.
+     */
+    @Parameter(alias = "validate-cli-sessions", property = "wildfly.bootable.package.validate.cli.sessions", defaultValue = "true")
+    boolean validateCliSessions;
+
+    /**
+     * Set to {@code true} to execute the server configuration generated by the plugin, the CLI sessions and the
+     * generation of the boot logging configuration in a single boot of the embedded server, instead of booting the
+     * embedded server for each of them. The CLI sessions are executed in order, each with its properties file and its
+     * {@code resolve-expressions} option. The CLI scripts must not start nor stop the embedded server.
+     */
+    @Parameter(alias = "coalesce-cli-sessions", property = "wildfly.bootable.package.coalesce.cli.sessions")
+    boolean coalesceCliSessions;
+
+    /**
+     * Set to {@code true} to apply the server configuration generated by the plugin (cloud configuration, JGroups
+     * authentication, development mode deployment scanner) to the {@code standalone.xml} file without booting an
+     * embedded server. The commands that can't be applied to the XML configuration (eg: deployment) are executed with
+     * an embedded server. The CLI sessions are not impacted.
+     */
+    @Parameter(alias = "offline-server-config", property = "wildfly.bootable.package.offline.server.config")
+    boolean offlineServerConfig;
+
+    /**
+     * Set to {@code true} to cache the server configurations resulting from the CLI executions (server configuration
+     * generated by the plugin, CLI sessions, boot logging configuration). The cache is keyed by a digest of the server
+     * configuration before the CLI executions, the provisioned feature-packs, the CLI commands and their properties
+     * files, and the deployment. When the digest is in the cache, the {@code standalone/configuration} and
+     * {@code standalone/data} directories of the server are restored from the cache and the embedded server is not
+     * booted. CLI sessions that resolve expressions, that contain expressions (the CLI resolves the expressions of the
+     * addresses and of the command arguments from the system properties and the environment) or that reference files or
+     * modules ({@code deploy}, {@code module}, {@code patch}, {@code --file} option) disable the cache.
+     */
+    @Parameter(alias = "cli-cache", property = "wildfly.bootable.package.cli.cache")
+    boolean cliCache;
+
+    /**
+     * The directory of the CLI cache.
+     */
+    @Parameter(alias = "cli-cache-dir", property = "wildfly.bootable.package.cli.cache.dir",
+            defaultValue = "${user.home}/.m2/wildfly-jar-cli-cache")
+    File cliCacheDir;
+
+    /**
+     * The maximum number of server configurations kept in the CLI cache. The least recently used configurations are
+     * evicted.
+     */
+    @Parameter(alias = "cli-cache-max-entries", property = "wildfly.bootable.package.cli.cache.max.entries", defaultValue = "64")
+    int cliCacheMaxEntries;
+
     /**
      * Overrides the default {@code logging.properties} the container uses when booting.
      * <br/>
@@ -387,6 +484,207 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
     @Parameter(alias = "channels", property = "wildfly.channels")
     List<ChannelConfiguration> channels;
 
+    /**
+     * The number of threads used to compress the provisioned server into the
+     * {@code wildfly.zip} file embedded in the bootable JAR. Entries are deflated
+     * concurrently when more than one thread is used. A value of 0 or less
+     * means the number of available processors.
+     */
+    @Parameter(alias = "server-zip-threads", property = "wildfly.bootable.package.server.zip.threads", defaultValue = "1")
+    int serverZipThreads;
+
+    /**
+     * Set to {@code true} to share the feature-pack descriptions and the layers of the released feature-packs with the
+     * builds that run later in the same JVM (eg: the modules of a reactor, the rebuilds of the development mode). A
+     * build always parses a feature-pack once.
+     */
+    @Parameter(alias = "shared-feature-pack-cache", property = "wildfly.bootable.package.shared.feature.pack.cache")
+    boolean sharedFeaturePackCache;
+
+    /**
+     * The number of threads used to resolve the artifacts of the server (JBoss Modules artifacts, copied artifacts)
+     * before the server is provisioned. Galleon resolves the artifacts one at a time, resolving them concurrently
+     * beforehand reduces the provisioning time when the artifacts are not in the local Maven repository. A value of 0
+     * or less disables the prefetch. The overridden server artifacts are not prefetched.
+     */
+    @Parameter(alias = "artifact-prefetch-threads", property = "wildfly.bootable.package.artifact.prefetch.threads", defaultValue = "0")
+    int artifactPrefetchThreads;
+
+    /**
+     * Set to {@code true} to generate the file
+     * {@code target/bootable-jar-build-artifacts/bootable-jar-resolution-report.xml}. The report contains, for each
+     * resolved artifact, the resolution time, if it has been found in the local Maven repository or downloaded and
+     * the downloaded bytes, as well as the totals and the slowest artifacts of the build.
+     */
+    @Parameter(alias = "resolution-report", property = "wildfly.bootable.package.resolution.report")
+    boolean resolutionReport;
+
+    /**
+     * The number of slowest artifacts listed in the resolution report.
+     */
+    @Parameter(alias = "resolution-report-slowest", property = "wildfly.bootable.package.resolution.report.slowest", defaultValue = "20")
+    int resolutionReportSlowest;
+
+    /**
+     * The deflate level used to compress the server zip and the bootable JAR content,
+     * from 0 (no compression) to 9 (best compression). -1 means the default level.
+     */
+    @Parameter(alias = "compression-level", property = "wildfly.bootable.package.compression.level", defaultValue = "-1")
+    int compressionLevel;
+
+    /**
+     * Set to true to store the server files that are already compressed ({@code *.jar}, {@code *.zip}
+     * and {@code *.war}) without deflating them again in the server zip.
+     */
+    @Parameter(alias = "store-compressed-entries", property = "wildfly.bootable.package.store.compressed.entries", defaultValue = "false")
+    boolean storeCompressedEntries;
+
+    /**
+     * Set to true to store the server zip without deflating it in the bootable JAR.
+     * The JAR is bigger but its server zip is faster to extract at boot time.
+     */
+    @Parameter(alias = "store-server-zip", property = "wildfly.bootable.package.store.server.zip", defaultValue = "false")
+    boolean storeServerZip;
+
+    /**
+     * Set to true to reuse the server provisioned and configured by a previous build when the build inputs are
+     * unchanged. The inputs are the Galleon provisioning configuration, the feature-packs, the overridden server
+     * artifacts, the channels, the CLI scripts, the extra server content directories, the deployment and the
+     * project dependencies (the content of the SNAPSHOT and reactor ones). When a digest of these inputs matches the one recorded in the
+     * {@code bootable-jar-build-artifacts} directory, provisioning and CLI executions are skipped
+     * and the bootable JAR is assembled from the existing server. Channels without a fixed manifest version
+     * disable the reuse.
+     */
+    @Parameter(alias = "incremental-build", property = "wildfly.bootable.package.incremental", defaultValue = "false")
+    boolean incrementalBuild;
+
+    /**
+     * The maximum number of configured servers kept in memory of the Maven JVM to be shared between executions.
+     * An execution with the same build inputs as a previous execution (see {@code incremental-build}) copies
+     * the server of the previous execution instead of provisioning and configuring it. Files are hard linked when
+     * possible. 0 disables the sharing.
+     */
+    @Parameter(alias = "shared-server-cache-size", property = "wildfly.bootable.package.shared.server.cache.size", defaultValue = "0")
+    int sharedServerCacheSize;
+
+    /**
+     * How the JBoss Modules artifacts of the server are populated from the local Maven repository.
+     * Can be {@code copy} (the default), {@code hardlink}, {@code reflink} (copy-on-write clone, Linux only)
+     * or {@code auto} (reflink, then hardlink). When linking, the server is provisioned without the JBoss Modules
+     * artifacts and the artifacts are then linked, a copy is done when no link can be created (eg: different file
+     * systems). Hard linked files are shared with the local Maven repository, they are made read-only.
+     */
+    @Parameter(alias = "server-artifacts-link-mode", property = "wildfly.bootable.package.server.artifacts.link.mode", defaultValue = "copy")
+    String serverArtifactsLinkMode;
+
+    /**
+     * Timestamp for reproducible output archive entries, either formatted as ISO 8601
+     * {@code yyyy-MM-dd'T'HH:mm:ssXXX} or as an int representing seconds since the epoch.
+     * When set, the server zip and the bootable JAR are reproducible: entries are sorted, have this timestamp and fixed
+     * permissions, the manifest attributes are sorted and the server content that changes at each
+     * boot of the embedded server ({@code standalone/data/kernel}) is not packaged.
+     */
+    @Parameter(defaultValue = "${project.build.outputTimestamp}")
+    String outputTimestamp;
+
+    /**
+     * Set to {@code true} to split the output in layers suited to container image builds. The layers are created
+     * in the {@code <output file name>-layers} directory, from the least to the most frequently changing one:
+     * {@code server} (the hollow bootable JAR: JBoss Modules, the bootable JAR runtime, the server modules and its
+     * configuration) and {@code deployment} (the application). The {@code layers.idx} file lists the layers in order.
+     * The application is not added to the server, it is deployed at boot time, the bootable JAR (and the attached
+     * artifact) is then hollow. The run and start goals deploy the application of the deployment layer, other usages
+     * of the bootable JAR must deploy it with the {@code --deployment} argument.
+     */
+    @Parameter(alias = "layered-output", property = "wildfly.bootable.package.layered")
+    boolean layeredOutput;
+
+    /**
+     * The output of the package goal. {@code jar} (the default) builds the bootable JAR. {@code exploded} creates,
+     * instead of the bootable JAR, the {@code <output file name>-exploded} directory containing the configured server
+     * and a {@code run.sh} launcher script. The exploded server starts without extracting the server, it can be
+     * copied as-is in a container image. The {@code run} and {@code start} goals run the exploded server when no
+     * bootable JAR exists. The server arguments specific to the bootable JAR (eg: {@code --deployment}) are not
+     * supported by the exploded server. The cloud configuration relies on the bootable JAR runtime, it can't be used
+     * with the exploded output.
+     */
+    @Parameter(alias = "output-mode", property = "wildfly.bootable.package.output.mode", defaultValue = "jar")
+    String outputMode;
+
+    /**
+     * Set to {@code true} to store, next to the server zip in the bootable JAR, the {@code wildfly.zip.sha256} manifest
+     * containing the SHA-256 checksum and the size of each server file. The manifest is not used when the bootable JAR
+     * is started, the server is always extracted. It allows external tools to check the content of an installation
+     * directory against the bootable JAR.
+     */
+    @Parameter(alias = "server-checksums", property = "wildfly.bootable.package.server.checksums")
+    boolean serverChecksums;
+
+    /**
+     * Set to {@code true} to generate a dynamic class data sharing (CDS) archive of the classes loaded when the server
+     * boots, it reduces the boot time of the server. The packaged server is booted once in a forked JVM to generate the
+     * {@code <output file name>.jsa} archive, next to the bootable JAR, or the {@code server.jsa} archive in the exploded
+     * output directory. The archive is used with the {@code -XX:SharedArchiveFile=<archive>} JVM option, the {@code run}
+     * and {@code start} goals and the launcher of the exploded output set it. The archive is only valid for the JVM running
+     * Maven and for the same location of the bootable JAR, a JVM ignores an archive that doesn't match.
+     */
+    @Parameter(alias = "cds-archive", property = "wildfly.bootable.package.cds.archive")
+    boolean cdsArchive;
+
+    /**
+     * The port offset of the server booted to generate the CDS archive.
+     */
+    @Parameter(alias = "cds-port-offset", property = "wildfly.bootable.package.cds.port.offset", defaultValue = "0")
+    int cdsPortOffset;
+
+    /**
+     * Set to {@code true} to add Jandex annotation indexes ({@code META-INF/jandex.idx}) to the deployment when
+     * they are missing. The server reads the indexes instead of scanning the deployment classes at each boot.
+     * The JARs of the modules listed in {@code jandex-modules} are indexed too.
+     */
+    @Parameter(alias = "jandex-index", property = "wildfly.bootable.package.jandex.index")
+    boolean jandexIndex;
+
+    /**
+     * A list of server module names (eg: modules that deployments depend on with {@code annotations="true"}) whose
+     * JARs get a Jandex annotation index when {@code jandex-index} is enabled.
+     */
+    @Parameter(alias = "jandex-modules")
+    List<String> jandexModules = Collections.emptyList();
+
+    /**
+     * Set to {@code true} to keep the provisioned servers in a persistent store shared by the projects. The store
+     * contains the servers as provisioned by Galleon, before any CLI execution or deployment, keyed by a digest of the
+     * provisioning inputs (the Galleon provisioning configuration, the feature-packs, the overridden server artifacts
+     * and the channels). A project that provisions a server already in the store copies it instead of provisioning
+     * it. The files of the server modules are hard linked when possible. The store is disabled when a channel manifest
+     * or an overridden server artifact can change (no version, SNAPSHOT).
+     */
+    @Parameter(alias = "server-store", property = "wildfly.bootable.package.server.store")
+    boolean serverStore;
+
+    /**
+     * The directory of the server store.
+     */
+    @Parameter(alias = "server-store-dir", property = "wildfly.bootable.package.server.store.dir",
+            defaultValue = "${user.home}/.m2/wildfly-jar-server-store")
+    File serverStoreDir;
+
+    /**
+     * The directory of a second server store tier, on a file system shared by the build machines (eg: NFS mount). A
+     * server not found in the {@code server-store-dir} store is looked-up in this store and copied to the
+     * {@code server-store-dir} store. A provisioned server is stored in both.
+     */
+    @Parameter(alias = "server-store-shared-dir", property = "wildfly.bootable.package.server.store.shared.dir")
+    File serverStoreSharedDir;
+
+    /**
+     * The maximum size in megabytes of each server store tier. The least recently used servers are evicted when a
+     * server is stored and the size of the store is above this bound.
+     */
+    @Parameter(alias = "server-store-max-size", property = "wildfly.bootable.package.server.store.max.size", defaultValue = "4096")
+    long serverStoreMaxSize;
+
     MavenProjectArtifactVersions artifactVersions;
 
     private final BootLoggingConfiguration bootLoggingConfiguration = new BootLoggingConfiguration();
@@ -398,7 +696,12 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
     private MavenRepoManager artifactResolver;
 
     private boolean forkCli;
+    private CLIWorkerProcess cliWorker;
+    private final List<WeakReference<ClassLoader>> cliClassLoaders = new ArrayList<>();
+    private Path deploymentContent;
     private ScannedArtifacts scannedArtifacts;
+    private FeaturePackCache featurePackCache;
+    private ResolutionTelemetry resolutionTelemetry;
 
     public Path getJBossHome() {
         return wildflyDir;
@@ -408,17 +711,28 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
     public void execute() throws MojoExecutionException, MojoFailureException {
 
         MavenRepositoriesEnricher.enrich(session, project, repositories);
+        // Channel manifests can change the resolved feature-packs, nothing is shared.
+        featurePackCache = new FeaturePackCache(sharedFeaturePackCache && !isChannelsProvisioning());
+        resolutionTelemetry = resolutionReport ? new ResolutionTelemetry() : null;
         if (isChannelsProvisioning()) {
             try {
                 artifactResolver = new ChannelMavenArtifactRepositoryManager(channels,
                         repoSystem, repoSession, repositories,
-                        getLog(), offline);
+                        getLog(), offline, resolutionTelemetry);
             } catch (MalformedURLException | UnresolvedMavenArtifactException ex) {
                 throw new MojoExecutionException(ex.getLocalizedMessage(), ex);
             }
         } else {
-            artifactResolver = offline ? new MavenArtifactRepositoryManager(repoSystem, repoSession)
-                    : new MavenArtifactRepositoryManager(repoSystem, repoSession, repositories);
+            RepositorySystemSession resolverSession = repoSession;
+            if (resolutionTelemetry != null) {
+                // The downloads are observed without changing the Maven session.
+                DefaultRepositorySystemSession telemetrySession = new DefaultRepositorySystemSession(repoSession);
+                telemetrySession.setTransferListener(ChainedTransferListener.newInstance(repoSession.getTransferListener(),
+                        resolutionTelemetry));
+                resolverSession = telemetrySession;
+            }
+            artifactResolver = offline ? new TrackingMavenArtifactRepositoryManager(repoSystem, resolverSession, resolutionTelemetry)
+                    : new TrackingMavenArtifactRepositoryManager(repoSystem, resolverSession, repositories, resolutionTelemetry);
         }
         if (outputFileName == null) {
             outputFileName = this.project.getBuild().getFinalName() + "-" + BootableJarSupport.BOOTABLE_SUFFIX + "." + JAR;
@@ -438,26 +752,88 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
             }
             return;
         }
+        if (validateCliSessions) {
+            checkCliSessions();
+        }
+        CompressionPolicy compressionPolicy;
+        FileLinker serverArtifactsLinker;
+        ReproducibleOutput reproducibleOutput;
+        try {
+            compressionPolicy = new CompressionPolicy(compressionLevel, storeCompressedEntries, storeServerZip);
+            serverArtifactsLinker = new FileLinker(FileLinker.Mode.fromString(serverArtifactsLinkMode));
+            reproducibleOutput = ReproducibleOutput.fromOutputTimestamp(outputTimestamp);
+        } catch (IllegalArgumentException ex) {
+            throw new MojoExecutionException(ex.getMessage());
+        }
+        boolean explodedOutput = isExplodedOutput();
         Path contentRoot = Paths.get(project.getBuild().getDirectory()).resolve(bootableJarBuildArtifacts);
+        Path jarFile = Paths.get(project.getBuild().getDirectory()).resolve(outputFileName);
+        wildflyDir = contentRoot.resolve("wildfly");
+        Path contentDir = contentRoot.resolve("jar-content");
+
+        GalleonBuilder provider = new GalleonBuilder();
+        GalleonProvisioningConfig config;
+        String buildDigest = null;
+        String provisioningDigest = null;
+        try {
+            provider.addArtifactResolver(artifactResolver);
+            config = buildProvisioningConfig(provider);
+            if (incrementalBuild || sharedServerCacheSize > 0) {
+                buildDigest = computeBuildDigest(config);
+            }
+            // Original artifacts are only dumped when provisioning.
+            if (serverStore && !dumpOriginalArtifacts) {
+                provisioningDigest = computeProvisioningDigest(config);
+            }
+        } catch (ProvisioningException | IOException ex) {
+            throw new MojoExecutionException("Provisioning failed", ex);
+        }
+        if (buildDigest != null && ((incrementalBuild && reuseConfiguredServer(contentRoot, buildDigest))
+                || restoreSharedServer(contentRoot, buildDigest))) {
+            try {
+                Files.deleteIfExists(jarFile);
+                ExplodedOutput.of(jarFile).delete();
+                LayeredOutput.of(jarFile).delete();
+                if (explodedOutput) {
+                    buildExploded(jarFile);
+                } else {
+                    buildJar(contentDir, jarFile, compressionPolicy, reproducibleOutput);
+                    buildLayers(jarFile);
+                }
+                generateCdsArchive(jarFile, explodedOutput, contentRoot);
+            } catch (IOException ex) {
+                throw new MojoExecutionException("Packaging wildfly failed", ex);
+            }
+            writeResolutionReport(contentRoot);
+            if (!explodedOutput) {
+                attachJar(jarFile);
+            }
+            return;
+        }
+
         if (Files.exists(contentRoot)) {
             deleteDir(contentRoot);
         }
-        Path jarFile = Paths.get(project.getBuild().getDirectory()).resolve(outputFileName);
         IoUtils.recursiveDelete(contentRoot);
-
-        wildflyDir = contentRoot.resolve("wildfly");
-        Path contentDir = contentRoot.resolve("jar-content");
         try {
             Files.createDirectories(contentRoot);
             Files.createDirectories(contentDir);
             Files.deleteIfExists(jarFile);
+            ExplodedOutput.of(jarFile).delete();
+            LayeredOutput.of(jarFile).delete();
         } catch (IOException ex) {
             throw new MojoExecutionException("Packaging wildfly failed", ex);
         }
         try {
-            provisionServer(wildflyDir, contentDir.resolve("provisioning.xml"), contentRoot);
-            if (artifactResolver instanceof ChannelMavenArtifactRepositoryManager) {
-                ((ChannelMavenArtifactRepositoryManager) artifactResolver).done(wildflyDir);
+            Path provisioningFile = contentDir.resolve("provisioning.xml");
+            if (provisioningDigest == null || !restoreStoredServer(provisioningDigest, provisioningFile)) {
+                provisionServer(provider, config, wildflyDir, provisioningFile, contentRoot, serverArtifactsLinker);
+                if (artifactResolver instanceof ChannelMavenArtifactRepositoryManager) {
+                    ((ChannelMavenArtifactRepositoryManager) artifactResolver).done(wildflyDir);
+                }
+                if (provisioningDigest != null) {
+                    storeServer(provisioningDigest, provisioningFile);
+                }
             }
         } catch (ProvisioningException | IOException | XMLStreamException ex) {
             throw new MojoExecutionException("Provisioning failed", ex);
@@ -474,40 +850,42 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
             copyExtraContent(wildflyDir);
             List<String> commands = new ArrayList<>();
             deploy(commands);
+            indexServerModules();
             List<String> serverConfigCommands = new ArrayList<>();
             configureCli(serverConfigCommands);
             commands.addAll(serverConfigCommands);
-            if (!commands.isEmpty()) {
-                executeCliScript(wildflyDir, commands, null, false, "Server configuration", true);
-                if (!serverConfigCommands.isEmpty()) {
-                    // Store generated commands to file in build artifacts.
-                    Path genCliScript = contentRoot.resolve("generated-cli-script.txt");
-                    try (BufferedWriter writer = Files.newBufferedWriter(genCliScript, StandardCharsets.UTF_8)) {
-                        for (String str : serverConfigCommands) {
-                            writer.write(str);
-                            writer.newLine();
-                        }
-                    }
-                    getLog().info("Stored CLI script executed to update server configuration in " + genCliScript + " file.");
+            Path loggingFile = contentRoot.resolve("logging.properties");
+            String cliDigest = cliCache ? computeCliDigest(commands, contentDir) : null;
+            CliResultCache cliResultCache = cliDigest == null ? null
+                    : new CliResultCache(resolvePath(cliCacheDir.toPath()), cliCacheMaxEntries);
+            if (cliResultCache != null && cliResultCache.restore(cliDigest, wildflyDir.resolve(STANDALONE), loggingFile)) {
+                getLog().info("CLI inputs are unchanged, server configuration restored from the CLI cache " + cliCacheDir);
+                storeGeneratedCliScript(serverConfigCommands, contentRoot);
+            } else {
+                loggingFile = configureServer(commands, serverConfigCommands, contentRoot);
+                if (cliResultCache != null) {
+                    cliResultCache.store(cliDigest, wildflyDir.resolve(STANDALONE), loggingFile);
                 }
             }
-            userScripts(wildflyDir, cliSessions, true);
-
-            Path loggingFile = copyLoggingFile(contentRoot);
-            if (bootLoggingConfig == null) {
-                generateLoggingConfig(wildflyDir);
-            } else {
-                // Copy the user overridden logging.properties
-                final Path loggingConfig = resolvePath(bootLoggingConfig.toPath());
-                if (Files.notExists(loggingConfig)) {
-                    throw new MojoExecutionException(String.format("The bootLoggingConfig %s does not exist.", loggingConfig));
+            if (!explodedOutput) {
+                Path serverZip = new ServerZipper(serverZipThreads, compressionPolicy, reproducibleOutput).zip(wildflyDir, contentDir);
+                if (serverChecksums) {
+                    ServerChecksums.write(serverZip);
                 }
-                final Path target = getJBossHome().resolve("standalone").resolve("configuration").resolve("logging.properties");
-                Files.copy(loggingConfig, target, StandardCopyOption.REPLACE_EXISTING);
+                buildJar(contentDir, jarFile, compressionPolicy, reproducibleOutput);
+                buildLayers(jarFile);
             }
-            BootableJarSupport.zipServer(wildflyDir, contentDir);
-            buildJar(contentDir, jarFile);
             restoreLoggingFile(loggingFile);
+            if (explodedOutput) {
+                buildExploded(jarFile);
+            }
+            generateCdsArchive(jarFile, explodedOutput, contentRoot);
+            if (buildDigest != null) {
+                IncrementalBuildState.store(contentRoot, buildDigest, scannedArtifacts);
+                if (sharedServerCacheSize > 0) {
+                    SharedServerCache.store(buildDigest, contentRoot, sharedServerCacheSize);
+                }
+            }
         } catch (Exception ex) {
             if (ex instanceof MojoExecutionException) {
                 throw (MojoExecutionException) ex;
@@ -516,13 +894,117 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
             }
             throw new MojoExecutionException("Packaging wildfly failed", ex);
         } finally {
-            // Although cli and embedded are run in their own classloader,
-            // the module.path system property has been set and needs to be cleared for
-            // in same JVM next execution.
-            System.clearProperty("module.path");
+            if (cliWorker != null) {
+                cliWorker.close();
+                cliWorker = null;
+            }
+            checkCliClassLoadersUnloaded();
         }
+        writeResolutionReport(contentRoot);
 
-        attachJar(jarFile);
+        if (!explodedOutput) {
+            attachJar(jarFile);
+        }
+    }
+
+    private void writeResolutionReport(Path contentRoot) {
+        if (resolutionTelemetry == null) {
+            return;
+        }
+        Path report = contentRoot.resolve(ResolutionTelemetry.REPORT_FILE);
+        try {
+            resolutionTelemetry.write(report, resolutionReportSlowest);
+            getLog().info("Artifact resolution report generated in " + report);
+        } catch (IOException ex) {
+            getLog().warn("Failed to generate the artifact resolution report: " + ex.getLocalizedMessage());
+        }
+    }
+
+    private boolean isExplodedOutput() throws MojoExecutionException {
+        switch (outputMode) {
+            case JAR:
+                return false;
+            case EXPLODED:
+                if (layeredOutput) {
+                    throw new MojoExecutionException("The layered output requires the " + JAR + " output mode");
+                }
+                checkExplodedOutput();
+                return true;
+            default:
+                throw new MojoExecutionException("Invalid output mode " + outputMode + ", must be one of "
+                        + JAR + " or " + EXPLODED);
+        }
+    }
+
+    private void generateCdsArchive(Path jarFile, boolean exploded, Path contentRoot) throws IOException, MojoExecutionException {
+        Path explodedDir = ExplodedOutput.of(jarFile).getExplodedDir();
+        Path archive = exploded ? explodedDir.resolve(ClassDataSharing.EXPLODED_ARCHIVE) : ClassDataSharing.getArchive(jarFile);
+        Files.deleteIfExists(archive);
+        if (!cdsArchive) {
+            return;
+        }
+        String portOffset = "-Djboss.socket.binding.port-offset=" + cdsPortOffset;
+        CommandBuilder command;
+        Path serverDir = null;
+        Set<Path> dataContent = null;
+        if (exploded) {
+            // Keep the exploded server free of the content created at boot.
+            serverDir = Files.createTempDirectory("wildfly-cds-server");
+            dataContent = listContent(explodedDir.resolve(STANDALONE).resolve("data"));
+            command = StandaloneCommandBuilder.of(explodedDir)
+                    .addJavaOption(ClassDataSharing.getDumpArchiveOption(archive))
+                    .addServerArguments(portOffset,
+                            "-Djboss.server.log.dir=" + serverDir.resolve("log"),
+                            "-Djboss.server.temp.dir=" + serverDir.resolve("tmp"));
+        } else {
+            command = BootableJarCommandBuilder.of(jarFile)
+                    .addJavaOption(ClassDataSharing.getDumpArchiveOption(archive))
+                    .addServerArgument(portOffset);
+        }
+        Path output = contentRoot.resolve("cds-server-boot.log");
+        Files.deleteIfExists(output);
+        int managementPort = ClassDataSharing.getManagementPort(wildflyDir.resolve(STANDALONE).resolve("configuration")
+                .resolve(STANDALONE_XML), cdsPortOffset);
+        getLog().info("Booting the server to generate the CDS archive " + archive);
+        try {
+            ClassDataSharing.bootServer(command, output, managementPort, CDS_BOOT_TIMEOUT);
+        } finally {
+            if (serverDir != null) {
+                IoUtils.recursiveDelete(serverDir);
+                GalleonUtils.cleanupServer(explodedDir);
+                for (Path p : listContent(explodedDir.resolve(STANDALONE).resolve("data"))) {
+                    if (!dataContent.contains(p)) {
+                        IoUtils.recursiveDelete(p);
+                    }
+                }
+            }
+        }
+        if (Files.notExists(archive)) {
+            throw new MojoExecutionException("The CDS archive " + archive + " has not been generated, see " + output);
+        }
+        getLog().info("Run the server with the JVM option " + ClassDataSharing.getUseArchiveOption(archive));
+    }
+
+    // Sorted, a directory is before its content.
+    private static Set<Path> listContent(Path dir) throws IOException {
+        Set<Path> content = new TreeSet<>();
+        if (Files.exists(dir)) {
+            try (Stream<Path> stream = Files.walk(dir)) {
+                stream.forEach(content::add);
+            }
+        }
+        return content;
+    }
+
+    private void buildExploded(Path jarFile) throws IOException, MojoExecutionException {
+        ExplodedOutput exploded = ExplodedOutput.of(jarFile);
+        Path jbossModules = null;
+        if (Files.notExists(wildflyDir.resolve(ExplodedOutput.JBOSS_MODULES_JAR))) {
+            jbossModules = resolveArtifact(scannedArtifacts.getJbossModules());
+        }
+        exploded.create(wildflyDir, jbossModules);
+        getLog().info("Exploded server created in " + exploded.getExplodedDir() + ", run it with the "
+                + ExplodedOutput.LAUNCHER + " script");
     }
 
     private boolean isChannelsProvisioning() {
@@ -585,6 +1067,14 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
 
     }
 
+    /**
+     * Check that the configuration can be packaged as an exploded server. The exploded server is started without the
+     * bootable JAR runtime, the extra content of the bootable JAR is not used.
+     */
+    protected void checkExplodedOutput() throws MojoExecutionException {
+
+    }
+
     protected boolean updateManifest(Manifest manifest) {
         return false;
     }
@@ -599,14 +1089,39 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
             return;
         }
         File f = validateProjectFile();
+        Files.copy(f.toPath(), targetDir.resolve(getDeploymentRuntimeName(f)));
+    }
 
-        String fileName = f.getName();
-        if (project.getPackaging().equals(WAR) || fileName.endsWith(WAR)) {
+    private String getDeploymentRuntimeName(File deployment) {
+        String runtimeName = deployment.getName();
+        if (project.getPackaging().equals(WAR) || runtimeName.endsWith(WAR)) {
             if (contextRoot) {
-                fileName = "ROOT." + WAR;
+                runtimeName = "ROOT." + WAR;
             }
         }
-        Files.copy(f.toPath(), targetDir.resolve(fileName));
+        return runtimeName;
+    }
+
+    private boolean isLayeredDeployment() {
+        return layeredOutput && !hollowJar;
+    }
+
+    private void buildLayers(Path jarFile) throws IOException, MojoExecutionException {
+        if (!layeredOutput) {
+            return;
+        }
+        LayeredOutput layers = LayeredOutput.of(jarFile);
+        File deployment = hollowJar ? null : validateProjectFile();
+        String deploymentName = deployment == null ? null : getDeploymentRuntimeName(deployment);
+        layers.create(jarFile, deployment == null ? null : getDeploymentContent(deployment), deploymentName);
+        getLog().info("Layered output created in " + layers.getLayersDir() + ", run it from this directory with: "
+                + LayeredOutput.getRunCommand(jarFile, deploymentName));
+        if (deployment != null) {
+            getLog().warn("Layered output, the bootable JAR " + jarFile + " (and the attached artifact) is hollow, the application "
+                    + "is only contained in the deployment layer. The run and start goals deploy it, other usages of the bootable JAR "
+                    + "must add the --deployment=" + layers.getLayersDir().resolve(LayeredOutput.DEPLOYMENT_LAYER).resolve(deploymentName)
+                    + " argument.");
+        }
     }
 
     protected Path getDeploymentsDir() {
@@ -625,28 +1140,255 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
         return f;
     }
 
+    /**
+     * Execute the CLI scripts and set the boot logging configuration.
+     *
+     * @return The copy of the logging configuration of the server.
+     */
+    private Path configureServer(List<String> commands, List<String> serverConfigCommands, Path contentRoot) throws Exception {
+        Path loggingFile;
+        if (offlineServerConfig && !commands.isEmpty()) {
+            commands = applyOfflineServerConfig(commands);
+        }
+        if (coalesceCliSessions) {
+            loggingFile = executeCliSessions(commands, contentRoot);
+            storeGeneratedCliScript(serverConfigCommands, contentRoot);
+        } else {
+            if (!commands.isEmpty()) {
+                executeCliScript(wildflyDir, commands, null, false, "Server configuration", true);
+            }
+            storeGeneratedCliScript(serverConfigCommands, contentRoot);
+            userScripts(wildflyDir, cliSessions, true);
+            loggingFile = copyLoggingFile(contentRoot);
+        }
+        if (bootLoggingConfig == null) {
+            if (!coalesceCliSessions) {
+                generateLoggingConfig(wildflyDir);
+            }
+        } else {
+            // Copy the user overridden logging.properties
+            final Path loggingConfig = resolvePath(bootLoggingConfig.toPath());
+            if (Files.notExists(loggingConfig)) {
+                throw new MojoExecutionException(String.format("The bootLoggingConfig %s does not exist.", loggingConfig));
+            }
+            final Path target = getJBossHome().resolve("standalone").resolve("configuration").resolve("logging.properties");
+            Files.copy(loggingConfig, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return loggingFile;
+    }
+
+    private List<String> applyOfflineServerConfig(List<String> commands) throws Exception {
+        Path config = wildflyDir.resolve(STANDALONE).resolve("configuration").resolve(STANDALONE_XML);
+        List<String> remaining = OfflineCLIApplier.apply(config, commands);
+        getLog().info("Server configuration applied to " + STANDALONE_XML + " without embedded server, "
+                + (remaining.isEmpty() ? "no command" : remaining.size() + " command lines") + " left to the CLI");
+        if (getLog().isDebugEnabled()) {
+            for (String command : remaining) {
+                getLog().debug(command);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * The digest of the inputs of the CLI executions.
+     *
+     * @return The digest or null if the result of the CLI executions depends on inputs that are not in the digest.
+     */
+    private String computeCliDigest(List<String> commands, Path contentDir) throws Exception {
+        BuildDigest digest = new BuildDigest();
+        digest.add("plugin-version", retrievePluginVersion());
+        // Identifies the server, the CLI operations depend on the server version.
+        digest.addFile("provisioning", contentDir.resolve("provisioning.xml"));
+        Path standalone = wildflyDir.resolve(STANDALONE);
+        digest.addDirectory("configuration", standalone.resolve("configuration"));
+        digest.addDirectory("data", standalone.resolve("data"));
+        for (String command : commands) {
+            digest.add("command", command);
+        }
+        digest.addFile("deployment", deploymentContent);
+        for (CliSession session : cliSessions) {
+            if (session.getResolveExpression()) {
+                getLog().info("CLI session " + session + " resolves expressions, the CLI cache is disabled");
+                return null;
+            }
+            digest.add("session", session.getScriptFiles().size());
+            for (String command : readCommands(session)) {
+                if (!isCacheableCommand(command)) {
+                    getLog().info("CLI command " + command + " references external content, the CLI cache is disabled");
+                    return null;
+                }
+                if (command.contains("${")) {
+                    getLog().info("CLI command " + command + " contains an expression, the CLI cache is disabled");
+                    return null;
+                }
+                digest.add("command", command);
+            }
+            digest.addFile("cli-properties", session.getPropertiesFile() == null ? null : resolvePath(Paths.get(session.getPropertiesFile())));
+        }
+        digest.add("coalesce-cli-sessions", coalesceCliSessions);
+        digest.add("offline-server-config", offlineServerConfig);
+        digest.addFile("boot-logging-config", bootLoggingConfig == null ? null : resolvePath(bootLoggingConfig.toPath()));
+        return digest.toHex();
+    }
+
+    // The result of these commands depends on files that are not in the CLI digest.
+    private static boolean isCacheableCommand(String command) {
+        String cmd = command.trim();
+        return !(cmd.startsWith("deploy ") || cmd.startsWith("module ") || cmd.startsWith("patch ") || cmd.contains("--file="));
+    }
+
     private void userScripts(Path wildflyDir, List<CliSession> sessions, boolean startEmbedded) throws Exception {
         for (CliSession session : sessions) {
-            List<String> commands = new ArrayList<>();
+            List<String> commands = readCommands(session);
+            if(!commands.isEmpty()) {
+                executeCliScript(wildflyDir, commands, session.getPropertiesFile(),
+                        session.getResolveExpression(), session.toString(), startEmbedded);
+            }
+        }
+    }
+
+    private List<String> readCommands(CliSession session) throws Exception {
+        List<String> commands = new ArrayList<>();
+        for (String path : session.getScriptFiles()) {
+            File f = new File(path);
+            Path filePath = resolvePath(f.toPath());
+            if (Files.notExists(filePath)) {
+                throw new RuntimeException("Cli script file " + filePath + " doesn't exist");
+            }
+            for (String line : readScript(filePath)) {
+                commands.add(line.trim());
+            }
+        }
+        return commands;
+    }
+
+    // The scripts are read in the platform charset, the same way they are validated and executed.
+    private static List<String> readScript(Path filePath) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath.toFile()))) {
+            String line = reader.readLine();
+            while (line != null) {
+                lines.add(line);
+                line = reader.readLine();
+            }
+        }
+        return lines;
+    }
+
+    private void checkCliSessions() throws MojoExecutionException {
+        List<String> errors = new ArrayList<>();
+        for (CliSession session : cliSessions) {
+            Properties props = new Properties();
+            if (session.getPropertiesFile() != null) {
+                Path propertiesFile = resolvePath(Paths.get(session.getPropertiesFile()));
+                if (Files.notExists(propertiesFile)) {
+                    errors.add("Cli properties file " + propertiesFile + " doesn't exist");
+                    continue;
+                }
+                try (InputStreamReader reader = new InputStreamReader(new FileInputStream(propertiesFile.toFile()),
+                        StandardCharsets.UTF_8)) {
+                    props.load(reader);
+                } catch (IOException | IllegalArgumentException ex) {
+                    errors.add("Failed to load properties from " + propertiesFile + ": " + ex.getLocalizedMessage());
+                    continue;
+                }
+            }
+            CliScriptValidator validator = new CliScriptValidator(props, session.getResolveExpression());
             for (String path : session.getScriptFiles()) {
-                File f = new File(path);
-                Path filePath = resolvePath(f.toPath());
+                Path filePath = resolvePath(Paths.get(path));
                 if (Files.notExists(filePath)) {
-                    throw new RuntimeException("Cli script file " + filePath + " doesn't exist");
+                    errors.add("Cli script file " + filePath + " doesn't exist");
+                    continue;
+                }
+                try {
+                    validator.validate(filePath.toString(), readScript(filePath));
+                } catch (IOException ex) {
+                    errors.add("Failed to read Cli script file " + filePath + ": " + ex.getLocalizedMessage());
                 }
-                try (BufferedReader reader = new BufferedReader(new FileReader(filePath.toFile()))) {
-                    String line = reader.readLine();
-                    while (line != null) {
-                        commands.add(line.trim());
-                        line = reader.readLine();
+            }
+            errors.addAll(validator.getErrors());
+            for (String warning : validator.getWarnings()) {
+                getLog().warn(warning);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new MojoExecutionException("Invalid CLI sessions:" + System.lineSeparator()
+                    + String.join(System.lineSeparator(), errors));
+        }
+    }
+
+    private void storeGeneratedCliScript(List<String> serverConfigCommands, Path contentRoot) throws IOException {
+        if (serverConfigCommands.isEmpty()) {
+            return;
+        }
+        // Store generated commands to file in build artifacts.
+        Path genCliScript = contentRoot.resolve("generated-cli-script.txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(genCliScript, StandardCharsets.UTF_8)) {
+            for (String str : serverConfigCommands) {
+                writer.write(str);
+                writer.newLine();
+            }
+        }
+        getLog().info("Stored CLI script executed to update server configuration in " + genCliScript + " file.");
+    }
+
+    /**
+     * Execute the server configuration, the CLI sessions and the generation of the boot logging configuration in a
+     * single boot of the embedded server.
+     *
+     * @return The copy of the logging configuration of the server.
+     */
+    private Path executeCliSessions(List<String> commands, Path contentRoot) throws Exception {
+        CLISessionsPlan plan = new CLISessionsPlan();
+        if (!commands.isEmpty()) {
+            plan.addSession(new CLISessionsPlan.Session("Server configuration", commands, null, false));
+        }
+        for (CliSession session : cliSessions) {
+            List<String> sessionCommands = readCommands(session);
+            if (!sessionCommands.isEmpty()) {
+                Path propertiesFile = null;
+                if (session.getPropertiesFile() != null) {
+                    propertiesFile = resolvePath(Paths.get(session.getPropertiesFile()));
+                    if (Files.notExists(propertiesFile)) {
+                        throw new RuntimeException("Cli properties file " + propertiesFile + " doesn't exist");
                     }
                 }
+                plan.addSession(new CLISessionsPlan.Session(session.toString(), sessionCommands, propertiesFile,
+                        session.getResolveExpression()));
             }
-            if(!commands.isEmpty()) {
-                executeCliScript(wildflyDir, commands, session.getPropertiesFile(),
-                        session.getResolveExpression(), session.toString(), startEmbedded);
+        }
+        Path loggingFile = contentRoot.resolve("logging.properties");
+        if (bootLoggingConfig == null) {
+            plan.setBootLoggingGeneration(loggingFile);
+        }
+        if (!plan.isEmpty()) {
+            executeCliSessions(plan);
+        }
+        return bootLoggingConfig == null ? loggingFile : copyLoggingFile(contentRoot);
+    }
+
+    private void executeCliSessions(CLISessionsPlan plan) throws Exception {
+        StringBuilder names = new StringBuilder();
+        for (CLISessionsPlan.Session session : plan.getSessions()) {
+            names.append(names.length() == 0 ? "" : ", ").append(session.getName());
+        }
+        getLog().info("Executing CLI in a single embedded server boot, " + (names.length() == 0 ? "boot logging configuration" : names));
+        try (CLIExecutor executor = forkCli ? new RemoteCLIExecutor(wildflyDir, getCLIArtifacts(), this, false, displayCliScriptsOutput)
+                : new LocalCLIExecutor(wildflyDir, getCLIArtifacts(), this, false, bootLoggingConfiguration)) {
+            try {
+                executor.execute(plan);
+            } catch (Exception ex) {
+                getLog().error("Error executing CLI sessions " + ex.getLocalizedMessage(), ex);
+                getLog().error(executor.getOutput());
+                throw ex;
+            }
+            // The forked CLI output has been displayed while it was executed.
+            if (displayCliScriptsOutput && !forkCli) {
+                getLog().info(executor.getOutput());
             }
         }
+        getLog().info("CLI scripts execution done.");
     }
 
     private void executeCliScript(Path jbossHome, List<String> commands, String propertiesFile,
@@ -668,7 +1410,7 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
     }
 
     private void generateLoggingConfig(final Path wildflyDir) throws Exception {
-        try (CLIExecutor cmdCtx = forkCli ? new RemoteCLIExecutor(wildflyDir, getCLIArtifacts(), this, false)
+        try (CLIExecutor cmdCtx = forkCli ? new RemoteCLIExecutor(wildflyDir, getCLIArtifacts(), this, false, false)
                 : new LocalCLIExecutor(wildflyDir, getCLIArtifacts(), this, false, bootLoggingConfiguration)) {
             try {
                 cmdCtx.generateBootLoggingConfig();
@@ -692,7 +1434,7 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
         if (startEmbedded) {
             allCommands.add("stop-embedded-server");
         }
-        try (CLIExecutor executor = forkCli ? new RemoteCLIExecutor(jbossHome, getCLIArtifacts(), this, resolveExpression)
+        try (CLIExecutor executor = forkCli ? new RemoteCLIExecutor(jbossHome, getCLIArtifacts(), this, resolveExpression, displayCliScriptsOutput)
                 : new LocalCLIExecutor(jbossHome, getCLIArtifacts(), this, resolveExpression, bootLoggingConfiguration)) {
 
             try {
@@ -702,7 +1444,8 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
                 getLog().error(executor.getOutput());
                 throw ex;
             }
-            if (displayCliScriptsOutput) {
+            // The forked CLI output has been displayed while it was executed.
+            if (displayCliScriptsOutput && !forkCli) {
                 getLog().info(executor.getOutput());
             }
         }
@@ -719,6 +1462,52 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
         return paths;
     }
 
+    /**
+     * @return The CLI worker process of the server, started by the first forked CLI execution and used until the end of
+     * the execution.
+     */
+    public CLIWorkerProcess getCliWorker(Path jbossHome, List<Path> cliArtifacts) throws IOException {
+        if (cliWorker != null && (!cliWorker.isAlive() || !cliWorker.getJBossHome().equals(jbossHome))) {
+            cliWorker.close();
+            cliWorker = null;
+        }
+        if (cliWorker == null) {
+            getLog().info("Starting the CLI worker process");
+            cliWorker = new CLIWorkerProcess(jbossHome, cliArtifacts);
+        }
+        return cliWorker;
+    }
+
+    /**
+     * Called by the in-process CLI executions once their class loader is closed.
+     */
+    public void cliClassLoaderClosed(ClassLoader cl) {
+        cliClassLoaders.add(new WeakReference<>(cl));
+    }
+
+    // Forcing the garbage collection takes time, the unloading is only checked in debug mode.
+    private void checkCliClassLoadersUnloaded() {
+        if (cliClassLoaders.isEmpty()) {
+            return;
+        }
+        if (!getLog().isDebugEnabled()) {
+            cliClassLoaders.clear();
+            return;
+        }
+        try {
+            if (CLIClassLoader.awaitUnloaded(cliClassLoaders)) {
+                debug("The CLI class loaders have been unloaded");
+            } else {
+                getLog().warn("The class loaders of the in-process CLI executions have not been unloaded, they are referenced by "
+                        + "the threads " + CLIClassLoader.getReferencingThreads(cliClassLoaders) + ". Set the 'jboss-fork-embedded' "
+                        + "plugin option to true to execute CLI in a forked process.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        cliClassLoaders.clear();
+    }
+
     public Level disableLog() {
         Logger l = Logger.getLogger("");
         Level level = l.getLevel();
@@ -1113,22 +1902,23 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
 
     private ConfigId willProvision(List<FeaturePack> featurePacks, GalleonBuilder provider)
             throws MojoExecutionException, ProvisioningException, IOException {
-        ProvisioningSpecifics specifics = Utils.getSpecifics(featurePacks, provider);
+        ProvisioningSpecifics specifics = Utils.getSpecifics(featurePacks, provider, featurePackCache);
         return willProvision(specifics);
     }
 
     protected abstract ConfigId willProvision(ProvisioningSpecifics specifics) throws MojoExecutionException;
 
-    private void provisionServer(Path home, Path outputProvisioningFile, Path workDir) throws ProvisioningException,
-            MojoExecutionException, IOException, XMLStreamException {
-        GalleonBuilder provider = new GalleonBuilder();
-        provider.addArtifactResolver(artifactResolver);
-
+    private GalleonProvisioningConfig buildProvisioningConfig(GalleonBuilder provider) throws ProvisioningException,
+            MojoExecutionException, IOException {
         // Prior to build the config, sub classes could have to inject content to the config according to the
         // provisioned FP.
         normalizeFeaturePackList();
         ConfigId defaultConfig = willProvision(featurePacks, provider);
-        GalleonProvisioningConfig config = buildGalleonConfig(provider, defaultConfig);
+        return buildGalleonConfig(provider, defaultConfig);
+    }
+
+    private void provisionServer(GalleonBuilder provider, GalleonProvisioningConfig config, Path home, Path outputProvisioningFile,
+            Path workDir, FileLinker linker) throws ProvisioningException, MojoExecutionException, IOException, XMLStreamException {
         try (Provisioning pm = provider.newProvisioningBuilder(config)
                 .setInstallationHome(home)
                 .setMessageWriter(new MvnMessageWriter(getLog()))
@@ -1162,8 +1952,21 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
             } catch (Exception ex) {
                 throw new MojoExecutionException(ex);
             }
+            if (artifactPrefetchThreads > 0) {
+                prefetchArtifacts(mavenUpgrade == null ? ScannedModules.scanProvisionedArtifacts(pm, newConfig)
+                        : mavenUpgrade.getScannedModules());
+            }
             PluginProgressTracker.initTrackers(pm, new MavenJBossLogger(getLog()));
-            pm.provision(newConfig);
+            if (linker.getMode() == FileLinker.Mode.COPY || newConfig.hasOption(JBOSS_MAVEN_DIST)) {
+                pm.provision(newConfig);
+            } else {
+                // The JBoss Modules artifacts are not copied by the provisioning, they are linked afterward.
+                pm.provision(GalleonProvisioningConfig.builder(newConfig).addOption(JBOSS_MAVEN_DIST, "true").build());
+                linkModuleArtifacts(linker, home);
+                if (recordState) {
+                    pm.storeProvisioningConfig(newConfig, PathsUtils.getProvisioningXml(home));
+                }
+            }
 
             if (!recordState) {
                 Path file = home.resolve(PLUGIN_PROVISIONING_FILE);
@@ -1172,6 +1975,300 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
         }
     }
 
+    private void prefetchArtifacts(ScannedModules modules) throws MojoExecutionException {
+        Map<String, String> artifacts = new HashMap<>(modules.getProvisionedArtifacts());
+        // Keys of the feature-pack artifact versions: groupId:artifactId[::classifier]
+        for (OverriddenArtifact overridden : overriddenServerArtifacts) {
+            String classifier = overridden.getClassifier();
+            artifacts.remove(overridden.getGroupId() + ":" + overridden.getArtifactId()
+                    + (classifier == null || classifier.isEmpty() ? "" : "::" + classifier));
+        }
+        long start = System.currentTimeMillis();
+        try {
+            int resolved = new ArtifactPrefetcher(artifactResolver, artifactPrefetchThreads, getLog()).prefetch(artifacts.values());
+            getLog().info("Prefetched " + resolved + " server artifacts in " + (System.currentTimeMillis() - start) + "ms");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while prefetching the server artifacts", ex);
+        }
+    }
+
+    private boolean reuseConfiguredServer(Path contentRoot, String buildDigest) throws MojoExecutionException {
+        IncrementalBuildState state;
+        try {
+            state = IncrementalBuildState.load(contentRoot);
+        } catch (IOException ex) {
+            throw new MojoExecutionException("Failed to read the build state in " + contentRoot, ex);
+        }
+        // The exploded output has no server zip, the configured server is used.
+        Path server = isExplodedOutput() ? contentRoot.resolve("wildfly") : contentRoot.resolve("jar-content").resolve(ServerZipper.SERVER_ZIP);
+        if (state == null || !buildDigest.equals(state.getDigest()) || Files.notExists(server)) {
+            debug("No reusable server found in %s for build digest %s", contentRoot, buildDigest);
+            return false;
+        }
+        getLog().info("Build inputs are unchanged, reusing the server configured in " + contentRoot);
+        scannedArtifacts = state.getScannedArtifacts();
+        return true;
+    }
+
+    private List<ServerStore> getServerStores() {
+        long maxSize = serverStoreMaxSize * 1024 * 1024;
+        List<ServerStore> stores = new ArrayList<>();
+        stores.add(new ServerStore(resolvePath(serverStoreDir.toPath()), maxSize));
+        if (serverStoreSharedDir != null) {
+            stores.add(new ServerStore(resolvePath(serverStoreSharedDir.toPath()), maxSize));
+        }
+        return stores;
+    }
+
+    private boolean restoreStoredServer(String provisioningDigest, Path provisioningFile) throws IOException {
+        List<ServerStore> stores = getServerStores();
+        for (int i = 0; i < stores.size(); i++) {
+            ServerStore store = stores.get(i);
+            ScannedArtifacts artifacts = store.restore(provisioningDigest, wildflyDir, provisioningFile);
+            if (artifacts != null) {
+                getLog().info("Server restored from the server store " + store.getRoot());
+                scannedArtifacts = artifacts;
+                // Populate the tiers that missed.
+                for (int j = 0; j < i; j++) {
+                    stores.get(j).publish(provisioningDigest, wildflyDir, provisioningFile, artifacts);
+                }
+                return true;
+            }
+        }
+        debug("No server found in the server store for provisioning digest %s", provisioningDigest);
+        return false;
+    }
+
+    private void storeServer(String provisioningDigest, Path provisioningFile) throws IOException {
+        for (ServerStore store : getServerStores()) {
+            store.publish(provisioningDigest, wildflyDir, provisioningFile, scannedArtifacts);
+        }
+        getLog().info("Provisioned server stored in the server store");
+    }
+
+    private void linkModuleArtifacts(FileLinker linker, Path home) throws IOException, MavenUniverseException {
+        ModuleArtifactLinker moduleLinker = new ModuleArtifactLinker(linker, artifactResolver);
+        moduleLinker.link(home.resolve("modules"));
+        getLog().info("Linked " + moduleLinker.getLinked() + " server artifacts to the local Maven repository, copied "
+                + moduleLinker.getCopied());
+    }
+
+    private boolean restoreSharedServer(Path contentRoot, String buildDigest) throws MojoExecutionException {
+        if (sharedServerCacheSize <= 0 || !SharedServerCache.contains(buildDigest)) {
+            return false;
+        }
+        try {
+            if (Files.exists(contentRoot)) {
+                deleteDir(contentRoot);
+            }
+            IoUtils.recursiveDelete(contentRoot);
+            if (!SharedServerCache.restore(buildDigest, contentRoot)) {
+                return false;
+            }
+        } catch (IOException ex) {
+            throw new MojoExecutionException("Failed to restore the server from the shared cache", ex);
+        }
+        getLog().info("Server restored from a previous execution with identical build inputs");
+        return reuseConfiguredServer(contentRoot, buildDigest);
+    }
+
+    private String computeBuildDigest(GalleonProvisioningConfig config)
+            throws ProvisioningException, MojoExecutionException, IOException {
+        BuildDigest digest = new BuildDigest();
+        digest.add("goal", getClass().getName());
+        try {
+            digest.addFileStats("plugin", Paths.get(getClass().getProtectionDomain().getCodeSource().getLocation().toURI()));
+        } catch (URISyntaxException ex) {
+            throw new IOException(ex);
+        }
+        // The description of the feature-packs, configurations and options, in their order.
+        digest.add("provisioning", config);
+        for (GalleonFeaturePackConfig fp : config.getFeaturePackDeps()) {
+            FeaturePackLocation location = fp.getLocation();
+            digest.add("feature-pack", location);
+            if (!isChannelsProvisioning() && location.isMavenCoordinates() && location.getBuild() != null && !location.getBuild().isEmpty()) {
+                // A SNAPSHOT can be re-installed with the same size and time.
+                if (location.getBuild().endsWith(SNAPSHOT)) {
+                    digest.addFile("feature-pack-file", getFeaturePackFile(location));
+                } else {
+                    digest.addFileStats("feature-pack-file", getFeaturePackFile(location));
+                }
+            }
+        }
+        for (OverriddenArtifact artifact : overriddenServerArtifacts) {
+            digest.add("overridden-artifact", artifact.getGroupId() + ":" + artifact.getArtifactId() + ":"
+                    + artifact.getVersion() + ":" + artifact.getClassifier() + ":" + artifact.getType());
+        }
+        Path localRepository = repoSession.getLocalRepository().getBasedir().toPath();
+        for (Artifact artifact : project.getArtifacts()) {
+            digest.add("dependency", artifact);
+            addDependencyContent(digest, artifact, localRepository);
+        }
+        if (!addChannelInputs(digest, "incremental build")) {
+            return null;
+        }
+        for (CliSession session : cliSessions) {
+            for (String script : session.getScriptFiles()) {
+                digest.addFile("cli-script", resolvePath(Paths.get(script)));
+            }
+            digest.addFile("cli-properties", session.getPropertiesFile() == null ? null : resolvePath(Paths.get(session.getPropertiesFile())));
+            digest.add("cli-resolve-expressions", session.getResolveExpression());
+        }
+        for (String extraContent : extraServerContentDirs) {
+            digest.addDirectory("extra-content", resolvePath(Paths.get(extraContent)));
+        }
+        digest.addFile("boot-logging-config", bootLoggingConfig == null ? null : resolvePath(bootLoggingConfig.toPath()));
+        digest.add("hollow", hollowJar);
+        if (!hollowJar) {
+            digest.add("context-root", contextRoot);
+            digest.add("packaging", project.getPackaging());
+            File deployment = validateProjectFile();
+            digest.add("deployment-name", deployment.getName());
+            // The layered deployment is not part of the server, a change only re-creates the deployment layer.
+            digest.add("layered-output", layeredOutput);
+            if (!layeredOutput) {
+                digest.addFile("deployment", deployment.toPath());
+            }
+        }
+        digest.add("record-state", recordState);
+        digest.add("compression-level", compressionLevel);
+        digest.add("store-compressed-entries", storeCompressedEntries);
+        digest.add("output-timestamp", outputTimestamp);
+        digest.add("server-checksums", serverChecksums);
+        digest.add("jandex-index", jandexIndex);
+        digest.add("jandex-modules", jandexModules);
+        digest.add("offline-server-config", offlineServerConfig);
+        addBuildDigestInputs(digest);
+        return digest.toHex();
+    }
+
+    /**
+     * The released artifacts of the local Maven repository are identified by their coordinates. The content of the
+     * SNAPSHOT artifacts and of the artifacts of the reactor (eg: a module output directory) can change for the same
+     * coordinates, it is added.
+     */
+    private static void addDependencyContent(BuildDigest digest, Artifact artifact, Path localRepository) throws IOException {
+        File file = artifact.getFile();
+        if (file == null) {
+            return;
+        }
+        Path path = file.toPath().toAbsolutePath();
+        if (!artifact.isSnapshot() && path.startsWith(localRepository.toAbsolutePath())) {
+            return;
+        }
+        if (Files.isDirectory(path)) {
+            digest.addDirectory("dependency-content", path);
+        } else {
+            digest.addFile("dependency-content", path);
+        }
+    }
+
+    /**
+     * @return false if a channel manifest can change, the digest doesn't identify the provisioned server.
+     */
+    private boolean addChannelInputs(BuildDigest digest, String feature) throws IOException {
+        if (!isChannelsProvisioning()) {
+            return true;
+        }
+        for (ChannelConfiguration channel : channels) {
+            ChannelManifestCoordinate manifest = channel.getManifest();
+            if (manifest.getUrl() != null) {
+                if (!"file".equals(manifest.getUrl().getProtocol())) {
+                    getLog().info("Channel manifest " + manifest.getUrl() + " can change, " + feature + " is disabled");
+                    return false;
+                }
+                try {
+                    digest.addFile("channel", Paths.get(manifest.getUrl().toURI()));
+                } catch (URISyntaxException ex) {
+                    throw new IOException(ex);
+                }
+            } else {
+                if (manifest.getVersion() == null) {
+                    getLog().info("Channel manifest " + manifest.getGroupId() + ":" + manifest.getArtifactId()
+                            + " has no version, " + feature + " is disabled");
+                    return false;
+                }
+                digest.add("channel", manifest);
+            }
+        }
+        return true;
+    }
+
+    private Path getFeaturePackFile(FeaturePackLocation location) throws ProvisioningException, MojoExecutionException, IOException {
+        String[] parts = location.getProducerName().split(":");
+        MavenArtifact artifact = new MavenArtifact();
+        artifact.setGroupId(parts[0]);
+        artifact.setArtifactId(parts[1]);
+        artifact.setClassifier(parts.length > 2 ? parts[2] : null);
+        artifact.setExtension(parts.length > 3 && !parts[3].isEmpty() ? parts[3] : "zip");
+        artifact.setVersion(location.getBuild());
+        String coords = artifact.getCoordsAsString();
+        Path path = featurePackCache.getPath(coords);
+        if (path == null) {
+            path = resolveArtifact(artifact);
+            featurePackCache.putPath(coords, path);
+        }
+        return path;
+    }
+
+    /**
+     * The digest of the inputs of the provisioned server, before any CLI execution or deployment. Unlike the build
+     * digest, it doesn't depend on the project, projects that provision the same server share it. Released
+     * artifacts are identified by their coordinates, the content of the SNAPSHOT feature-packs is part of the digest.
+     *
+     * @return The digest or null if the provisioned server can't be identified (eg: channel manifest that can change).
+     */
+    private String computeProvisioningDigest(GalleonProvisioningConfig config)
+            throws ProvisioningException, MojoExecutionException, IOException {
+        BuildDigest digest = new BuildDigest();
+        try {
+            digest.add("plugin-version", retrievePluginVersion());
+        } catch (PlexusConfigurationException ex) {
+            throw new IOException(ex);
+        }
+        // The description of the feature-packs, configurations and options, in their order.
+        digest.add("provisioning", config);
+        for (GalleonFeaturePackConfig fp : config.getFeaturePackDeps()) {
+            FeaturePackLocation location = fp.getLocation();
+            digest.add("feature-pack", location);
+            if (!isChannelsProvisioning() && location.isMavenCoordinates() && location.getBuild() != null
+                    && location.getBuild().endsWith(SNAPSHOT)) {
+                digest.addFile("feature-pack-file", getFeaturePackFile(location));
+            }
+        }
+        for (OverriddenArtifact artifact : overriddenServerArtifacts) {
+            // Without version, the version is the one of the project dependency.
+            String version = artifact.getVersion();
+            if (version == null) {
+                Artifact dependency = artifactVersions.getArtifact(artifact);
+                if (dependency == null) {
+                    dependency = artifactVersions.getFeaturePackArtifact(artifact.getGroupId(), artifact.getArtifactId(),
+                            artifact.getClassifier());
+                }
+                version = dependency == null ? null : dependency.getVersion();
+            }
+            if (version == null || version.endsWith(SNAPSHOT)) {
+                getLog().info("Overridden artifact " + artifact.getGAC() + " can change, server store is disabled");
+                return null;
+            }
+            digest.add("overridden-artifact", artifact.getGroupId() + ":" + artifact.getArtifactId() + ":"
+                    + version + ":" + artifact.getClassifier() + ":" + artifact.getType());
+        }
+        if (!addChannelInputs(digest, "server store")) {
+            return null;
+        }
+        digest.add("record-state", recordState);
+        return digest.toHex();
+    }
+
+    /**
+     * Sub classes that alter the server configuration add the inputs of their configuration to the build digest.
+     */
+    protected void addBuildDigestInputs(BuildDigest digest) throws IOException {
+
+    }
+
     // Get Artifact, syntax comply with WildFly feature-pack versions file.
     static Artifact getArtifact(String str) {
         final String[] parts = str.split(":");
@@ -1203,20 +2300,73 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
         }
     }
 
-    private void deploy(List<String> commands) throws MojoExecutionException {
-        if (hollowJar) {
-            getLog().info("Hollow jar, No application deployment added to server.");
+    private void indexServerModules() throws IOException {
+        if (!jandexIndex || jandexModules.isEmpty()) {
             return;
         }
-        File f = validateProjectFile();
+        JandexIndexer indexer = new JandexIndexer(JandexIndexer.getIndexVersion(wildflyDir));
+        for (String module : jandexModules) {
+            List<Path> moduleDirs = findModuleDirs(module);
+            if (moduleDirs.isEmpty()) {
+                getLog().warn("Module " + module + " not found in the server, it is not indexed.");
+                continue;
+            }
+            int count = 0;
+            for (Path moduleDir : moduleDirs) {
+                try (Stream<Path> stream = Files.list(moduleDir)) {
+                    for (Path jar : (Iterable<Path>) stream.filter(p -> p.getFileName().toString().endsWith("." + JAR))::iterator) {
+                        if (indexer.indexJar(jar)) {
+                            count++;
+                        }
+                    }
+                }
+            }
+            debug("Added Jandex index to %s JAR(s) of module %s", count, module);
+        }
+    }
 
-        String runtimeName = f.getName();
-        if (project.getPackaging().equals(WAR) || runtimeName.endsWith(WAR)) {
-            if (contextRoot) {
-                runtimeName = "ROOT." + WAR;
+    // module name [:slot], the module can be present in more than one layer or add-on.
+    private List<Path> findModuleDirs(String module) throws IOException {
+        int colon = module.indexOf(':');
+        String name = colon < 0 ? module : module.substring(0, colon);
+        String slot = colon < 0 ? "main" : module.substring(colon + 1);
+        Path relative = Paths.get(name.replace('.', '/')).resolve(slot);
+        List<Path> dirs = new ArrayList<>();
+        Path modules = wildflyDir.resolve("modules");
+        if (Files.exists(modules)) {
+            try (Stream<Path> stream = Files.walk(modules)) {
+                stream.filter(p -> p.getFileName().toString().equals("module.xml") && p.getParent().endsWith(relative))
+                        .forEach(p -> dirs.add(p.getParent()));
             }
         }
-        commands.add("deploy " + f.getAbsolutePath() + " --name=" + f.getName() + " --runtime-name=" + runtimeName);
+        return dirs;
+    }
+
+    private Path getDeploymentContent(File deployment) throws IOException {
+        if (!jandexIndex) {
+            return deployment.toPath();
+        }
+        Path indexedDir = wildflyDir.getParent().resolve("indexed-deployment");
+        IoUtils.recursiveDelete(indexedDir);
+        Path content = Files.createDirectories(indexedDir).resolve(deployment.getName());
+        new JandexIndexer(JandexIndexer.getIndexVersion(wildflyDir)).indexDeployment(deployment.toPath(), content);
+        return content;
+    }
+
+    private void deploy(List<String> commands) throws MojoExecutionException, IOException {
+        if (hollowJar) {
+            getLog().info("Hollow jar, No application deployment added to server.");
+            return;
+        }
+        if (isLayeredDeployment()) {
+            getLog().info("Layered output, the application deployment is added to the deployment layer.");
+            return;
+        }
+        File f = validateProjectFile();
+        String runtimeName = getDeploymentRuntimeName(f);
+        Path content = getDeploymentContent(f);
+        deploymentContent = content;
+        commands.add("deploy " + content.toAbsolutePath() + " --name=" + f.getName() + " --runtime-name=" + runtimeName);
     }
 
     private OverriddenArtifact getOverriddenArtifact(String grpId, String artifactId) {
@@ -1230,17 +2380,15 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
         return ret;
     }
 
-    private void buildJar(Path contentDir, Path jarFile) throws MojoExecutionException, IOException {
+    private void buildJar(Path contentDir, Path jarFile, CompressionPolicy compressionPolicy, ReproducibleOutput reproducibleOutput)
+            throws MojoExecutionException, IOException {
         Path rtJarFile = resolveArtifact(scannedArtifacts.getBoot());
         // Check if that is an older server for which we can't upgrade the jboss-modules dependency.
-        Path contentRoot = Paths.get(project.getBuild().getDirectory()).resolve(bootableJarBuildArtifacts);
-        Path tmpDir = contentRoot.resolve("tmp_runtime");
-        Files.createDirectories(tmpDir);
-        ZipUtils.unzip(rtJarFile, tmpDir);
         OverriddenArtifact modules = getOverriddenArtifact(BootableJarSupport.JBOSS_MODULES_GROUP_ID, BootableJarSupport.JBOSS_MODULES_ARTIFACT_ID);
-        Path jbossModulesDependency = tmpDir.resolve("META-INF").resolve("maven").resolve(BootableJarSupport.JBOSS_MODULES_GROUP_ID).
-                resolve(BootableJarSupport.JBOSS_MODULES_ARTIFACT_ID).resolve("pom.xml");
-        if (Files.exists(jbossModulesDependency)) {
+        String jbossModulesDependency = "META-INF/maven/" + BootableJarSupport.JBOSS_MODULES_GROUP_ID + "/"
+                + BootableJarSupport.JBOSS_MODULES_ARTIFACT_ID + "/pom.xml";
+        Path jbossModulesFile = null;
+        if (BootableJarAssembler.containsEntry(rtJarFile, jbossModulesDependency)) {
             if (modules != null) {
                 getLog().warn("Bootable JAR dependency on jboss-modules can't be upgraded, you must use a more recent version of the server.");
             }
@@ -1248,29 +2396,9 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
             if (modules != null) {
                 scannedArtifacts.getJbossModules().setVersion(modules.getVersion());
             }
-            Path jbossModulesFile = resolveArtifact(scannedArtifacts.getJbossModules());
-            ZipUtils.unzip(jbossModulesFile, contentDir);
-        }
-        ZipUtils.unzip(rtJarFile, contentDir);
-        updateManifest(contentDir);
-        ZipUtils.zip(contentDir, jarFile);
-    }
-
-    private void updateManifest(Path target) throws IOException {
-        Path targetMetaInf = target.resolve("META-INF");
-        Path targetManifestPath = targetMetaInf.resolve("MANIFEST.MF");
-        boolean updated;
-        Manifest manifest;
-        try (FileInputStream stream = new FileInputStream(targetManifestPath.toFile())) {
-            manifest = new Manifest(stream);
-            updated = updateManifest(manifest);
-        }
-        if (updated) {
-            Files.deleteIfExists(targetManifestPath);
-            try (FileOutputStream out = new FileOutputStream(targetManifestPath.toFile())) {
-                manifest.write(out);
-            }
+            jbossModulesFile = resolveArtifact(scannedArtifacts.getJbossModules());
         }
+        new BootableJarAssembler(rtJarFile, jbossModulesFile, contentDir, compressionPolicy, reproducibleOutput).assemble(jarFile, this::updateManifest);
     }
 
     public String retrievePluginVersion() throws PlexusConfigurationException, MojoExecutionException {
@@ -1365,7 +2493,17 @@ public abstract class AbstractBuildBootableJarMojo extends AbstractMojo {
                 .setVersion(coordinate.getVersion())
                 .setExtension(coordinate.getExtension())
                 .setClassifier(coordinate.getClassifier());
-        artifactResolver.resolve(artifact);
-        return artifact.getPath();
+        String coords = artifact.getCoordsAsString();
+        Path path = featurePackCache.getPath(coords);
+        if (path == null) {
+            artifactResolver.resolve(artifact);
+            path = artifact.getPath();
+            featurePackCache.putPath(coords, path);
+        }
+        return path;
+    }
+
+    GalleonFeaturePackDescription getFeaturePackDescription(Path featurePack) throws ProvisioningException {
+        return featurePackCache.getDescription(featurePack);
     }
 }
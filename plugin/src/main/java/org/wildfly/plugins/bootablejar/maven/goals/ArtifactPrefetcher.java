@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.plugin.logging.Log;
+import org.jboss.galleon.universe.maven.MavenArtifact;
+import org.jboss.galleon.universe.maven.repo.MavenRepoManager;
+
+/**
+ * Resolves the artifacts of the server concurrently before the server is provisioned. Galleon resolves the artifacts
+ * one at a time during provisioning, they are then found in the local Maven repository. A failed resolution is
+ * ignored, the error is reported when the artifact is resolved during provisioning. The channel resolver resolves
+ * each thread share of the artifacts in a single batch.
+ *
+ * @author jdenise
+ */
+final class ArtifactPrefetcher {
+
+    private final MavenRepoManager resolver;
+    private final int threads;
+    private final Log log;
+
+    ArtifactPrefetcher(MavenRepoManager resolver, int threads, Log log) {
+        this.resolver = resolver;
+        this.threads = threads;
+        this.log = log;
+    }
+
+    /**
+     * Resolve the artifacts.
+     *
+     * @param artifacts The artifacts, {@code groupId:artifactId:version:classifier:extension} strings.
+     * @return The number of resolved artifacts.
+     */
+    int prefetch(Collection<String> artifacts) throws InterruptedException {
+        Set<String> unique = new TreeSet<>();
+        for (String artifact : artifacts) {
+            // Not known (optional artifacts) or not resolvable.
+            if (artifact != null && !artifact.contains(":unknown:") && artifact.split(":").length == 5) {
+                unique.add(artifact);
+            }
+        }
+        if (unique.isEmpty()) {
+            return 0;
+        }
+        int poolSize = Math.min(threads, unique.size());
+        List<List<MavenArtifact>> batches = new ArrayList<>();
+        boolean batch = resolver instanceof ChannelMavenArtifactRepositoryManager;
+        int i = 0;
+        for (String str : unique) {
+            if (batches.size() < (batch ? poolSize : unique.size())) {
+                batches.add(new ArrayList<>());
+            }
+            batches.get(i++ % batches.size()).add(toArtifact(str));
+        }
+        AtomicInteger resolved = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize, new PrefetchThreadFactory());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (List<MavenArtifact> list : batches) {
+                futures.add(executor.submit(() -> {
+                    resolved.addAndGet(resolve(list));
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    log.debug("Failed to prefetch artifact", ex.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return resolved.get();
+    }
+
+    private static MavenArtifact toArtifact(String str) {
+        String[] parts = str.split(":");
+        return new MavenArtifact()
+                .setGroupId(parts[0])
+                .setArtifactId(parts[1])
+                .setVersion(parts[2])
+                .setClassifier(parts[3])
+                .setExtension(parts[4]);
+    }
+
+    private int resolve(List<MavenArtifact> artifacts) {
+        if (artifacts.size() > 1) {
+            try {
+                resolver.resolveAll(artifacts);
+                return artifacts.size();
+            } catch (Exception ex) {
+                // Resolve the remaining ones one by one.
+            }
+        }
+        int count = 0;
+        for (MavenArtifact artifact : artifacts) {
+            if (artifact.getPath() != null) {
+                count += 1;
+                continue;
+            }
+            try {
+                resolver.resolve(artifact);
+                count += 1;
+            } catch (Exception ex) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Failed to prefetch artifact " + artifact.getCoordsAsString() + ": " + ex.getLocalizedMessage());
+                }
+            }
+        }
+        return count;
+    }
+
+    private static final class PrefetchThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "bootable-jar-artifact-prefetch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
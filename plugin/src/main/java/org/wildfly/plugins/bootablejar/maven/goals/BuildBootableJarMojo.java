@@ -17,6 +17,7 @@
 package org.wildfly.plugins.bootablejar.maven.goals;
 
 import org.wildfly.plugins.bootablejar.maven.cloud.CloudConfig;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.jar.Manifest;
@@ -27,6 +28,7 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.jboss.galleon.config.ConfigId;
+import org.wildfly.plugins.bootablejar.maven.common.BuildDigest;
 import org.wildfly.plugins.bootablejar.maven.common.Utils.ProvisioningSpecifics;
 
 /**
@@ -89,6 +91,21 @@ public class BuildBootableJarMojo extends AbstractBuildBootableJarMojo {
         }
     }
 
+    @Override
+    protected void addBuildDigestInputs(BuildDigest digest) throws IOException {
+        if (cloud != null) {
+            cloud.addBuildDigestInputs(digest);
+        }
+    }
+
+    @Override
+    protected void checkExplodedOutput() throws MojoExecutionException {
+        if (cloud != null) {
+            // The cloud extension is executed by the bootable JAR runtime.
+            throw new MojoExecutionException("The cloud configuration requires the " + JAR + " output mode");
+        }
+    }
+
     @Override
     protected void copyExtraContentInternal(Path wildflyDir, Path contentDir) throws Exception {
         if (cloud != null) {
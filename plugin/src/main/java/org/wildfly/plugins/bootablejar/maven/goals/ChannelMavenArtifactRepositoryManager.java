@@ -23,10 +23,12 @@ import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -43,6 +45,7 @@ import org.jboss.galleon.universe.maven.MavenArtifact;
 import org.jboss.galleon.universe.maven.MavenUniverseException;
 import org.jboss.galleon.universe.maven.repo.MavenRepoManager;
 import org.jboss.galleon.util.ZipUtils;
+import org.wildfly.channel.ArtifactCoordinate;
 import org.wildfly.channel.ArtifactTransferException;
 import org.wildfly.channel.Channel;
 import org.wildfly.channel.ChannelManifest;
@@ -54,6 +57,7 @@ import org.wildfly.channel.VersionResult;
 import org.wildfly.channel.maven.VersionResolverFactory;
 import static org.wildfly.channel.maven.VersionResolverFactory.DEFAULT_REPOSITORY_MAPPER;
 import org.wildfly.channel.spi.ChannelResolvable;
+import org.wildfly.channel.spi.MavenVersionsResolver;
 import org.wildfly.prospero.metadata.ManifestVersionRecord;
 import org.wildfly.prospero.metadata.ManifestVersionResolver;
 import org.wildfly.prospero.metadata.ProsperoMetadataUtils;
@@ -68,11 +72,24 @@ public class ChannelMavenArtifactRepositoryManager implements MavenRepoManager,
     private final Log log;
     private final Path localCachePath;
     private final RepositorySystem system;
+    private final ResolutionTelemetry telemetry;
+    // The caches are keyed by the requested coordinates, see getKey.
+    private final Map<String, org.wildfly.channel.MavenArtifact> resolved = new ConcurrentHashMap<>();
+    private final Map<String, NoStreamFoundException> noStreamFound = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> fpChannelRequirements = new ConcurrentHashMap<>();
 
     public ChannelMavenArtifactRepositoryManager(List<ChannelConfiguration> channels,
             RepositorySystem system,
             RepositorySystemSession contextSession,
             List<RemoteRepository> repositories, Log log, boolean offline) throws MalformedURLException, UnresolvedMavenArtifactException, MojoExecutionException {
+        this(channels, system, contextSession, repositories, log, offline, null);
+    }
+
+    ChannelMavenArtifactRepositoryManager(List<ChannelConfiguration> channels,
+            RepositorySystem system,
+            RepositorySystemSession contextSession,
+            List<RemoteRepository> repositories, Log log, boolean offline, ResolutionTelemetry telemetry)
+            throws MalformedURLException, UnresolvedMavenArtifactException, MojoExecutionException {
         if (channels.isEmpty()) {
             throw new MojoExecutionException("No channel specified.");
         }
@@ -80,6 +97,9 @@ public class ChannelMavenArtifactRepositoryManager implements MavenRepoManager,
         DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
         session.setLocalRepositoryManager(contextSession.getLocalRepositoryManager());
         session.setOffline(offline);
+        if (telemetry != null) {
+            session.setTransferListener(telemetry);
+        }
         Map<String, RemoteRepository> mapping = new HashMap<>();
         for (RemoteRepository r : repositories) {
             mapping.put(r.getId(), r);
@@ -98,63 +118,166 @@ public class ChannelMavenArtifactRepositoryManager implements MavenRepoManager,
         channelSession = new ChannelSession(this.channels, factory);
         localCachePath = contextSession.getLocalRepositoryManager().getRepository().getBasedir().toPath();
         this.system = system;
+        this.telemetry = telemetry;
+    }
+
+    ChannelMavenArtifactRepositoryManager(List<Channel> channels, MavenVersionsResolver.Factory factory, Path localCachePath,
+            Log log, ResolutionTelemetry telemetry) {
+        this.log = log;
+        this.channels.addAll(channels);
+        channelSession = new ChannelSession(this.channels, factory);
+        this.localCachePath = localCachePath;
+        this.system = null;
+        this.telemetry = telemetry;
     }
 
     @Override
     public void resolve(MavenArtifact artifact) throws MavenUniverseException {
+        long start = System.nanoTime();
+        String key = getKey(artifact);
+        org.wildfly.channel.MavenArtifact result = resolved.get(key);
+        if (result == null) {
+            try {
+                result = doResolve(artifact);
+            } catch (MavenUniverseException ex) {
+                if (telemetry != null) {
+                    telemetry.failed(artifact, System.nanoTime() - start);
+                }
+                throw ex;
+            }
+            resolved.put(key, result);
+        }
+        setResolved(artifact, result);
+        if (telemetry != null) {
+            telemetry.resolved(artifact, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Resolve the artifacts with a single channel resolution. If an artifact is not found in the channels, the
+     * artifacts are resolved one by one.
+     */
+    @Override
+    public void resolveAll(Collection<MavenArtifact> artifacts) throws MavenUniverseException {
+        Map<String, List<MavenArtifact>> pending = new HashMap<>();
+        List<ArtifactCoordinate> coordinates = new ArrayList<>();
+        for (MavenArtifact artifact : artifacts) {
+            String key = getKey(artifact);
+            if (resolved.containsKey(key) || noStreamFound.containsKey(key) || isDirectlyResolved(artifact)) {
+                continue;
+            }
+            String gaec = artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getExtension() + ":"
+                    + (artifact.getClassifier() == null ? "" : artifact.getClassifier());
+            if (!pending.containsKey(gaec)) {
+                coordinates.add(new ArtifactCoordinate(artifact.getGroupId(), artifact.getArtifactId(),
+                        artifact.getExtension(), artifact.getClassifier(), artifact.getVersion()));
+            }
+            pending.computeIfAbsent(gaec, k -> new ArrayList<>()).add(artifact);
+        }
+        if (coordinates.size() > 1) {
+            long start = System.nanoTime();
+            try {
+                for (org.wildfly.channel.MavenArtifact result : channelSession.resolveMavenArtifacts(coordinates)) {
+                    String gaec = result.getGroupId() + ":" + result.getArtifactId() + ":" + result.getExtension() + ":"
+                            + (result.getClassifier() == null ? "" : result.getClassifier());
+                    for (MavenArtifact artifact : pending.getOrDefault(gaec, List.of())) {
+                        resolved.put(getKey(artifact), result);
+                    }
+                }
+            } catch (UnresolvedMavenArtifactException ex) {
+                // Resolved one by one, with the handling of the artifacts that are not in the channels.
+                log.debug("Batch resolution failed, resolving artifacts one by one: " + ex.getLocalizedMessage());
+            }
+            if (telemetry != null) {
+                telemetry.batch(System.nanoTime() - start);
+            }
+        }
+        for (MavenArtifact artifact : artifacts) {
+            resolve(artifact);
+        }
+    }
+
+    private void setResolved(MavenArtifact artifact, org.wildfly.channel.MavenArtifact result) {
+        artifact.setVersion(result.getVersion());
+        artifact.setPath(result.getFile().toPath());
+    }
+
+    private static String getKey(MavenArtifact artifact) {
+        return artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getExtension() + ":"
+                + (artifact.getClassifier() == null ? "" : artifact.getClassifier()) + ":" + artifact.getVersion();
+    }
+
+    private static boolean isDirectlyResolved(MavenArtifact artifact) {
+        return BOOTABLE_JAR_PLUGIN_GROUPID.equals(artifact.getGroupId())
+                && BOOTABLE_JAR_CLOUD_EXTENSION_ARTIFACTID.equals(artifact.getArtifactId());
+    }
+
+    private org.wildfly.channel.MavenArtifact doResolve(MavenArtifact artifact) throws MavenUniverseException {
         // This one is resolved directly.
-        if (BOOTABLE_JAR_PLUGIN_GROUPID.equals(artifact.getGroupId())
-                && BOOTABLE_JAR_CLOUD_EXTENSION_ARTIFACTID.equals(artifact.getArtifactId())) {
-            org.wildfly.channel.MavenArtifact mavenArtifact = channelSession.resolveDirectMavenArtifact(
+        if (isDirectlyResolved(artifact)) {
+            return channelSession.resolveDirectMavenArtifact(
                     artifact.getGroupId(), artifact.getArtifactId(), artifact.getExtension(), artifact.getClassifier(),
                     artifact.getVersion());
-            artifact.setPath(mavenArtifact.getFile().toPath());
-            return;
         }
-        try {
-            resolveFromChannels(artifact);
-        } catch (ArtifactTransferException ex) {
-            throw new MavenUniverseException(ex.getLocalizedMessage(), ex);
-        } catch (NoStreamFoundException ex) {
-            boolean requireChannel = Boolean.parseBoolean(artifact.getMetadata().get(REQUIRE_CHANNEL_FOR_ALL_ARTIFACT));
-            if (!requireChannel) {
-                // Could be a feature-pack that could require to be resolved from a channel.
-                try {
-                    requireChannel = fpRequireChannel(artifact);
-                } catch (Exception exception) {
-                    log.error("Error attempting to read artifact as a feature-pack", exception);
-                    ex.addSuppressed(exception);
-                    throw new MavenUniverseException(ex.getLocalizedMessage(), ex);
-                }
+        String key = getKey(artifact);
+        NoStreamFoundException ex = noStreamFound.get(key);
+        if (ex == null) {
+            try {
+                return resolveFromChannels(artifact);
+            } catch (ArtifactTransferException e) {
+                throw new MavenUniverseException(e.getLocalizedMessage(), e);
+            } catch (NoStreamFoundException e) {
+                noStreamFound.put(key, e);
+                ex = e;
             }
-            if (!requireChannel) {
-                log.warn("Resolution of artifact " + artifact.getGroupId() + ":" +
-                        artifact.getArtifactId() + " failed using configured channels. Using original version.");
-                // unable to resolve the artifact through the channel.
-                // if the version is defined, let's resolve it directly
-                if (artifact.getVersion() == null) {
-                    log.error("No version provided.");
-                    throw new MavenUniverseException(ex.getLocalizedMessage(), ex);
-                }
-                try {
-                    log.warn("Using version " + artifact.getVersion() +
-                            " to resolve artifact " + artifact.getGroupId() + ":" +
-                            artifact.getArtifactId());
-                    org.wildfly.channel.MavenArtifact mavenArtifact = channelSession.resolveDirectMavenArtifact(
-                            artifact.getGroupId(), artifact.getArtifactId(), artifact.getExtension(), artifact.getClassifier(),
-                            artifact.getVersion());
-                    artifact.setPath(mavenArtifact.getFile().toPath());
-                } catch (UnresolvedMavenArtifactException e) {
-                    // if the artifact can not be resolved directly either, we abort
-                    throw new MavenUniverseException(e.getLocalizedMessage(), e);
-                }
-            } else {
+        }
+        boolean requireChannel = Boolean.parseBoolean(artifact.getMetadata().get(REQUIRE_CHANNEL_FOR_ALL_ARTIFACT));
+        if (!requireChannel) {
+            // Could be a feature-pack that could require to be resolved from a channel.
+            try {
+                requireChannel = fpRequireChannel(artifact);
+            } catch (Exception exception) {
+                log.error("Error attempting to read artifact as a feature-pack", exception);
+                ex.addSuppressed(exception);
+                throw new MavenUniverseException(ex.getLocalizedMessage(), ex);
+            }
+        }
+        if (!requireChannel) {
+            log.warn("Resolution of artifact " + artifact.getGroupId() + ":" +
+                    artifact.getArtifactId() + " failed using configured channels. Using original version.");
+            // unable to resolve the artifact through the channel.
+            // if the version is defined, let's resolve it directly
+            if (artifact.getVersion() == null) {
+                log.error("No version provided.");
                 throw new MavenUniverseException(ex.getLocalizedMessage(), ex);
             }
+            try {
+                log.warn("Using version " + artifact.getVersion() +
+                        " to resolve artifact " + artifact.getGroupId() + ":" +
+                        artifact.getArtifactId());
+                return channelSession.resolveDirectMavenArtifact(
+                        artifact.getGroupId(), artifact.getArtifactId(), artifact.getExtension(), artifact.getClassifier(),
+                        artifact.getVersion());
+            } catch (UnresolvedMavenArtifactException e) {
+                // if the artifact can not be resolved directly either, we abort
+                throw new MavenUniverseException(e.getLocalizedMessage(), e);
+            }
+        } else {
+            throw new MavenUniverseException(ex.getLocalizedMessage(), ex);
         }
     }
 
     private boolean fpRequireChannel(MavenArtifact artifact) throws Exception {
+        String key = getKey(artifact);
+        Boolean requireChannel = fpChannelRequirements.get(key);
+        if (requireChannel == null) {
+            requireChannel = readFpRequireChannel(artifact);
+            fpChannelRequirements.put(key, requireChannel);
+        }
+        return requireChannel;
+    }
+
+    private boolean readFpRequireChannel(MavenArtifact artifact) throws Exception {
         boolean requireChannel = false;
         if (artifact.getVersion() != null && artifact.getExtension() != null
                 && artifact.getExtension().equalsIgnoreCase("zip")) {
@@ -186,11 +309,9 @@ public class ChannelMavenArtifactRepositoryManager implements MavenRepoManager,
         return requireChannel;
     }
 
-    private void resolveFromChannels(MavenArtifact artifact) throws UnresolvedMavenArtifactException {
-        org.wildfly.channel.MavenArtifact result = channelSession.resolveMavenArtifact(artifact.getGroupId(),
+    private org.wildfly.channel.MavenArtifact resolveFromChannels(MavenArtifact artifact) throws UnresolvedMavenArtifactException {
+        return channelSession.resolveMavenArtifact(artifact.getGroupId(),
                 artifact.getArtifactId(), artifact.getExtension(), artifact.getClassifier(), artifact.getVersion());
-        artifact.setVersion(result.getVersion());
-        artifact.setPath(result.getFile().toPath());
     }
 
     public void done(Path home) throws MavenUniverseException, IOException {
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.jboss.galleon.util.IoUtils;
+
+/**
+ * A persistent cache of the server configurations resulting from the CLI
+ * executions. Entries are keyed by a digest of the CLI inputs (the server
+ * configuration before the CLI executions and the CLI commands) and contain
+ * the {@code standalone/configuration} and {@code standalone/data}
+ * directories of the configured server and the copy of the logging
+ * configuration replaced by the boot logging configuration. An entry is
+ * published atomically. The least recently used entries are evicted when the
+ * number of entries is above the bound of the cache.
+ *
+ * @author jdenise
+ */
+final class CliResultCache {
+
+    private static final String CONFIGURATION = "configuration";
+    private static final String DATA = "data";
+    private static final String LOGGING_FILE = "logging.properties";
+    // Directories being published or deleted.
+    private static final String TMP_PREFIX = ".tmp-";
+    private static final String DELETED_PREFIX = ".deleted-";
+
+    private final Path root;
+    private final int maxEntries;
+
+    CliResultCache(Path root, int maxEntries) {
+        this.root = root;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Restore the configured server.
+     *
+     * @param standalone The {@code standalone} directory of the server, its configuration and data directories are
+     * replaced.
+     * @param loggingFile The file in which the copy of the logging configuration is restored.
+     * @return true if an entry exists for the digest.
+     */
+    boolean restore(String digest, Path standalone, Path loggingFile) throws IOException {
+        Path entry = root.resolve(digest);
+        if (Files.notExists(entry.resolve(CONFIGURATION))) {
+            return false;
+        }
+        // Copied first, the server is left unchanged if the entry is evicted by a concurrent build.
+        Path copy = standalone.resolveSibling(standalone.getFileName() + TMP_PREFIX + UUID.randomUUID());
+        try {
+            try {
+                IoUtils.copy(entry, copy);
+            } catch (IOException ex) {
+                if (Files.notExists(entry)) {
+                    return false;
+                }
+                throw ex;
+            }
+            IoUtils.recursiveDelete(standalone.resolve(CONFIGURATION));
+            IoUtils.recursiveDelete(standalone.resolve(DATA));
+            Files.move(copy.resolve(CONFIGURATION), standalone.resolve(CONFIGURATION));
+            if (Files.exists(copy.resolve(DATA))) {
+                Files.move(copy.resolve(DATA), standalone.resolve(DATA));
+            }
+            if (Files.exists(copy.resolve(LOGGING_FILE))) {
+                Files.move(copy.resolve(LOGGING_FILE), loggingFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            IoUtils.recursiveDelete(copy);
+        }
+        // The modification time of the entry directory orders the entries for eviction.
+        Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        return true;
+    }
+
+    /**
+     * Store the configured server, nothing is done if an entry already exists
+     * for the digest.
+     */
+    void store(String digest, Path standalone, Path loggingFile) throws IOException {
+        Path entry = root.resolve(digest);
+        if (Files.exists(entry)) {
+            return;
+        }
+        Files.createDirectories(root);
+        Path tmp = root.resolve(TMP_PREFIX + UUID.randomUUID());
+        try {
+            IoUtils.copy(standalone.resolve(CONFIGURATION), tmp.resolve(CONFIGURATION));
+            if (Files.exists(standalone.resolve(DATA))) {
+                IoUtils.copy(standalone.resolve(DATA), tmp.resolve(DATA));
+            }
+            if (Files.exists(loggingFile)) {
+                Files.copy(loggingFile, tmp.resolve(LOGGING_FILE));
+            }
+            try {
+                Files.move(tmp, entry, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException ex) {
+                // Stored by a concurrent build.
+            } catch (IOException ex) {
+                if (Files.notExists(entry)) {
+                    throw ex;
+                }
+            }
+        } finally {
+            IoUtils.recursiveDelete(tmp);
+        }
+        evict(digest);
+    }
+
+    private void evict(String stored) throws IOException {
+        List<Path> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root)) {
+            for (Path p : stream) {
+                String name = p.getFileName().toString();
+                if (name.startsWith(DELETED_PREFIX)) {
+                    IoUtils.recursiveDelete(p);
+                } else if (!name.startsWith(TMP_PREFIX) && !name.equals(stored) && Files.isDirectory(p)) {
+                    entries.add(p);
+                }
+            }
+        }
+        // Least recently used first, the stored entry is kept.
+        entries.sort(Comparator.comparingLong(CliResultCache::lastModified));
+        for (int i = 0; i < entries.size() + 1 - maxEntries; i++) {
+            Path deleted = root.resolve(DELETED_PREFIX + UUID.randomUUID());
+            try {
+                Files.move(entries.get(i), deleted, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException ex) {
+                // Already evicted by a concurrent build.
+                continue;
+            }
+            IoUtils.recursiveDelete(deleted);
+        }
+    }
+
+    private static long lastModified(Path p) {
+        try {
+            return Files.getLastModifiedTime(p).toMillis();
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Static validation of the scripts of a CLI session, done before the server is provisioned. Checks the syntax of the
+ * operations, the pairing of the control flow commands and, when the expressions are resolved locally, that the
+ * expressions of the operations can be resolved from the properties file, the system properties or the environment.
+ * The properties of the server environment ({@code jboss.*}) are set by the embedded server, the other expressions that
+ * can't be resolved are reported as warnings, they can be defined while the script runs. The arguments of the other
+ * commands are not checked, the commands that are not built in the CLI (eg: custom commands added with
+ * {@code command add}) are reported as warnings. The scripts of a session are validated in order, as they are
+ * executed.
+ *
+ * @author jdenise
+ */
+final class CliScriptValidator {
+
+    private static final Set<String> COMMANDS = new HashSet<>(Arrays.asList(
+            "alias", "attachment", "batch", "catch", "cd", "clear", "clear-batch", "cls", "cn", "command",
+            "command-timeout", "connect", "connection-factory", "connection-info", "data-source", "deploy",
+            "deployment", "deployment-info", "deployment-overlay", "discard-batch", "done", "echo", "echo-dmr",
+            "edit-batch-line", "else", "embed-host-controller", "embed-server", "end-if", "end-try", "exit",
+            "finally", "for", "grep", "help", "history", "holdback-batch", "if", "jdbc-driver-info", "jms-queue",
+            "jms-topic", "list-batch", "ls", "module", "move-batch-line", "patch", "pwd", "q", "quit",
+            "read-attribute", "read-operation", "reload", "remove-batch-line", "run-batch", "security", "set",
+            "shutdown", "stop-embedded-server", "try", "unalias", "undeploy", "unset", "version",
+            "xa-data-source"));
+
+    private static final Pattern OPERATION_NAME = Pattern.compile("[A-Za-z][A-Za-z0-9_\\-]*");
+    private static final Pattern PARAMETER_NAME = Pattern.compile("!?[A-Za-z][A-Za-z0-9_\\-.]*");
+    // The properties of the server environment (eg: jboss.home.dir, jboss.server.log.dir) set by the embedded server.
+    private static final String SERVER_ENVIRONMENT_PREFIX = "jboss.";
+
+    private final Properties properties;
+    private final boolean resolveExpressions;
+    private final List<String> errors = new ArrayList<>();
+    private final List<String> warnings = new ArrayList<>();
+    private final Deque<String> blocks = new ArrayDeque<>();
+    private String blockLocation;
+    private String location;
+
+    CliScriptValidator(Properties properties, boolean resolveExpressions) {
+        this.properties = properties == null ? new Properties() : properties;
+        this.resolveExpressions = resolveExpressions;
+    }
+
+    /**
+     * Validate the lines of a script of the session.
+     *
+     * @param script The script name, used in the error messages.
+     * @param lines The script lines.
+     */
+    void validate(String script, List<String> lines) {
+        int num = 0;
+        for (String line : lines) {
+            num += 1;
+            String command = line.trim();
+            if (command.isEmpty() || command.startsWith("#")) {
+                continue;
+            }
+            location = script + ":" + num;
+            validateLine(command);
+        }
+    }
+
+    /**
+     * @return The errors found in the scripts of the session, including the blocks that are not closed.
+     */
+    List<String> getErrors() {
+        List<String> all = new ArrayList<>(errors);
+        if (!blocks.isEmpty()) {
+            all.add(blockLocation + ": " + blocks.peek() + " is not closed");
+        }
+        return all;
+    }
+
+    /**
+     * @return The commands that are not CLI built-in commands and the expressions that can't be resolved.
+     */
+    List<String> getWarnings() {
+        return warnings;
+    }
+
+    private void validateLine(String line) {
+        if (isOperation(line)) {
+            checkOperation(line);
+            return;
+        }
+        String name = line.split("\\s+", 2)[0];
+        String args = line.substring(name.length()).trim();
+        if (!COMMANDS.contains(name)) {
+            warnings.add(location + ": Unknown command " + name + ", the command is not checked");
+            return;
+        }
+        switch (name) {
+            case "if": {
+                checkOf(name, args);
+                open(name);
+                break;
+            }
+            case "for": {
+                checkOf(name, args.replaceFirst("\\s+in\\s+", " of "));
+                open(name);
+                break;
+            }
+            case "try": {
+                open(name);
+                break;
+            }
+            case "batch": {
+                if (blocks.contains("batch")) {
+                    error("batch is already active");
+                    return;
+                }
+                open(name);
+                break;
+            }
+            case "else": {
+                expect(name, "if", false);
+                break;
+            }
+            case "catch":
+            case "finally": {
+                expect(name, "try", false);
+                break;
+            }
+            case "end-if": {
+                expect(name, "if", true);
+                break;
+            }
+            case "end-try": {
+                expect(name, "try", true);
+                break;
+            }
+            case "done": {
+                expect(name, "for", true);
+                break;
+            }
+            case "run-batch":
+            case "discard-batch": {
+                expect(name, "batch", true);
+                break;
+            }
+            default: {
+                break;
+            }
+        }
+    }
+
+    private void open(String block) {
+        if (blocks.isEmpty()) {
+            blockLocation = location;
+        }
+        blocks.push(block);
+    }
+
+    private void expect(String command, String block, boolean close) {
+        if (!block.equals(blocks.peek())) {
+            error(command + " without " + block);
+            return;
+        }
+        if (close) {
+            blocks.pop();
+        }
+    }
+
+    private void checkOf(String command, String args) {
+        int i = indexOfTopLevel(args, " of ");
+        if (i < 0) {
+            error(command + " requires an operation");
+            return;
+        }
+        String operation = args.substring(i + 4).trim();
+        if (!isOperation(operation)) {
+            error(command + " requires an operation, found " + operation);
+            return;
+        }
+        checkOperation(operation);
+    }
+
+    private void checkOperation(String line) {
+        if (!checkBalanced(line)) {
+            return;
+        }
+        if (resolveExpressions) {
+            checkExpressions(line);
+        }
+        int sep = indexOfTopLevel(line, ":");
+        if (sep < 0) {
+            error("Missing operation name in " + line);
+            return;
+        }
+        for (String node : splitTopLevel(line.substring(0, sep), '/')) {
+            String segment = node.trim();
+            if (segment.isEmpty() || segment.equals(".") || segment.equals("..")) {
+                continue;
+            }
+            int eq = indexOfTopLevel(segment, "=");
+            if (eq <= 0 || eq == segment.length() - 1) {
+                error("Invalid address element " + segment + " in " + line);
+                return;
+            }
+        }
+        String operation = line.substring(sep + 1).trim();
+        int end = 0;
+        while (end < operation.length() && operation.charAt(end) != '(' && operation.charAt(end) != '{'
+                && !Character.isWhitespace(operation.charAt(end))) {
+            end += 1;
+        }
+        String name = operation.substring(0, end);
+        if (!OPERATION_NAME.matcher(name).matches()) {
+            error("Invalid operation name '" + name + "' in " + line);
+            return;
+        }
+        String rest = operation.substring(end).trim();
+        if (rest.startsWith("(")) {
+            int close = indexOfClosing(rest);
+            String params = rest.substring(1, close).trim();
+            if (!params.isEmpty()) {
+                for (String param : splitTopLevel(params, ',')) {
+                    int eq = indexOfTopLevel(param, "=");
+                    String paramName = (eq < 0 ? param : param.substring(0, eq)).trim();
+                    if (!PARAMETER_NAME.matcher(paramName).matches()) {
+                        error("Invalid parameter '" + param.trim() + "' in " + line);
+                        return;
+                    }
+                }
+            }
+            rest = rest.substring(close + 1).trim();
+        }
+        if (rest.startsWith("{")) {
+            rest = rest.substring(indexOfClosing(rest) + 1).trim();
+        }
+        if (!rest.isEmpty() && !rest.startsWith("|") && !rest.startsWith(">")) {
+            error("Unexpected content '" + rest + "' after operation in " + line);
+        }
+    }
+
+    private void checkExpressions(String line) {
+        int start = line.indexOf("${");
+        while (start >= 0) {
+            if (line.indexOf('}', start) < 0) {
+                error("Expression is not closed in " + line);
+                return;
+            }
+            start = line.indexOf("${", start + 2);
+        }
+        for (Expression expression : Expression.parse(line)) {
+            if (expression.hasDefault()) {
+                continue;
+            }
+            boolean resolved = false;
+            for (String key : expression.getKeys()) {
+                if (isDefined(key)) {
+                    resolved = true;
+                    break;
+                }
+            }
+            if (!resolved) {
+                warnings.add(location + ": Expression " + expression + " can't be resolved from the properties file, "
+                        + "the system properties or the environment");
+            }
+        }
+    }
+
+    private boolean isDefined(String key) {
+        if (key.startsWith("env.")) {
+            return System.getenv(key.substring(4)) != null;
+        }
+        return key.startsWith(SERVER_ENVIRONMENT_PREFIX) || properties.getProperty(key) != null
+                || System.getProperty(key) != null;
+    }
+
+    private boolean checkBalanced(String line) {
+        Deque<Character> stack = new ArrayDeque<>();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\') {
+                i += 1;
+                continue;
+            }
+            if (c == '"') {
+                quoted = !quoted;
+                continue;
+            }
+            if (quoted) {
+                continue;
+            }
+            if (c == '(' || c == '[' || c == '{') {
+                stack.push(c);
+            } else if (c == ')' || c == ']' || c == '}') {
+                char open = c == ')' ? '(' : c == ']' ? '[' : '{';
+                if (stack.isEmpty() || stack.pop() != open) {
+                    error("Unbalanced '" + c + "' in " + line);
+                    return false;
+                }
+            }
+        }
+        if (quoted) {
+            error("Quote is not closed in " + line);
+            return false;
+        }
+        if (!stack.isEmpty()) {
+            error("'" + stack.peek() + "' is not closed in " + line);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isOperation(String line) {
+        return line.startsWith("/") || line.startsWith(":") || line.startsWith("./") || line.startsWith("../");
+    }
+
+    /**
+     * Index of the first occurrence of the token outside of quotes and brackets, escaped characters are skipped.
+     */
+    private static int indexOfTopLevel(String str, String token) {
+        int depth = 0;
+        boolean quoted = false;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c == '\\') {
+                i += 1;
+                continue;
+            }
+            if (depth == 0 && !quoted && str.startsWith(token, i)) {
+                return i;
+            }
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && (c == '(' || c == '[' || c == '{')) {
+                depth += 1;
+            } else if (!quoted && (c == ')' || c == ']' || c == '}')) {
+                depth -= 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Index of the bracket that closes the bracket starting the string, the string is balanced.
+     */
+    private static int indexOfClosing(String str) {
+        int depth = 0;
+        boolean quoted = false;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c == '\\') {
+                i += 1;
+                continue;
+            }
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && (c == '(' || c == '[' || c == '{')) {
+                depth += 1;
+            } else if (!quoted && (c == ')' || c == ']' || c == '}')) {
+                depth -= 1;
+                if (depth == 0) {
+                    return i;
+                }
+            }
+        }
+        return str.length() - 1;
+    }
+
+    private static List<String> splitTopLevel(String str, char separator) {
+        List<String> parts = new ArrayList<>();
+        String remaining = str;
+        int i = indexOfTopLevel(remaining, String.valueOf(separator));
+        while (i >= 0) {
+            parts.add(remaining.substring(0, i));
+            remaining = remaining.substring(i + 1);
+            i = indexOfTopLevel(remaining, String.valueOf(separator));
+        }
+        parts.add(remaining);
+        return parts;
+    }
+
+    private void error(String message) {
+        errors.add(location + ": " + message);
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.wildfly.plugins.bootablejar.maven.goals;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -28,6 +29,7 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.wildfly.core.launcher.Launcher;
+import org.wildfly.plugins.bootablejar.maven.common.BuildDigest;
 
 /**
  * Build and start a bootable JAR for dev mode. In order to be able to shutdown
@@ -90,6 +92,12 @@ public final class DevBootableJarMojo extends AbstractDevBootableJarMojo {
         configureScanner(getDeploymentsDir(), commands);
     }
 
+    @Override
+    protected void addBuildDigestInputs(BuildDigest digest) throws IOException {
+        super.addBuildDigestInputs(digest);
+        digest.add("deployments", getDeploymentsDir());
+    }
+
     private void configureScanner(Path deployments, List<String> commands) {
         String deploymentPath = deployments.toString().replace("\\", "\\\\");
         commands.add("if (outcome == success) of /subsystem=deployment-scanner/scanner=default:read-resource()");
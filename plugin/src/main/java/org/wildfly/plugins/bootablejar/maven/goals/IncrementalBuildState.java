@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Properties;
+
+import org.jboss.galleon.universe.maven.MavenArtifact;
+import org.wildfly.plugin.tools.bootablejar.ScannedArtifacts;
+
+/**
+ * The state of a successful build stored in the build artifacts directory. It
+ * records the digest of the build inputs and the artifacts required to
+ * assemble the bootable JAR from the configured server.
+ *
+ * @author jdenise
+ */
+final class IncrementalBuildState {
+
+    static final String STATE_FILE = "bootable-jar-build.properties";
+
+    private static final String DIGEST = "digest";
+    private static final String BOOT = "boot";
+    private static final String JBOSS_MODULES = "jboss-modules";
+
+    private final String digest;
+    private final MavenArtifact boot;
+    private final MavenArtifact jbossModules;
+
+    private IncrementalBuildState(String digest, MavenArtifact boot, MavenArtifact jbossModules) {
+        this.digest = digest;
+        this.boot = boot;
+        this.jbossModules = jbossModules;
+    }
+
+    String getDigest() {
+        return digest;
+    }
+
+    ScannedArtifacts getScannedArtifacts() {
+        return new ScannedArtifacts(boot, jbossModules, Collections.emptySet());
+    }
+
+    /**
+     * @return The state or null if no complete state is found.
+     */
+    static IncrementalBuildState load(Path contentRoot) throws IOException {
+        Path file = contentRoot.resolve(STATE_FILE);
+        if (Files.notExists(file)) {
+            return null;
+        }
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        }
+        String digest = props.getProperty(DIGEST);
+        String boot = props.getProperty(BOOT);
+        String jbossModules = props.getProperty(JBOSS_MODULES);
+        if (digest == null || boot == null || jbossModules == null) {
+            return null;
+        }
+        return new IncrementalBuildState(digest, fromString(boot), fromString(jbossModules));
+    }
+
+    static void store(Path contentRoot, String digest, ScannedArtifacts artifacts) throws IOException {
+        Properties props = new Properties();
+        props.setProperty(DIGEST, digest);
+        props.setProperty(BOOT, toString(artifacts.getBoot()));
+        props.setProperty(JBOSS_MODULES, toString(artifacts.getJbossModules()));
+        try (OutputStream out = Files.newOutputStream(contentRoot.resolve(STATE_FILE))) {
+            props.store(out, "Bootable JAR build state");
+        }
+    }
+
+    // grpid:artifactId:version:[classifier]:extension
+    static String toString(MavenArtifact artifact) {
+        return artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion() + ":"
+                + (artifact.getClassifier() == null ? "" : artifact.getClassifier()) + ":" + artifact.getExtension();
+    }
+
+    static MavenArtifact fromString(String str) {
+        String[] parts = str.split(":", -1);
+        MavenArtifact artifact = new MavenArtifact();
+        artifact.setGroupId(parts[0]);
+        artifact.setArtifactId(parts[1]);
+        artifact.setVersion(parts[2]);
+        artifact.setClassifier(parts[3]);
+        artifact.setExtension(parts[4]);
+        return artifact;
+    }
+}
@@ -73,7 +73,7 @@ final class MavenUpgrade {
         mojo.debug("Top level feature-packs: %s", topLevels);
         mojo.debug("Resolved feature-packs: %s", resolvedFeaturePacks);
         for (Entry<String, Path> entry : resolvedFeaturePacks.entrySet()) {
-            GalleonFeaturePackDescription spec = Provisioning.getFeaturePackDescription(entry.getValue());
+            GalleonFeaturePackDescription spec = mojo.getFeaturePackDescription(entry.getValue());
             producerToGAC.put(spec.getProducer().getProducer(), entry.getKey());
             List<FPID> allDeps = new ArrayList<>();
             for (FPID cfg : spec.getDependencies()) {
@@ -90,7 +90,7 @@ final class MavenUpgrade {
                     if (!topLevels.containsKey(gac) && !dependencies.containsKey(gac)) {
                         // Resolve to retrieve the actual producer and map to GAC
                         Path p = mojo.resolveMaven(fp);
-                        GalleonFeaturePackDescription depSpec = Provisioning.getFeaturePackDescription(p);
+                        GalleonFeaturePackDescription depSpec = mojo.getFeaturePackDescription(p);
                         producerToGAC.put(depSpec.getProducer().getProducer(), gac);
                         dependencies.put(gac, fp);
                     }
@@ -104,7 +104,7 @@ final class MavenUpgrade {
         return getScannedModules().getProvisionedArtifacts();
     }
 
-    private ScannedModules getScannedModules() throws ProvisioningException, MojoExecutionException {
+    ScannedModules getScannedModules() throws ProvisioningException, MojoExecutionException {
         if (modules == null) {
             modules = ScannedModules.scanProvisionedArtifacts(provisioning, originalConfig);
         }
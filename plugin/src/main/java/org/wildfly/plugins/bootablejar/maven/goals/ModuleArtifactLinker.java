@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.jboss.galleon.universe.maven.MavenArtifact;
+import org.jboss.galleon.universe.maven.MavenUniverseException;
+import org.jboss.galleon.universe.maven.repo.MavenRepoManager;
+import org.wildfly.plugins.bootablejar.maven.common.FileLinker;
+
+/**
+ * Adds the JBoss Modules artifacts to a server provisioned without them ({@code jboss-maven-dist}). Each
+ * {@code <artifact name="groupId:artifactId:version[:classifier]"/>} element of a {@code module.xml} file is replaced
+ * by the {@code <resource-root path="file name"/>} element a copying provisioning generates, the file is linked from
+ * the local Maven repository. Hard linked files share their content with the local Maven repository, they are made
+ * read-only.
+ *
+ * @author jdenise
+ */
+final class ModuleArtifactLinker {
+
+    private static final String MODULE_XML = "module.xml";
+    private static final Pattern ARTIFACT = Pattern.compile("<artifact(\\s+)name\\s*=\\s*\"([^\"]*)\"");
+    private static final String ARTIFACT_END = "</artifact>";
+    private static final String NATIVE_ARTIFACT = "<native-artifact";
+    private static final boolean IS_POSIX = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    private static final Set<PosixFilePermission> WRITE_PERMISSIONS = EnumSet.of(PosixFilePermission.OWNER_WRITE,
+            PosixFilePermission.GROUP_WRITE, PosixFilePermission.OTHERS_WRITE);
+
+    private final FileLinker linker;
+    private final MavenRepoManager resolver;
+    private final Map<String, Path> resolved = new HashMap<>();
+    private int linked;
+    private int copied;
+
+    ModuleArtifactLinker(FileLinker linker, MavenRepoManager resolver) {
+        this.linker = linker;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Add the artifacts of the modules.
+     *
+     * @param modules The modules directory of the server.
+     */
+    void link(Path modules) throws IOException, MavenUniverseException {
+        if (Files.notExists(modules)) {
+            return;
+        }
+        List<Path> moduleFiles = new ArrayList<>();
+        try (Stream<Path> stream = Files.walk(modules)) {
+            stream.filter(p -> p.getFileName().toString().equals(MODULE_XML)).forEach(moduleFiles::add);
+        }
+        for (Path moduleFile : moduleFiles) {
+            linkModule(moduleFile);
+        }
+    }
+
+    int getLinked() {
+        return linked;
+    }
+
+    int getCopied() {
+        return copied;
+    }
+
+    private void linkModule(Path moduleFile) throws IOException, MavenUniverseException {
+        String content = new String(Files.readAllBytes(moduleFile), StandardCharsets.UTF_8);
+        if (content.contains(NATIVE_ARTIFACT)) {
+            throw new IOException("Native artifacts of module " + moduleFile + " can't be linked, use the copy link mode");
+        }
+        Matcher matcher = ARTIFACT.matcher(content);
+        if (!matcher.find()) {
+            return;
+        }
+        StringBuilder builder = new StringBuilder();
+        do {
+            Path artifactFile = resolve(matcher.group(2), moduleFile);
+            Path target = moduleFile.resolveSibling(artifactFile.getFileName());
+            if (Files.notExists(target)) {
+                FileLinker.Mode mode = linker.link(artifactFile, target);
+                if (mode == FileLinker.Mode.COPY) {
+                    copied += 1;
+                } else {
+                    if (mode == FileLinker.Mode.HARDLINK) {
+                        setReadOnly(target);
+                    }
+                    linked += 1;
+                }
+            }
+            matcher.appendReplacement(builder, Matcher.quoteReplacement("<resource-root" + matcher.group(1) + "path=\""
+                    + artifactFile.getFileName() + "\""));
+        } while (matcher.find());
+        matcher.appendTail(builder);
+        Files.write(moduleFile, builder.toString().replace(ARTIFACT_END, "</resource-root>").getBytes(StandardCharsets.UTF_8));
+    }
+
+    // An in place write would modify the artifact of the local Maven repository.
+    private static void setReadOnly(Path file) throws IOException {
+        if (IS_POSIX) {
+            Set<PosixFilePermission> permissions = new HashSet<>(Files.getPosixFilePermissions(file));
+            if (permissions.removeAll(WRITE_PERMISSIONS)) {
+                Files.setPosixFilePermissions(file, permissions);
+            }
+        }
+    }
+
+    private Path resolve(String coords, Path moduleFile) throws IOException, MavenUniverseException {
+        Path path = resolved.get(coords);
+        if (path == null) {
+            String[] parts = coords.split(":");
+            if (parts.length < 3 || parts.length > 4 || coords.contains("${")) {
+                throw new IOException("Invalid artifact " + coords + " in " + moduleFile);
+            }
+            MavenArtifact artifact = new MavenArtifact()
+                    .setGroupId(parts[0])
+                    .setArtifactId(parts[1])
+                    .setVersion(parts[2])
+                    .setClassifier(parts.length == 4 ? parts[3] : null)
+                    .setExtension("jar");
+            resolver.resolve(artifact);
+            path = artifact.getPath();
+            resolved.put(coords, path);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+import org.jboss.galleon.universe.maven.MavenArtifact;
+
+/**
+ * Records the artifact resolutions of a build: the time spent to resolve each artifact, if it has been downloaded
+ * (remote) or found in the local Maven repository (local) and the bytes transferred. The downloads are observed as a
+ * transfer listener of the resolver session and are matched to the resolved artifacts by file name.
+ *
+ * @author jdenise
+ */
+final class ResolutionTelemetry extends AbstractTransferListener {
+
+    static final String REPORT_FILE = "bootable-jar-resolution-report.xml";
+
+    private static final class Resolution {
+
+        private final String coords;
+        private final long nanos;
+        private final long bytes;
+        private final boolean failed;
+
+        private Resolution(String coords, long nanos, long bytes, boolean failed) {
+            this.coords = coords;
+            this.nanos = nanos;
+            this.bytes = bytes;
+            this.failed = failed;
+        }
+
+        private boolean isRemote() {
+            return bytes >= 0;
+        }
+    }
+
+    // Downloaded bytes of the files not yet matched to a resolved artifact, keyed by file name.
+    private final Map<String, Long> downloads = new ConcurrentHashMap<>();
+    // The first resolution of each artifact.
+    private final Map<String, Resolution> resolutions = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Resolution> ordered = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger batches = new AtomicInteger();
+    private final AtomicLong batchNanos = new AtomicLong();
+    private final AtomicInteger transfers = new AtomicInteger();
+    private final AtomicLong transferredBytes = new AtomicLong();
+
+    @Override
+    public void transferSucceeded(TransferEvent event) {
+        if (event.getRequestType() != TransferEvent.RequestType.GET) {
+            return;
+        }
+        transfers.incrementAndGet();
+        transferredBytes.addAndGet(event.getTransferredBytes());
+        TransferResource resource = event.getResource();
+        String name = resource.getResourceName();
+        downloads.merge(name.substring(name.lastIndexOf('/') + 1), event.getTransferredBytes(), Long::sum);
+    }
+
+    /**
+     * An artifact has been resolved.
+     *
+     * @param nanos The resolution time.
+     */
+    void resolved(MavenArtifact artifact, long nanos) {
+        calls.incrementAndGet();
+        Long bytes = artifact.getPath() == null ? null : downloads.remove(artifact.getPath().getFileName().toString());
+        add(new Resolution(artifact.getCoordsAsString(), nanos, bytes == null ? -1 : bytes, false));
+    }
+
+    /**
+     * The resolution of an artifact failed.
+     */
+    void failed(MavenArtifact artifact, long nanos) {
+        calls.incrementAndGet();
+        add(new Resolution(artifact.getCoordsAsString(), nanos, -1, true));
+    }
+
+    /**
+     * A set of artifacts has been resolved in a single batch, the artifacts are then reported as resolved.
+     */
+    void batch(long nanos) {
+        batches.incrementAndGet();
+        batchNanos.addAndGet(nanos);
+    }
+
+    private void add(Resolution resolution) {
+        if (resolutions.putIfAbsent(resolution.coords, resolution) == null) {
+            ordered.add(resolution);
+        }
+    }
+
+    /**
+     * Write the report.
+     *
+     * @param slowest The number of slowest artifacts to report.
+     */
+    void write(Path file, int slowest) throws IOException {
+        List<Resolution> all = new ArrayList<>(ordered);
+        int local = 0;
+        int remote = 0;
+        int failed = 0;
+        long nanos = 0;
+        for (Resolution r : all) {
+            if (r.failed) {
+                failed += 1;
+            } else if (r.isRemote()) {
+                remote += 1;
+            } else {
+                local += 1;
+            }
+            nanos += r.nanos;
+        }
+        List<Resolution> sorted = new ArrayList<>(all);
+        sorted.sort(Comparator.comparingLong((Resolution r) -> r.nanos).reversed());
+        StringBuilder builder = new StringBuilder();
+        builder.append("<resolution-report>").append(System.lineSeparator());
+        builder.append("  <summary artifacts=\"").append(all.size())
+                .append("\" resolutions=\"").append(calls.get())
+                .append("\" local=\"").append(local)
+                .append("\" remote=\"").append(remote)
+                .append("\" failed=\"").append(failed)
+                .append("\" transfers=\"").append(transfers.get())
+                .append("\" transferred-bytes=\"").append(transferredBytes.get())
+                .append("\" time-ms=\"").append(toMillis(nanos))
+                .append("\" batches=\"").append(batches.get())
+                .append("\" batches-time-ms=\"").append(toMillis(batchNanos.get()))
+                .append("\"/>").append(System.lineSeparator());
+        builder.append("  <slowest-artifacts>").append(System.lineSeparator());
+        for (Resolution r : sorted.subList(0, Math.min(slowest, sorted.size()))) {
+            append(builder, r);
+        }
+        builder.append("  </slowest-artifacts>").append(System.lineSeparator());
+        builder.append("  <artifacts>").append(System.lineSeparator());
+        for (Resolution r : all) {
+            append(builder, r);
+        }
+        builder.append("  </artifacts>").append(System.lineSeparator());
+        builder.append("</resolution-report>").append(System.lineSeparator());
+        Files.write(file, builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void append(StringBuilder builder, Resolution r) {
+        builder.append("    <artifact coords=\"").append(r.coords)
+                .append("\" time-ms=\"").append(toMillis(r.nanos))
+                .append("\" source=\"").append(r.failed ? "failed" : r.isRemote() ? "remote" : "local");
+        if (r.isRemote()) {
+            builder.append("\" bytes=\"").append(r.bytes);
+        }
+        builder.append("\"/>").append(System.lineSeparator());
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000;
+    }
+}
@@ -26,7 +26,7 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
-import org.wildfly.core.launcher.BootableJarCommandBuilder;
+import org.wildfly.core.launcher.CommandBuilder;
 import org.wildfly.core.launcher.Launcher;
 import org.wildfly.plugins.bootablejar.maven.common.Utils;
 
@@ -75,9 +75,7 @@ public final class RunBootableJarMojo extends AbstractMojo {
             return;
         }
         try {
-            final BootableJarCommandBuilder commandBuilder = BootableJarCommandBuilder.of(Utils.getBootableJarPath(jarFileName, project, "run"))
-                    .addJavaOptions(jvmArguments)
-                    .addServerArguments(arguments);
+            final CommandBuilder commandBuilder = Utils.buildCommand(jarFileName, project, "run", jvmArguments, arguments);
             final Process process = Launcher.of(commandBuilder).inherit().launch();
             process.waitFor();
         } catch (Exception e) {
@@ -23,12 +23,20 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.jboss.galleon.ProvisioningException;
 import org.jboss.galleon.api.GalleonFeaturePackRuntime;
@@ -36,12 +44,7 @@ import org.jboss.galleon.api.GalleonPackageRuntime;
 import org.jboss.galleon.api.GalleonProvisioningRuntime;
 import org.jboss.galleon.api.Provisioning;
 import org.jboss.galleon.api.config.GalleonProvisioningConfig;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 import org.wildfly.plugin.tools.bootablejar.BootableJarSupport;
-import org.xml.sax.SAXException;
 
 final class ScannedModules {
 
@@ -52,6 +55,43 @@ final class ScannedModules {
     private static final String TASKS_XML = "tasks.xml";
     private static final String MODULE_RUNTIME_KEY = "org.jboss.modules:jboss-modules";
 
+    // Thread safe once configured.
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * The tasks and the module templates of a package.
+     */
+    private static final class PackageContent {
+
+        private final GalleonPackageRuntime pkg;
+        private final Path tasks;
+        private final List<Path> modules;
+
+        private PackageContent(GalleonPackageRuntime pkg, Path tasks, List<Path> modules) {
+            this.pkg = pkg;
+            this.tasks = tasks;
+            this.modules = modules;
+        }
+    }
+
+    /**
+     * A {@code copy-artifact} task.
+     */
+    private static final class CopyArtifact {
+
+        private final String artifact;
+        private final boolean optional;
+
+        private CopyArtifact(String artifact, boolean optional) {
+            this.artifact = artifact;
+            this.optional = optional;
+        }
+    }
+
     private final Map<String, Map<String, String>> perModule;
     private final Map<String, String> copiedArtifacts;
     private final String moduleRuntimeKey;
@@ -89,22 +129,29 @@ final class ScannedModules {
 
     static ScannedModules scanProvisionedArtifacts(Provisioning pm, GalleonProvisioningConfig config)
             throws ProvisioningException, MojoExecutionException {
+        try (GalleonProvisioningRuntime rt = pm.getProvisioningRuntime(config)) {
+            return scan(rt.getGalleonFeaturePacks());
+        }
+    }
+
+    static ScannedModules scan(Iterable<GalleonFeaturePackRuntime> fps) throws ProvisioningException, MojoExecutionException {
         Map<String, String> propsMap = new HashMap<>();
         Map<String, Map<String, String>> perModule = new TreeMap<>();
         Map<String, String> copiedArtifacts = new HashMap<>();
-        try (GalleonProvisioningRuntime rt = pm.getProvisioningRuntime(config)) {
-            for (GalleonFeaturePackRuntime fprt : rt.getGalleonFeaturePacks()) {
-                Path artifactProps = fprt.getResource(BootableJarSupport.WILDFLY_ARTIFACT_VERSIONS_RESOURCE_PATH);
-                try {
-                    AbstractBuildBootableJarMojo.readProperties(artifactProps, propsMap);
-                } catch (Exception ex) {
-                    throw new MojoExecutionException("Error reading artifact versions", ex);
-                }
-            }
-            for (GalleonFeaturePackRuntime fprt : rt.getGalleonFeaturePacks()) {
-                processPackages(fprt, perModule, propsMap, copiedArtifacts);
+        for (GalleonFeaturePackRuntime fprt : fps) {
+            Path artifactProps = fprt.getResource(BootableJarSupport.WILDFLY_ARTIFACT_VERSIONS_RESOURCE_PATH);
+            try {
+                AbstractBuildBootableJarMojo.readProperties(artifactProps, propsMap);
+            } catch (Exception ex) {
+                throw new MojoExecutionException("Error reading artifact versions", ex);
             }
         }
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            processPackages(fps, executor, perModule, propsMap, copiedArtifacts);
+        } finally {
+            executor.shutdownNow();
+        }
 
         String moduleRuntimeValue = propsMap.get(MODULE_RUNTIME_KEY);
         if (moduleRuntimeValue == null) {
@@ -113,81 +160,137 @@ final class ScannedModules {
         return new ScannedModules(perModule, MODULE_RUNTIME_KEY, moduleRuntimeValue, copiedArtifacts);
     }
 
-    private static void processPackages(final GalleonFeaturePackRuntime fp,
+    /**
+     * The packages are located and their XML files are parsed concurrently, the results are merged in the order of
+     * the feature-packs and of their packages.
+     */
+    private static void processPackages(Iterable<GalleonFeaturePackRuntime> fps, ExecutorService executor,
             Map<String, Map<String, String>> perModule,
             Map<String, String> propsMap,
             Map<String, String> copiedArtifacts) throws ProvisioningException {
-        Map<Path, GalleonPackageRuntime> jbossModules = new HashMap<>();
-        for (GalleonPackageRuntime pkg : fp.getGalleonPackages()) {
-            final Path pmWfDir = pkg.getResource(PM, WILDFLY);
-            if (!Files.exists(pmWfDir)) {
-                continue;
+        List<List<Future<PackageContent>>> located = new ArrayList<>();
+        for (GalleonFeaturePackRuntime fp : fps) {
+            List<Future<PackageContent>> contents = new ArrayList<>();
+            for (GalleonPackageRuntime pkg : fp.getGalleonPackages()) {
+                contents.add(executor.submit(() -> locate(pkg)));
             }
-            final Path moduleDir = pmWfDir.resolve(MODULE);
-            if (Files.exists(moduleDir)) {
-                processModules(pkg, moduleDir, jbossModules);
+            located.add(contents);
+        }
+        List<Future<List<CopyArtifact>>> tasks = new ArrayList<>();
+        List<GalleonPackageRuntime> templatePackages = new ArrayList<>();
+        List<Future<List<String>>> templates = new ArrayList<>();
+        for (List<Future<PackageContent>> contents : located) {
+            // A module template present in multiple packages of a feature-pack is processed once, for the last package.
+            Map<Path, GalleonPackageRuntime> jbossModules = new LinkedHashMap<>();
+            for (Future<PackageContent> future : contents) {
+                PackageContent content = get(future);
+                if (content == null) {
+                    continue;
+                }
+                for (Path module : content.modules) {
+                    jbossModules.put(module, content.pkg);
+                }
+                if (content.tasks != null) {
+                    tasks.add(executor.submit(() -> processTasks(content.pkg, content.tasks)));
+                }
             }
-            final Path tasks = pmWfDir.resolve(TASKS_XML);
-            if (Files.exists(tasks)) {
-               processTasks(pkg, tasks, propsMap, copiedArtifacts);
+            for (Map.Entry<Path, GalleonPackageRuntime> entry : jbossModules.entrySet()) {
+                GalleonPackageRuntime pkg = entry.getValue();
+                templatePackages.add(pkg);
+                templates.add(executor.submit(() -> processModuleTemplate(pkg, entry.getKey())));
             }
         }
-        for (Map.Entry<Path, GalleonPackageRuntime> entry : jbossModules.entrySet()) {
-            final GalleonPackageRuntime pkg = entry.getValue();
-            try {
-                processModuleTemplate(pkg, entry.getKey(), perModule, propsMap);
-            } catch (IOException | ParserConfigurationException | ProvisioningException | SAXException e) {
-                throw new ProvisioningException("Failed to process JBoss module XML template for feature-pack "
-                        + pkg.getFeaturePackFPID() + " package " + pkg.getName(), e);
+        for (Future<List<CopyArtifact>> future : tasks) {
+            for (CopyArtifact copyArtifact : get(future)) {
+                String value = propsMap.get(copyArtifact.artifact);
+                if (value == null) {
+                    if (copyArtifact.optional) {
+                        // Could be unknown.
+                        copiedArtifacts.put(copyArtifact.artifact, copyArtifact.artifact + ":unknown::jar");
+                    }
+                } else {
+                    copiedArtifacts.put(copyArtifact.artifact, value);
+                }
+            }
+        }
+        for (int i = 0; i < templates.size(); i++) {
+            List<String> names = get(templates.get(i));
+            if (names.isEmpty()) {
+                continue;
+            }
+            Map<String, String> m = perModule.computeIfAbsent(templatePackages.get(i).getName(), k -> new TreeMap<>());
+            for (String name : names) {
+                m.put(name, propsMap.get(name));
             }
         }
     }
 
-    private static void processTasks(GalleonPackageRuntime pkg, Path tasks, Map<String, String> propsMap,
-            Map<String, String> artifacts) throws ProvisioningException {
+    private static <T> T get(Future<T> future) throws ProvisioningException {
         try {
-            try (InputStream reader = Files.newInputStream(tasks)) {
-                DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
-                DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
-
-                Document document = documentBuilder.parse(reader);
-                Element root = document.getDocumentElement();
-                NodeList lst = root.getChildNodes();
-                for (int i = 0; i < lst.getLength(); i++) {
-                    Node n = lst.item(i);
-                    if (n instanceof Element) {
-                        if ("copy-artifact".equals(n.getNodeName())) {
-                            Element copyArtifact = (Element) n;
-                            String artifact = copyArtifact.getAttribute("artifact");
-                            String optional = copyArtifact.getAttribute("optional");
-                            String value = propsMap.get(artifact);
-                            if (value == null) {
-                                if ("true".equals(optional)) {
-                                    // Could be unknown.
-                                    artifacts.put(artifact, artifact + ":unknown::jar");
-                                }
-                            } else {
-                                artifacts.put(artifact, value);
-                            }
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ProvisioningException("Interrupted while scanning the provisioned artifacts", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof ProvisioningException) {
+                throw (ProvisioningException) ex.getCause();
+            }
+            throw new ProvisioningException(ex.getCause());
+        }
+    }
+
+    private static PackageContent locate(GalleonPackageRuntime pkg) throws ProvisioningException {
+        final Path pmWfDir = pkg.getResource(PM, WILDFLY);
+        if (!Files.exists(pmWfDir)) {
+            return null;
+        }
+        List<Path> modules = new ArrayList<>();
+        final Path moduleDir = pmWfDir.resolve(MODULE);
+        if (Files.exists(moduleDir)) {
+            processModules(pkg, moduleDir, modules);
+        }
+        final Path tasks = pmWfDir.resolve(TASKS_XML);
+        return new PackageContent(pkg, Files.exists(tasks) ? tasks : null, modules);
+    }
+
+    private static List<CopyArtifact> processTasks(GalleonPackageRuntime pkg, Path tasks) throws ProvisioningException {
+        List<CopyArtifact> artifacts = new ArrayList<>();
+        try (InputStream stream = Files.newInputStream(tasks)) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(stream);
+            try {
+                int depth = 0;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        depth += 1;
+                        // Children of the root element.
+                        if (depth == 2 && "copy-artifact".equals(reader.getLocalName())) {
+                            artifacts.add(new CopyArtifact(getAttribute(reader, "artifact"),
+                                    "true".equals(getAttribute(reader, "optional"))));
                         }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        depth -= 1;
                     }
                 }
+            } finally {
+                reader.close();
             }
-        } catch (SAXException | ParserConfigurationException | IOException e) {
+        } catch (XMLStreamException | IOException e) {
             throw new ProvisioningException("Failed to process tasks from package " + pkg.getName()
                     + " from feature-pack " + pkg.getFeaturePackFPID(), e);
         }
+        return artifacts;
     }
 
     private static void processModules(GalleonPackageRuntime pkg, Path fpModuleDir,
-            Map<Path, GalleonPackageRuntime> jbossModules) throws ProvisioningException {
+            List<Path> modules) throws ProvisioningException {
         try {
             Files.walkFileTree(fpModuleDir, new SimpleFileVisitor<Path>() {
                 @Override
                 public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
                         throws IOException {
                     if (file.getFileName().toString().equals(MODULE_XML)) {
-                        jbossModules.put(fpModuleDir.relativize(file), pkg);
+                        modules.add(fpModuleDir.relativize(file));
                     }
                     return FileVisitResult.CONTINUE;
                 }
@@ -198,44 +301,46 @@ final class ScannedModules {
         }
     }
 
-    private static void processModuleTemplate(GalleonPackageRuntime pkg, Path moduleXmlRelativePath,
-            Map<String, Map<String, String>> perModule, Map<String, String> propsMap) throws ProvisioningException, IOException, ParserConfigurationException, SAXException {
+    /**
+     * @return The names of the artifact version properties referenced by the module template.
+     */
+    private static List<String> processModuleTemplate(GalleonPackageRuntime pkg, Path moduleXmlRelativePath)
+            throws ProvisioningException {
         final Path moduleTemplate = pkg.getResource(PM, WILDFLY, MODULE).resolve(moduleXmlRelativePath);
-
-        try (InputStream reader = Files.newInputStream(moduleTemplate)) {
-            DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
-
-            Document document = documentBuilder.parse(reader);
-            Element root = document.getDocumentElement();
-            NodeList lst = root.getChildNodes();
-            for (int i = 0; i < lst.getLength(); i++) {
-                Node n = lst.item(i);
-                if (n instanceof Element) {
-                    if ("resources".equals(n.getNodeName())) {
-                        Element resources = (Element) n;
-                        NodeList artifacts = resources.getChildNodes();
-                        for (int j = 0; j < artifacts.getLength(); j++) {
-                            Node a = artifacts.item(j);
-                            if (a instanceof Element) {
-                                if ("artifact".equals(a.getNodeName())) {
-                                    String name = ((Element) a).getAttribute("name");
-                                    if (name.startsWith("${")) {
-                                        name = name.substring(2, name.length() - 1);
-                                        Map<String, String> m = perModule.get(pkg.getName());
-                                        if (m == null) {
-                                            m = new TreeMap<>();
-                                            perModule.put(pkg.getName(), m);
-                                        }
-                                        String value = propsMap.get(name);
-                                        m.put(name, value);
-                                    }
-                                }
+        List<String> names = new ArrayList<>();
+        try (InputStream stream = Files.newInputStream(moduleTemplate)) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(stream);
+            try {
+                int depth = 0;
+                boolean inResources = false;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        depth += 1;
+                        if (depth == 2) {
+                            inResources = "resources".equals(reader.getLocalName());
+                        } else if (depth == 3 && inResources && "artifact".equals(reader.getLocalName())) {
+                            String name = getAttribute(reader, "name");
+                            if (name.startsWith("${")) {
+                                names.add(name.substring(2, name.length() - 1));
                             }
                         }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        depth -= 1;
                     }
                 }
+            } finally {
+                reader.close();
             }
+        } catch (IOException | XMLStreamException e) {
+            throw new ProvisioningException("Failed to process JBoss module XML template for feature-pack "
+                    + pkg.getFeaturePackFPID() + " package " + pkg.getName(), e);
         }
+        return names;
+    }
+
+    private static String getAttribute(XMLStreamReader reader, String name) {
+        String value = reader.getAttributeValue(null, name);
+        return value == null ? "" : value;
     }
 }
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.galleon.universe.maven.MavenArtifact;
+import org.jboss.galleon.util.IoUtils;
+import org.wildfly.plugin.tools.bootablejar.ScannedArtifacts;
+import org.wildfly.plugins.bootablejar.maven.common.FileLinker;
+
+/**
+ * A persistent store of provisioned servers, shared by the projects that use
+ * the same store directory. Entries are keyed by provisioning digest and
+ * contain the server as provisioned by Galleon (before any CLI execution or
+ * deployment), its provisioning configuration and the artifacts scanned at
+ * provisioning time. An entry is published atomically, concurrent builds
+ * never see a partial entry. The least recently used entries are evicted when
+ * the size of the store is above its bound.
+ *
+ * @author jdenise
+ */
+final class ServerStore {
+
+    private static final String SERVER = "server";
+    private static final String PROVISIONING = "provisioning.xml";
+    private static final String ENTRY_FILE = "entry.properties";
+    private static final String SIZE = "size";
+    private static final String BOOT = "boot";
+    private static final String JBOSS_MODULES = "jboss-modules";
+    private static final String CLI = "cli.";
+    // Directories being published or deleted, ignored by lookups.
+    private static final String TMP_PREFIX = ".tmp-";
+    private static final String DELETED_PREFIX = ".deleted-";
+    private static final long TMP_MAX_AGE = TimeUnit.DAYS.toMillis(1);
+
+    private final Path root;
+    private final long maxSize;
+
+    /**
+     * @param root The store directory.
+     * @param maxSize The maximum size of the store in bytes.
+     */
+    ServerStore(Path root, long maxSize) {
+        this.root = root;
+        this.maxSize = maxSize;
+    }
+
+    Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Restore a stored server.
+     *
+     * @param home The server home directory, it must not exist.
+     * @param provisioningFile The file in which the provisioning configuration is copied.
+     * @return The scanned artifacts of the server or null if no entry exists for the digest.
+     */
+    ScannedArtifacts restore(String digest, Path home, Path provisioningFile) throws IOException {
+        Path entry = root.resolve(digest);
+        Path entryFile = entry.resolve(ENTRY_FILE);
+        if (Files.notExists(entryFile)) {
+            return null;
+        }
+        ScannedArtifacts artifacts;
+        try {
+            artifacts = readArtifacts(readEntry(entryFile));
+            copy(entry.resolve(SERVER), home);
+            Files.copy(entry.resolve(PROVISIONING), provisioningFile, StandardCopyOption.REPLACE_EXISTING);
+            // The modification time of the entry directory orders the entries for eviction.
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ex) {
+            // The entry has been evicted by a concurrent build.
+            IoUtils.recursiveDelete(home);
+            if (Files.exists(entryFile)) {
+                throw ex;
+            }
+            return null;
+        }
+        return artifacts;
+    }
+
+    /**
+     * Publish a provisioned server, nothing is done if an entry already exists
+     * for the digest.
+     */
+    void publish(String digest, Path home, Path provisioningFile, ScannedArtifacts artifacts) throws IOException {
+        Path entry = root.resolve(digest);
+        if (Files.exists(entry)) {
+            return;
+        }
+        Files.createDirectories(root);
+        Path tmp = root.resolve(TMP_PREFIX + UUID.randomUUID());
+        try {
+            long size = copy(home, tmp.resolve(SERVER));
+            Files.copy(provisioningFile, tmp.resolve(PROVISIONING));
+            size += Files.size(provisioningFile);
+            Properties props = new Properties();
+            props.setProperty(SIZE, Long.toString(size));
+            props.setProperty(BOOT, IncrementalBuildState.toString(artifacts.getBoot()));
+            props.setProperty(JBOSS_MODULES, IncrementalBuildState.toString(artifacts.getJbossModules()));
+            int i = 0;
+            for (MavenArtifact cli : artifacts.getCliArtifacts()) {
+                props.setProperty(CLI + i++, IncrementalBuildState.toString(cli));
+            }
+            try (OutputStream out = Files.newOutputStream(tmp.resolve(ENTRY_FILE))) {
+                props.store(out, "Provisioned server");
+            }
+            try {
+                Files.move(tmp, entry, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException ex) {
+                // Published by a concurrent build.
+            } catch (IOException ex) {
+                if (Files.notExists(entry)) {
+                    throw ex;
+                }
+            }
+        } finally {
+            IoUtils.recursiveDelete(tmp);
+        }
+        evict(digest);
+    }
+
+    private void evict(String published) throws IOException {
+        List<Path> entries = new ArrayList<>();
+        long size = 0;
+        long now = System.currentTimeMillis();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root)) {
+            for (Path p : stream) {
+                String name = p.getFileName().toString();
+                if (name.startsWith(DELETED_PREFIX)) {
+                    IoUtils.recursiveDelete(p);
+                } else if (name.startsWith(TMP_PREFIX)) {
+                    // Left by a build that has been killed.
+                    if (now - Files.getLastModifiedTime(p).toMillis() > TMP_MAX_AGE) {
+                        IoUtils.recursiveDelete(p);
+                    }
+                } else if (Files.isDirectory(p)) {
+                    entries.add(p);
+                }
+            }
+        }
+        Map<Path, Long> sizes = new HashMap<>();
+        for (Path entry : entries) {
+            long entrySize;
+            try {
+                entrySize = Long.parseLong(readEntry(entry.resolve(ENTRY_FILE)).getProperty(SIZE, "0"));
+            } catch (IOException | NumberFormatException ex) {
+                entrySize = 0;
+            }
+            sizes.put(entry, entrySize);
+            size += entrySize;
+        }
+        // Least recently used first.
+        entries.sort(Comparator.comparingLong(ServerStore::lastModified));
+        for (Path entry : entries) {
+            if (size <= maxSize) {
+                break;
+            }
+            if (entry.getFileName().toString().equals(published)) {
+                continue;
+            }
+            delete(entry);
+            size -= sizes.get(entry);
+        }
+    }
+
+    // The entry is renamed first, a concurrent lookup doesn't see a partially deleted entry.
+    private void delete(Path entry) {
+        Path deleted = root.resolve(DELETED_PREFIX + UUID.randomUUID());
+        try {
+            Files.move(entry, deleted, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            // Already evicted by a concurrent build.
+            return;
+        }
+        IoUtils.recursiveDelete(deleted);
+    }
+
+    private static long lastModified(Path p) {
+        try {
+            return Files.getLastModifiedTime(p).toMillis();
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+    private static Properties readEntry(Path file) throws IOException {
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        }
+        return props;
+    }
+
+    private static ScannedArtifacts readArtifacts(Properties props) throws IOException {
+        String boot = props.getProperty(BOOT);
+        String jbossModules = props.getProperty(JBOSS_MODULES);
+        if (boot == null || jbossModules == null) {
+            throw new IOException("Invalid server store entry");
+        }
+        Set<MavenArtifact> cli = new LinkedHashSet<>();
+        for (int i = 0; props.containsKey(CLI + i); i++) {
+            cli.add(IncrementalBuildState.fromString(props.getProperty(CLI + i)));
+        }
+        return new ScannedArtifacts(IncrementalBuildState.fromString(boot), IncrementalBuildState.fromString(jbossModules), cli);
+    }
+
+    // The modules are never updated in place, they are hard linked when the source and target share a file system.
+    // Other files are copied, the embedded server updates the configuration in place.
+    private static long copy(Path source, Path target) throws IOException {
+        Path modules = source.resolve("modules");
+        FileLinker linker = new FileLinker(FileLinker.Mode.HARDLINK);
+        long[] size = new long[1];
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path targetFile = target.resolve(source.relativize(file).toString());
+                if (file.startsWith(modules)) {
+                    linker.link(file, targetFile);
+                } else {
+                    Files.copy(file, targetFile, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+                size[0] += attrs.size();
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return size[0];
+    }
+}
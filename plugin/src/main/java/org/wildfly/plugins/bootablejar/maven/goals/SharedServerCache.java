@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jboss.galleon.util.IoUtils;
+import org.wildfly.plugins.bootablejar.maven.common.FileLinker;
+
+/**
+ * A cache of configured servers shared by the executions running in the same
+ * JVM. Entries are keyed by build digest and are stored in a temporary
+ * directory owned by the cache, deleted when the JVM exits. An entry in use by
+ * an execution is never evicted; the least recently used entries are evicted
+ * when the number of entries is above the bound of the storing execution.
+ *
+ * @author jdenise
+ */
+final class SharedServerCache {
+
+    private static final class Entry {
+
+        private final Path dir;
+        private int references;
+
+        private Entry(Path dir) {
+            this.dir = dir;
+        }
+    }
+
+    // Access ordered, the first entries are the least recently used.
+    private static final Map<String, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true);
+    private static Path cacheDir;
+
+    private SharedServerCache() {
+    }
+
+    static boolean contains(String digest) {
+        synchronized (ENTRIES) {
+            return ENTRIES.containsKey(digest);
+        }
+    }
+
+    /**
+     * Restore the cached content of an execution into an empty build
+     * artifacts directory.
+     *
+     * @return true if an entry exists for the digest.
+     */
+    static boolean restore(String digest, Path contentRoot) throws IOException {
+        Entry entry;
+        synchronized (ENTRIES) {
+            entry = ENTRIES.get(digest);
+            if (entry == null) {
+                return false;
+            }
+            entry.references++;
+        }
+        try {
+            copy(entry.dir, contentRoot);
+        } finally {
+            synchronized (ENTRIES) {
+                entry.references--;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Store a copy of the build artifacts directory.
+     *
+     * @param maxEntries The maximum number of entries kept in the cache.
+     */
+    static void store(String digest, Path contentRoot, int maxEntries) throws IOException {
+        Entry entry;
+        synchronized (ENTRIES) {
+            if (ENTRIES.containsKey(digest)) {
+                return;
+            }
+            entry = new Entry(getCacheDir().resolve(digest));
+            // Reserved until the copy is complete.
+            entry.references++;
+            ENTRIES.put(digest, entry);
+        }
+        boolean stored = false;
+        try {
+            copy(contentRoot, entry.dir);
+            stored = true;
+        } finally {
+            synchronized (ENTRIES) {
+                entry.references--;
+                if (!stored) {
+                    ENTRIES.remove(digest);
+                    IoUtils.recursiveDelete(entry.dir);
+                }
+                evict(maxEntries);
+            }
+        }
+    }
+
+    private static void evict(int maxEntries) {
+        Iterator<Entry> it = ENTRIES.values().iterator();
+        int size = ENTRIES.size();
+        while (size > maxEntries && it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.references == 0) {
+                it.remove();
+                IoUtils.recursiveDelete(entry.dir);
+                size--;
+            }
+        }
+    }
+
+    private static Path getCacheDir() throws IOException {
+        if (cacheDir == null) {
+            Path dir = Files.createTempDirectory("wildfly-jar-server-cache");
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> IoUtils.recursiveDelete(dir)));
+            cacheDir = dir;
+        }
+        return cacheDir;
+    }
+
+    // Files are hard linked when the source and target share a file system, copied otherwise.
+    // Files are never updated in place by the plugin, they are replaced.
+    private static void copy(Path source, Path target) throws IOException {
+        FileLinker linker = new FileLinker(FileLinker.Mode.HARDLINK);
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                linker.link(file, target.resolve(source.relativize(file).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
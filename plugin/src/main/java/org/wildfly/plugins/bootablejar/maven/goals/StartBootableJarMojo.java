@@ -29,7 +29,7 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 import org.jboss.as.controller.client.ModelControllerClient;
-import org.wildfly.core.launcher.BootableJarCommandBuilder;
+import org.wildfly.core.launcher.CommandBuilder;
 import org.wildfly.core.launcher.Launcher;
 import org.wildfly.plugin.tools.server.ServerManager;
 import org.wildfly.plugins.bootablejar.maven.common.Utils;
@@ -112,9 +112,7 @@ public class StartBootableJarMojo extends AbstractServerConnection {
             return;
         }
 
-        final BootableJarCommandBuilder commandBuilder = BootableJarCommandBuilder.of(Utils.getBootableJarPath(jarFileName, project, goal()))
-                .addJavaOptions(jvmArguments)
-                .addServerArguments(arguments);
+        final CommandBuilder commandBuilder = Utils.buildCommand(jarFileName, project, goal(), jvmArguments, arguments);
         try {
             final Launcher launcher = Launcher.of(commandBuilder);
 
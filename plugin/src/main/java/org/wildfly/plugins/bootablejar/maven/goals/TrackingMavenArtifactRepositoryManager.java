@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.util.List;
+
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.jboss.galleon.maven.plugin.util.MavenArtifactRepositoryManager;
+import org.jboss.galleon.universe.maven.MavenArtifact;
+import org.jboss.galleon.universe.maven.MavenUniverseException;
+
+/**
+ * Maven resolver that records, when enabled, the resolution telemetry.
+ *
+ * @author jdenise
+ */
+class TrackingMavenArtifactRepositoryManager extends MavenArtifactRepositoryManager {
+
+    private final ResolutionTelemetry telemetry;
+
+    TrackingMavenArtifactRepositoryManager(RepositorySystem repoSystem, RepositorySystemSession repoSession,
+            ResolutionTelemetry telemetry) {
+        super(repoSystem, repoSession);
+        this.telemetry = telemetry;
+    }
+
+    TrackingMavenArtifactRepositoryManager(RepositorySystem repoSystem, RepositorySystemSession repoSession,
+            List<RemoteRepository> repositories, ResolutionTelemetry telemetry) {
+        super(repoSystem, repoSession, repositories);
+        this.telemetry = telemetry;
+    }
+
+    @Override
+    public void resolve(MavenArtifact artifact) throws MavenUniverseException {
+        if (telemetry == null) {
+            super.resolve(artifact);
+        } else {
+            long start = System.nanoTime();
+            try {
+                super.resolve(artifact);
+            } catch (MavenUniverseException ex) {
+                telemetry.failed(artifact, System.nanoTime() - start);
+                throw ex;
+            }
+            telemetry.resolved(artifact, System.nanoTime() - start);
+        }
+    }
+}
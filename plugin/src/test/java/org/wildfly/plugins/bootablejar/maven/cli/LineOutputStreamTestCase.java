@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.cli;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author jdenise
+ */
+public class LineOutputStreamTestCase {
+
+    @Test
+    public void testSplitLongLine() throws Exception {
+        List<String> lines = new ArrayList<>();
+        CLIOutputListener listener = new CLIOutputListener() {
+            @Override
+            public void output(String line) {
+                lines.add(line);
+            }
+
+            @Override
+            public void executed(String command, long millis) {
+            }
+        };
+        // The limit falls in the middle of a 3 bytes character.
+        String text = "a".repeat(EmbeddedCLISession.MAX_LINE_LENGTH - 1) + "\u20ac\u20ac";
+        try (EmbeddedCLISession.LineOutputStream out = new EmbeddedCLISession.LineOutputStream(listener)) {
+            out.write((text + "\r\nnext\n").getBytes(StandardCharsets.UTF_8));
+            out.write("last".getBytes(StandardCharsets.UTF_8));
+        }
+        Assert.assertEquals(4, lines.size());
+        Assert.assertEquals("a".repeat(EmbeddedCLISession.MAX_LINE_LENGTH - 1) + "\u20ac", lines.get(0));
+        Assert.assertEquals("\u20ac", lines.get(1));
+        Assert.assertEquals("next", lines.get(2));
+        Assert.assertEquals("last", lines.get(3));
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.cli;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.jboss.galleon.util.HashUtils;
+import org.jboss.galleon.util.IoUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author jdenise
+ */
+public class OfflineCLIApplierTestCase {
+
+    private static final String[] CLOUD_SCRIPTS = {
+        "openshift-management-script.cli",
+        "openshift-logging-script.cli",
+        "openshift-interfaces-script.cli",
+        "openshift-https-script.cli",
+        "openshift-undertow-script.cli",
+        "openshift-tx-script.cli",
+        "openshift-clustering-script.cli",
+        "openshift-infinispan-script.cli",
+        "openshift-webservices-script.cli"};
+
+    private static final String CONFIG = "<?xml version='1.0' encoding='UTF-8'?>\n"
+            + "<server xmlns=\"urn:jboss:domain:20.0\">\n"
+            + "    <management>\n"
+            + "        <management-interfaces>\n"
+            + "            <http-interface http-authentication-factory=\"management-http-authentication\">\n"
+            + "                <http-upgrade enabled=\"true\"/>\n"
+            + "                <socket-binding http=\"management-http\"/>\n"
+            + "            </http-interface>\n"
+            + "        </management-interfaces>\n"
+            + "    </management>\n"
+            + "    <profile>\n"
+            + "        <subsystem xmlns=\"urn:jboss:domain:logging:8.0\">\n"
+            + "            <console-handler name=\"CONSOLE\">\n"
+            + "                <level name=\"INFO\"/>\n"
+            + "                <formatter>\n"
+            + "                    <named-formatter name=\"COLOR-PATTERN\"/>\n"
+            + "                </formatter>\n"
+            + "            </console-handler>\n"
+            + "            <periodic-rotating-file-handler name=\"FILE\" autoflush=\"true\">\n"
+            + "                <formatter>\n"
+            + "                    <named-formatter name=\"PATTERN\"/>\n"
+            + "                </formatter>\n"
+            + "                <file relative-to=\"jboss.server.log.dir\" path=\"server.log\"/>\n"
+            + "            </periodic-rotating-file-handler>\n"
+            + "            <root-logger>\n"
+            + "                <level name=\"DEBUG\"/>\n"
+            + "                <handlers>\n"
+            + "                    <handler name=\"CONSOLE\"/>\n"
+            + "                    <handler name=\"FILE\"/>\n"
+            + "                </handlers>\n"
+            + "            </root-logger>\n"
+            + "            <formatter name=\"PATTERN\">\n"
+            + "                <pattern-formatter pattern=\"%d %-5p [%c] (%t) %s%e%n\"/>\n"
+            + "            </formatter>\n"
+            + "        </subsystem>\n"
+            + "        <subsystem xmlns=\"urn:jboss:domain:jgroups:8.0\">\n"
+            + "            <channels default=\"ee\">\n"
+            + "                <channel name=\"ee\" stack=\"udp\" cluster=\"ejb\"/>\n"
+            + "            </channels>\n"
+            + "            <stacks>\n"
+            + "                <stack name=\"tcp\">\n"
+            + "                    <transport type=\"TCP\" socket-binding=\"jgroups-tcp\"/>\n"
+            + "                    <socket-protocol type=\"MPING\" socket-binding=\"jgroups-mping\"/>\n"
+            + "                    <protocol type=\"MERGE3\"/>\n"
+            + "                    <protocol type=\"pbcast.NAKACK2\"/>\n"
+            + "                </stack>\n"
+            + "            </stacks>\n"
+            + "        </subsystem>\n"
+            + "        <subsystem xmlns=\"urn:jboss:domain:infinispan:14.0\">\n"
+            + "            <cache-container name=\"web\" default-cache=\"dist\">\n"
+            + "                <transport lock-timeout=\"60000\"/>\n"
+            + "                <distributed-cache name=\"dist\"/>\n"
+            + "            </cache-container>\n"
+            + "        </subsystem>\n"
+            + "        <subsystem xmlns=\"urn:jboss:domain:transactions:6.0\">\n"
+            + "            <core-environment node-identifier=\"${jboss.tx.node.id:1}\">\n"
+            + "                <process-id>\n"
+            + "                    <uuid/>\n"
+            + "                </process-id>\n"
+            + "            </core-environment>\n"
+            + "            <recovery-environment socket-binding=\"txn-recovery-environment\"/>\n"
+            + "        </subsystem>\n"
+            + "        <subsystem xmlns=\"urn:jboss:domain:undertow:14.0\">\n"
+            + "            <server name=\"default-server\">\n"
+            + "                <ajp-listener name=\"ajp\" socket-binding=\"ajp\"/>\n"
+            + "                <http-listener name=\"default\" socket-binding=\"http\"/>\n"
+            + "                <https-listener name=\"https\" socket-binding=\"https\"/>\n"
+            + "            </server>\n"
+            + "        </subsystem>\n"
+            + "        <subsystem xmlns=\"urn:jboss:domain:webservices:2.0\">\n"
+            + "            <wsdl-host>${jboss.bind.address:127.0.0.1}</wsdl-host>\n"
+            + "            <endpoint-config name=\"Standard-Endpoint-Config\"/>\n"
+            + "        </subsystem>\n"
+            + "        <subsystem xmlns=\"urn:jboss:domain:modcluster:6.0\"/>\n"
+            + "    </profile>\n"
+            + "    <interfaces>\n"
+            + "        <interface name=\"management\">\n"
+            + "            <inet-address value=\"${jboss.bind.address.management:127.0.0.1}\"/>\n"
+            + "        </interface>\n"
+            + "        <interface name=\"public\">\n"
+            + "            <inet-address value=\"${jboss.bind.address:127.0.0.1}\"/>\n"
+            + "        </interface>\n"
+            + "    </interfaces>\n"
+            + "    <socket-binding-group name=\"standard-sockets\" default-interface=\"public\">\n"
+            + "        <socket-binding name=\"ajp\" port=\"${jboss.ajp.port:8009}\"/>\n"
+            + "        <socket-binding name=\"http\" port=\"${jboss.http.port:8080}\"/>\n"
+            + "        <socket-binding name=\"https\" port=\"${jboss.https.port:8443}\"/>\n"
+            + "    </socket-binding-group>\n"
+            + "</server>\n";
+
+    @Test
+    public void testCloudScripts() throws Exception {
+        Path dir = Files.createTempDirectory("offline-cli");
+        try {
+            Path config = dir.resolve("standalone.xml");
+            Files.write(config, CONFIG.getBytes(StandardCharsets.UTF_8));
+            List<String> commands = new ArrayList<>();
+            commands.add("deploy /tmp/app.war --name=app.war --runtime-name=app.war");
+            for (String script : CLOUD_SCRIPTS) {
+                commands.addAll(readScript(script));
+            }
+            List<String> remaining = OfflineCLIApplier.apply(config, commands);
+            Assert.assertEquals(Arrays.asList("deploy /tmp/app.war --name=app.war --runtime-name=app.war"), remaining);
+
+            String xml = new String(Files.readAllBytes(config), StandardCharsets.UTF_8);
+            // Well formed.
+            DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(config.toFile());
+            assertContains(xml, "<http-interface http-authentication-factory=\"management-http-authentication\" console-enabled=\"false\">");
+            assertContains(xml, "<level name=\"INFO\"/>\n                <handlers>\n                    <handler name=\"CONSOLE\"/>\n                </handlers>");
+            assertContains(xml, "<console-handler name=\"CONSOLE\">\n                <formatter>");
+            assertNotContains(xml, "periodic-rotating-file-handler");
+            assertNotContains(xml, "<formatter name=\"PATTERN\">");
+            assertContains(xml, "<inet-address value=\"${jboss.bind.address,env.HOSTNAME:127.0.0.1}\"/>");
+            assertContains(xml, "<inet-address value=\"${jboss.bind.address.management:0.0.0.0}\"/>");
+            assertContains(xml, "<interface name=\"bindall\">\n            <inet-address value=\"0.0.0.0\"/>\n        </interface>\n    </interfaces>");
+            assertContains(xml, "<socket-binding name=\"http\" port=\"${jboss.http.port:8080}\" interface=\"bindall\"/>");
+            assertNotContains(xml, "ajp");
+            assertNotContains(xml, "modcluster");
+            assertNotContains(xml, "https-listener");
+            assertContains(xml, "<http-listener name=\"default\" socket-binding=\"http\" proxy-address-forwarding=\"true\"/>");
+            assertContains(xml, "<recovery-environment socket-binding=\"txn-recovery-environment\" recovery-listener=\"true\"/>");
+            assertContains(xml, "<channel name=\"ee\" stack=\"tcp\"/>");
+            assertContains(xml, "<transport type=\"TCP\" socket-binding=\"jgroups-tcp\"/>\n                    <protocol type=\"kubernetes.KUBE_PING\"/>\n                    <protocol type=\"MERGE3\"/>");
+            assertNotContains(xml, "MPING");
+            assertContains(xml, "<cache-container name=\"web\" default-cache=\"sessions\">");
+            assertContains(xml, "<distributed-cache name=\"sessions\">\n                    <expiration interval=\"0\"/>\n                </distributed-cache>");
+            assertContains(xml, "<modify-wsdl-address>true</modify-wsdl-address>\n            <wsdl-host>jbossws.undefined.host</wsdl-host>\n            <endpoint-config");
+        } finally {
+            IoUtils.recursiveDelete(dir);
+        }
+    }
+
+    @Test
+    public void testFallback() throws Exception {
+        Path dir = Files.createTempDirectory("offline-cli");
+        try {
+            Path config = dir.resolve("standalone.xml");
+            Files.write(config, CONFIG.getBytes(StandardCharsets.UTF_8));
+            List<String> auth = Arrays.asList("batch",
+                    "/subsystem=jgroups/stack=tcp/protocol=AUTH:add(add-index=3)",
+                    "run-batch");
+            List<String> commands = new ArrayList<>(auth);
+            // Same subsystem as the unknown commands, kept after them.
+            commands.add("/subsystem=jgroups/stack=tcp/protocol=MPING:remove");
+            commands.add("/subsystem=undertow/server=default-server/ajp-listener=ajp:remove");
+            List<String> remaining = OfflineCLIApplier.apply(config, commands);
+            List<String> expected = new ArrayList<>(auth);
+            expected.add("/subsystem=jgroups/stack=tcp/protocol=MPING:remove");
+            Assert.assertEquals(expected, remaining);
+            String xml = new String(Files.readAllBytes(config), StandardCharsets.UTF_8);
+            assertContains(xml, "MPING");
+            assertNotContains(xml, "ajp-listener");
+        } finally {
+            IoUtils.recursiveDelete(dir);
+        }
+    }
+
+    @Test
+    public void testDeploy() throws Exception {
+        Path dir = Files.createTempDirectory("offline-cli");
+        try {
+            Path config = Files.createDirectories(dir.resolve("configuration")).resolve("standalone.xml");
+            Files.write(config, CONFIG.getBytes(StandardCharsets.UTF_8));
+            Path deployment = dir.resolve("test.war");
+            Files.write(deployment, "deployment".getBytes(StandardCharsets.UTF_8));
+            String hash = HashUtils.hashFile(deployment);
+            List<String> commands = Arrays.asList("deploy " + deployment + " --name=test.war --runtime-name=ROOT.war",
+                    "deploy " + deployment + " --name=disabled.war --disabled");
+            List<String> remaining = OfflineCLIApplier.apply(config, commands);
+            Assert.assertEquals(commands.subList(1, 2), remaining);
+            String xml = new String(Files.readAllBytes(config), StandardCharsets.UTF_8);
+            assertContains(xml, "<deployment name=\"test.war\" runtime-name=\"ROOT.war\">");
+            assertContains(xml, "<content sha1=\"" + hash + "\"/>");
+            // The deployments follow the profile.
+            Assert.assertTrue(xml, xml.indexOf("<deployments>") > xml.indexOf("</profile>"));
+            Path content = dir.resolve("data").resolve("content").resolve(hash.substring(0, 2)).resolve(hash.substring(2))
+                    .resolve("content");
+            Assert.assertArrayEquals(Files.readAllBytes(deployment), Files.readAllBytes(content));
+            DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(config.toFile());
+        } finally {
+            IoUtils.recursiveDelete(dir);
+        }
+    }
+
+    private static List<String> readScript(String script) throws Exception {
+        try (InputStream stream = OfflineCLIApplierTestCase.class.getResourceAsStream("/org/wildfly/plugins/bootablejar/maven/cloud/" + script)) {
+            return new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)).lines().collect(Collectors.toList());
+        }
+    }
+
+    private static void assertContains(String xml, String expected) {
+        Assert.assertTrue(expected + " not found in " + xml, xml.contains(expected));
+    }
+
+    private static void assertNotContains(String xml, String unexpected) {
+        Assert.assertFalse(unexpected + " found in " + xml, xml.contains(unexpected));
+    }
+}
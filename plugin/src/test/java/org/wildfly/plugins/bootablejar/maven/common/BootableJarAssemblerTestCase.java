@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author jdenise
+ */
+public class BootableJarAssemblerTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testAssemble() throws Exception {
+        Path root = folder.getRoot().toPath();
+        byte[] binary = new byte[32 * 1024];
+        new Random(1).nextBytes(binary);
+
+        Path runtime = root.resolve("runtime.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(runtime), manifest("runtime"))) {
+            add(out, "org/wildfly/Main.class", "main".getBytes(StandardCharsets.UTF_8), false);
+            add(out, "shared.txt", "runtime".getBytes(StandardCharsets.UTF_8), false);
+            add(out, "stored.bin", binary, true);
+        }
+        Path jbossModules = root.resolve("jboss-modules.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jbossModules), manifest("jboss-modules"))) {
+            add(out, "org/jboss/modules/Main.class", "modules".getBytes(StandardCharsets.UTF_8), false);
+            add(out, "shared.txt", "jboss-modules".getBytes(StandardCharsets.UTF_8), false);
+            add(out, "modules.txt", "jboss-modules".getBytes(StandardCharsets.UTF_8), false);
+            add(out, "deflated.bin", binary, false);
+        }
+        Path content = folder.newFolder("content").toPath();
+        Files.write(content.resolve("shared.txt"), "content".getBytes(StandardCharsets.UTF_8));
+        Files.write(content.resolve("modules.txt"), "content".getBytes(StandardCharsets.UTF_8));
+        Files.write(content.resolve("wildfly.zip"), binary);
+        Files.createDirectories(content.resolve("extra"));
+        Files.write(content.resolve("extra").resolve("extra.txt"), "extra".getBytes(StandardCharsets.UTF_8));
+
+        Path jar = root.resolve("test-bootable.jar");
+        new BootableJarAssembler(runtime, jbossModules, content, CompressionPolicy.DEFAULT, null).assemble(jar, manifest -> {
+            manifest.getMainAttributes().putValue("Updated", "true");
+            return true;
+        });
+
+        List<String> names = new ArrayList<>();
+        try (ZipFile zip = ZipFile.builder().setPath(jar).get()) {
+            for (ZipArchiveEntry entry : Collections.list(zip.getEntriesInPhysicalOrder())) {
+                names.add(entry.getName());
+            }
+            // The runtime wins over jboss-modules that wins over the content directory.
+            Assert.assertEquals("runtime", read(zip, "shared.txt"));
+            Assert.assertEquals("jboss-modules", read(zip, "modules.txt"));
+            Assert.assertEquals("extra", read(zip, "extra/extra.txt"));
+            // The raw copied entries keep their method and content.
+            Assert.assertEquals(ZipEntry.STORED, zip.getEntry("stored.bin").getMethod());
+            Assert.assertEquals(ZipEntry.DEFLATED, zip.getEntry("deflated.bin").getMethod());
+            for (String name : new String[] {"stored.bin", "deflated.bin", "wildfly.zip"}) {
+                try (InputStream in = zip.getInputStream(zip.getEntry(name))) {
+                    Assert.assertArrayEquals(name, binary, in.readAllBytes());
+                }
+            }
+        }
+        Assert.assertEquals(names.toString(), names.size(), names.stream().distinct().count());
+        Assert.assertEquals("META-INF/", names.get(0));
+        Assert.assertEquals(JarFile.MANIFEST_NAME, names.get(1));
+        Assert.assertTrue(names.contains("org/wildfly/Main.class"));
+        Assert.assertTrue(names.contains("org/jboss/modules/Main.class"));
+
+        // The manifest is seen by JarInputStream, the entries are valid.
+        try (JarInputStream in = new JarInputStream(Files.newInputStream(jar), true)) {
+            Manifest manifest = in.getManifest();
+            Assert.assertNotNull(manifest);
+            Assert.assertEquals("runtime", manifest.getMainAttributes().getValue("Source"));
+            Assert.assertEquals("true", manifest.getMainAttributes().getValue("Updated"));
+            JarEntry entry;
+            while ((entry = in.getNextJarEntry()) != null) {
+                CRC32 crc = new CRC32();
+                crc.update(in.readAllBytes());
+                if (entry.getCrc() != -1) {
+                    Assert.assertEquals(entry.getName(), entry.getCrc(), crc.getValue());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnchangedManifest() throws Exception {
+        Path root = folder.getRoot().toPath();
+        Path runtime = root.resolve("runtime.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(runtime), manifest("runtime"))) {
+            add(out, "org/wildfly/Main.class", "main".getBytes(StandardCharsets.UTF_8), false);
+        }
+        Path content = folder.newFolder("content").toPath();
+        Path jar = root.resolve("test-bootable.jar");
+        new BootableJarAssembler(runtime, null, content, CompressionPolicy.DEFAULT, null).assemble(jar, manifest -> false);
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            Assert.assertEquals("runtime", jarFile.getManifest().getMainAttributes().getValue("Source"));
+            Assert.assertNotNull(jarFile.getEntry("org/wildfly/Main.class"));
+        }
+        Assert.assertTrue(BootableJarAssembler.containsEntry(jar, "org/wildfly/Main.class"));
+        Assert.assertFalse(BootableJarAssembler.containsEntry(jar, "wildfly.zip"));
+    }
+
+    private static Manifest manifest(String source) {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Source", source);
+        return manifest;
+    }
+
+    private static void add(JarOutputStream out, String name, byte[] content, boolean stored) throws Exception {
+        JarEntry entry = new JarEntry(name);
+        if (stored) {
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(content.length);
+            entry.setCrc(crc.getValue());
+        }
+        out.putNextEntry(entry);
+        out.write(content);
+        out.closeEntry();
+    }
+
+    private static String read(ZipFile zip, String name) throws Exception {
+        try (InputStream in = zip.getInputStream(zip.getEntry(name))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
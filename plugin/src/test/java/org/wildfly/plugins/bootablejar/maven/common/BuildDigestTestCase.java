@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.jboss.galleon.util.IoUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author jdenise
+ */
+public class BuildDigestTestCase {
+
+    @Test
+    public void testValues() {
+        Assert.assertEquals(new BuildDigest().add("a", "b").toHex(), new BuildDigest().add("a", "b").toHex());
+        Assert.assertNotEquals(new BuildDigest().add("a", "b").toHex(), new BuildDigest().add("a", "c").toHex());
+        // Values are delimited, concatenation can't produce the same digest.
+        Assert.assertNotEquals(new BuildDigest().add("ab", "c").toHex(), new BuildDigest().add("a", "bc").toHex());
+        Assert.assertEquals(64, new BuildDigest().toHex().length());
+    }
+
+    @Test
+    public void testDirectory() throws Exception {
+        Path dir = Files.createTempDirectory("build-digest");
+        try {
+            Files.createDirectories(dir.resolve("sub"));
+            Files.write(dir.resolve("sub").resolve("file.txt"), "content".getBytes(StandardCharsets.UTF_8));
+            Files.write(dir.resolve("other.txt"), "other".getBytes(StandardCharsets.UTF_8));
+            String digest = new BuildDigest().addDirectory("dir", dir).toHex();
+            Assert.assertEquals(digest, new BuildDigest().addDirectory("dir", dir).toHex());
+
+            Files.write(dir.resolve("sub").resolve("file.txt"), "changed".getBytes(StandardCharsets.UTF_8));
+            Assert.assertNotEquals(digest, new BuildDigest().addDirectory("dir", dir).toHex());
+
+            Assert.assertEquals(new BuildDigest().addFile("file", dir.resolve("missing")).toHex(),
+                    new BuildDigest().addFile("file", null).toHex());
+        } finally {
+            IoUtils.recursiveDelete(dir);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author jdenise
+ */
+public class ClassDataSharingTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testManagementPort() throws Exception {
+        Path config = write("<server xmlns=\"urn:jboss:domain:20.0\">\n"
+                + "    <management>\n"
+                + "        <management-interfaces>\n"
+                + "            <http-interface http-authentication-factory=\"management-http-authentication\">\n"
+                + "                <socket-binding http=\"admin-http\"/>\n"
+                + "            </http-interface>\n"
+                + "        </management-interfaces>\n"
+                + "    </management>\n"
+                + "    <socket-binding-group name=\"standard-sockets\" default-interface=\"public\">\n"
+                + "        <socket-binding name=\"http\" port=\"${jboss.http.port:8080}\"/>\n"
+                + "        <socket-binding name=\"admin-http\" interface=\"management\" port=\"${jboss.management.http.port:9991}\"/>\n"
+                + "    </socket-binding-group>\n"
+                + "</server>\n");
+        Assert.assertEquals(10091, ClassDataSharing.getManagementPort(config, 100));
+    }
+
+    @Test
+    public void testNoManagementInterface() throws Exception {
+        Path config = write("<server xmlns=\"urn:jboss:domain:20.0\">\n"
+                + "    <socket-binding-group name=\"standard-sockets\" default-interface=\"public\">\n"
+                + "        <socket-binding name=\"management-http\" interface=\"management\" port=\"9990\"/>\n"
+                + "    </socket-binding-group>\n"
+                + "</server>\n");
+        Assert.assertEquals(-1, ClassDataSharing.getManagementPort(config, 0));
+    }
+
+    private Path write(String content) throws Exception {
+        Path config = folder.getRoot().toPath().resolve("standalone.xml");
+        Files.write(config, content.getBytes(StandardCharsets.UTF_8));
+        return config;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author jdenise
+ */
+public class CompressionPolicyTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEntryMethods() {
+        Assert.assertEquals(ZipEntry.DEFLATED, CompressionPolicy.DEFAULT.getServerEntryMethod("modules/foo.jar"));
+        Assert.assertEquals(ZipEntry.DEFLATED, CompressionPolicy.DEFAULT.getJarEntryMethod(ServerZipper.SERVER_ZIP));
+        Assert.assertEquals(Deflater.DEFAULT_COMPRESSION, CompressionPolicy.DEFAULT.getLevel());
+
+        CompressionPolicy storeCompressed = new CompressionPolicy(Deflater.BEST_SPEED, true, false);
+        Assert.assertEquals(Deflater.BEST_SPEED, storeCompressed.getLevel());
+        Assert.assertEquals(ZipEntry.STORED, storeCompressed.getServerEntryMethod("modules/foo.jar"));
+        Assert.assertEquals(ZipEntry.STORED, storeCompressed.getServerEntryMethod("standalone/deployments/FOO.WAR"));
+        Assert.assertEquals(ZipEntry.STORED, storeCompressed.getServerEntryMethod("docs/foo.zip"));
+        Assert.assertEquals(ZipEntry.DEFLATED, storeCompressed.getServerEntryMethod("modules/module.xml"));
+        Assert.assertEquals(ZipEntry.DEFLATED, storeCompressed.getJarEntryMethod(ServerZipper.SERVER_ZIP));
+
+        CompressionPolicy storeServerZip = new CompressionPolicy(Deflater.DEFAULT_COMPRESSION, false, true);
+        Assert.assertEquals(ZipEntry.DEFLATED, storeServerZip.getServerEntryMethod("modules/foo.jar"));
+        Assert.assertEquals(ZipEntry.STORED, storeServerZip.getJarEntryMethod(ServerZipper.SERVER_ZIP));
+        Assert.assertEquals(ZipEntry.DEFLATED, storeServerZip.getJarEntryMethod("provisioning.xml"));
+    }
+
+    @Test
+    public void testInvalidLevel() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new CompressionPolicy(-2, false, false));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new CompressionPolicy(10, false, false));
+    }
+
+    @Test
+    public void testPackagedEntries() throws Exception {
+        Path home = folder.newFolder("wildfly").toPath();
+        write(home.resolve("modules").resolve("foo.jar"), "jar");
+        write(home.resolve("modules").resolve("module.xml"), "<module/>");
+        Path runtime = folder.getRoot().toPath().resolve("runtime.jar");
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(runtime), manifest)) {
+            // Manifest only.
+        }
+
+        CompressionPolicy policy = new CompressionPolicy(Deflater.NO_COMPRESSION, true, true);
+        Path content = folder.newFolder("content").toPath();
+        Path serverZip = new ServerZipper(1, policy, null).zip(home, content);
+        write(content.resolve("provisioning.xml"), "<provisioning/>");
+        Path jar = folder.getRoot().toPath().resolve("test-bootable.jar");
+        new BootableJarAssembler(runtime, null, content, policy, null).assemble(jar, m -> false);
+
+        try (ZipFile zip = ZipFile.builder().setPath(serverZip).get()) {
+            Assert.assertEquals(ZipEntry.STORED, zip.getEntry("modules/foo.jar").getMethod());
+            Assert.assertEquals(ZipEntry.DEFLATED, zip.getEntry("modules/module.xml").getMethod());
+            Assert.assertEquals("jar", read(zip, "modules/foo.jar"));
+        }
+        try (ZipFile zip = ZipFile.builder().setPath(jar).get()) {
+            Assert.assertEquals(ZipEntry.STORED, zip.getEntry(ServerZipper.SERVER_ZIP).getMethod());
+            Assert.assertEquals(ZipEntry.DEFLATED, zip.getEntry("provisioning.xml").getMethod());
+            Assert.assertEquals("<provisioning/>", read(zip, "provisioning.xml"));
+        }
+    }
+
+    private static String read(ZipFile zip, String name) throws Exception {
+        try (InputStream in = zip.getInputStream(zip.getEntry(name))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void write(Path file, String content) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
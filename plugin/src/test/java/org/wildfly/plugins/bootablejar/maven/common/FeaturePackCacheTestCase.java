@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author jdenise
+ */
+public class FeaturePackCacheTestCase {
+
+    @Test
+    public void testSharedLayersBound() {
+        FeaturePackCache cache = new FeaturePackCache(true);
+        cache.putLayers("test-first", Collections.singleton("first"), true);
+        cache.putLayers("test-mutable", Collections.singleton("mutable"), false);
+        for (int i = 1; i < FeaturePackCache.MAX_SHARED_LAYERS; i++) {
+            cache.putLayers("test-" + i, Collections.singleton("layer"), true);
+            // The first entry is the most recently used one.
+            Assert.assertNotNull(new FeaturePackCache(true).getLayers("test-first"));
+        }
+        cache.putLayers("test-last", Collections.singleton("last"), true);
+
+        FeaturePackCache next = new FeaturePackCache(true);
+        Assert.assertEquals(Collections.singleton("first"), next.getLayers("test-first"));
+        Assert.assertNull(next.getLayers("test-mutable"));
+        Assert.assertNull(next.getLayers("test-1"));
+        Assert.assertNotNull(next.getLayers("test-2"));
+        Assert.assertNotNull(next.getLayers("test-last"));
+        Assert.assertNull(new FeaturePackCache(false).getLayers("test-last"));
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author jdenise
+ */
+public class JandexIndexerTestCase {
+
+    private static final String CLASS_ENTRY = Annotated.class.getName().replace('.', '/') + ".class";
+    private static final DotName CLASS_NAME = DotName.createSimple(Annotated.class.getName());
+    private static final DotName DEPRECATED = DotName.createSimple(Deprecated.class.getName());
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Deprecated
+    static class Annotated {
+    }
+
+    @Test
+    public void testIndexVersionMapping() {
+        Assert.assertEquals(10, JandexIndexer.getIndexVersion(2, 4));
+        Assert.assertEquals(11, JandexIndexer.getIndexVersion(3, 0));
+        Assert.assertEquals(12, JandexIndexer.getIndexVersion(3, 1));
+        Assert.assertEquals(12, JandexIndexer.getIndexVersion(3, 2));
+        Assert.assertEquals(12, JandexIndexer.getIndexVersion(4, 0));
+    }
+
+    @Test
+    public void testServerIndexVersion() throws Exception {
+        Path home = folder.newFolder("wildfly").toPath();
+        Assert.assertEquals(10, JandexIndexer.getIndexVersion(home));
+        Path jandex = Files.createDirectories(home.resolve("modules/system/layers/base/org/jboss/jandex/main"));
+        Assert.assertEquals(10, JandexIndexer.getIndexVersion(home));
+        Files.write(jandex.resolve("jandex-maven-plugin.jar"), new byte[0]);
+        Assert.assertEquals(10, JandexIndexer.getIndexVersion(home));
+        Files.write(jandex.resolve("jandex-3.1.6.jar"), new byte[0]);
+        Assert.assertEquals(12, JandexIndexer.getIndexVersion(home));
+        // The oldest Jandex of the server applies.
+        Path legacy = Files.createDirectories(home.resolve("modules/system/layers/legacy/org/jboss/jandex/main"));
+        Files.write(legacy.resolve("jandex-3.0.5.Final.jar"), new byte[0]);
+        Assert.assertEquals(11, JandexIndexer.getIndexVersion(home));
+        Files.write(legacy.resolve("jandex-2.4.3.Final.jar"), new byte[0]);
+        Assert.assertEquals(10, JandexIndexer.getIndexVersion(home));
+    }
+
+    @Test
+    public void testIndexJar() throws Exception {
+        for (int version : new int[] {10, 11, 12}) {
+            Path jar = folder.getRoot().toPath().resolve("lib-" + version + ".jar");
+            Files.write(jar, archive(CLASS_ENTRY, classBytes(), "META-INF/resource.txt", text("resource")));
+            Assert.assertTrue(new JandexIndexer(version).indexJar(jar));
+            try (ZipFile zip = new ZipFile(jar.toFile())) {
+                Assert.assertEquals("resource", read(zip.getInputStream(zip.getEntry("META-INF/resource.txt"))));
+                Assert.assertNotNull(zip.getEntry(CLASS_ENTRY));
+                try (InputStream in = zip.getInputStream(zip.getEntry(JandexIndexer.INDEX))) {
+                    assertIndex(in, version);
+                }
+            }
+            // Already indexed.
+            Assert.assertFalse(new JandexIndexer(version).indexJar(jar));
+            Assert.assertFalse(Files.exists(jar.resolveSibling(jar.getFileName() + ".indexed")));
+        }
+    }
+
+    @Test
+    public void testIndexWar() throws Exception {
+        byte[] lib = archive(CLASS_ENTRY, classBytes());
+        Path war = folder.getRoot().toPath().resolve("test.war");
+        Files.write(war, archive("WEB-INF/classes/" + CLASS_ENTRY, classBytes(),
+                "WEB-INF/lib/lib.jar", lib,
+                "index.html", text("<html/>")));
+        Path target = folder.getRoot().toPath().resolve("indexed.war");
+        new JandexIndexer(11).indexDeployment(war, target);
+        try (ZipFile zip = new ZipFile(target.toFile())) {
+            Assert.assertNull(zip.getEntry(JandexIndexer.INDEX));
+            Assert.assertEquals("<html/>", read(zip.getInputStream(zip.getEntry("index.html"))));
+            try (InputStream in = zip.getInputStream(zip.getEntry("WEB-INF/classes/" + JandexIndexer.INDEX))) {
+                assertIndex(in, 11);
+            }
+            try (ZipInputStream nested = new ZipInputStream(zip.getInputStream(zip.getEntry("WEB-INF/lib/lib.jar")))) {
+                boolean found = false;
+                ZipEntry entry;
+                while ((entry = nested.getNextEntry()) != null) {
+                    if (entry.getName().equals(JandexIndexer.INDEX)) {
+                        assertIndex(new ByteArrayInputStream(nested.readAllBytes()), 11);
+                        found = true;
+                    }
+                }
+                Assert.assertTrue(found);
+            }
+        }
+    }
+
+    private static void assertIndex(InputStream in, int version) throws Exception {
+        IndexReader reader = new IndexReader(in);
+        Assert.assertEquals(version, reader.getIndexVersion());
+        Index index = reader.read();
+        Assert.assertNotNull(index.getClassByName(CLASS_NAME));
+        Assert.assertEquals(1, index.getAnnotations(DEPRECATED).size());
+        Assert.assertEquals(CLASS_NAME, index.getAnnotations(DEPRECATED).iterator().next().target().asClass().name());
+    }
+
+    private static byte[] classBytes() throws Exception {
+        try (InputStream in = JandexIndexerTestCase.class.getClassLoader().getResourceAsStream(CLASS_ENTRY)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] text(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(InputStream in) throws Exception {
+        try (InputStream stream = in) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static byte[] archive(Object... entries) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zout = new ZipOutputStream(out)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zout.putNextEntry(new ZipEntry((String) entries[i]));
+                zout.write((byte[]) entries[i + 1]);
+                zout.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Random;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author jdenise
+ */
+public class ReproducibleOutputTestCase {
+
+    private static final String TIMESTAMP = "2026-01-01T00:00:00Z";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testOutputTimestamp() {
+        Assert.assertNull(ReproducibleOutput.fromOutputTimestamp(null));
+        Assert.assertNull(ReproducibleOutput.fromOutputTimestamp("1"));
+        Assert.assertNotNull(ReproducibleOutput.fromOutputTimestamp(TIMESTAMP));
+        Assert.assertNotNull(ReproducibleOutput.fromOutputTimestamp("1767225600"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ReproducibleOutput.fromOutputTimestamp("yesterday"));
+    }
+
+    @Test
+    public void testIdenticalPackaging() throws Exception {
+        Path runtime = folder.getRoot().toPath().resolve("runtime.jar");
+        createRuntimeJar(runtime);
+        Path home = folder.newFolder("wildfly").toPath();
+        createServer(home);
+
+        Path first = packageServer(home, runtime, "first", 1);
+        // The files of the server are touched, as after a new provisioning.
+        touch(home);
+        Path second = packageServer(home, runtime, "second", 1);
+        Path parallel = packageServer(home, runtime, "parallel", 4);
+
+        byte[] zip = Files.readAllBytes(first.resolve("content").resolve(ServerZipper.SERVER_ZIP));
+        Assert.assertArrayEquals(zip, Files.readAllBytes(second.resolve("content").resolve(ServerZipper.SERVER_ZIP)));
+        Assert.assertArrayEquals(zip, Files.readAllBytes(parallel.resolve("content").resolve(ServerZipper.SERVER_ZIP)));
+        byte[] jar = Files.readAllBytes(first.resolve("test-bootable.jar"));
+        Assert.assertArrayEquals(jar, Files.readAllBytes(second.resolve("test-bootable.jar")));
+        Assert.assertArrayEquals(jar, Files.readAllBytes(parallel.resolve("test-bootable.jar")));
+
+        try (ZipFile zipFile = ZipFile.builder().setPath(first.resolve("content").resolve(ServerZipper.SERVER_ZIP)).get()) {
+            // The content that changes at each boot of the embedded server is not packaged.
+            Assert.assertNull(zipFile.getEntry("standalone/data/kernel/process-uuid"));
+            Assert.assertEquals(0100755, zipFile.getEntry("bin/standalone.sh").getUnixMode());
+            Assert.assertEquals(0100644, zipFile.getEntry("standalone/configuration/standalone.xml").getUnixMode());
+        }
+    }
+
+    private Path packageServer(Path home, Path runtime, String name, int threads) throws Exception {
+        ReproducibleOutput reproducible = ReproducibleOutput.fromOutputTimestamp(TIMESTAMP);
+        Path target = folder.newFolder(name).toPath();
+        Path content = Files.createDirectory(target.resolve("content"));
+        new ServerZipper(threads, CompressionPolicy.DEFAULT, reproducible).zip(home, content);
+        Files.write(content.resolve("provisioning.xml"), "<provisioning/>".getBytes(StandardCharsets.UTF_8));
+        new BootableJarAssembler(runtime, null, content, CompressionPolicy.DEFAULT, reproducible)
+                .assemble(target.resolve("test-bootable.jar"), manifest -> {
+                    manifest.getMainAttributes().putValue("Z-Attribute", "z");
+                    manifest.getMainAttributes().putValue("A-Attribute", "a");
+                    return true;
+                });
+        return target;
+    }
+
+    private static void createRuntimeJar(Path jar) throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, "org.wildfly.core.jar.boot.Main");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar), manifest)) {
+            out.putNextEntry(new JarEntry("org/wildfly/core/jar/boot/Main.class"));
+            out.write(new byte[] {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE});
+            out.closeEntry();
+        }
+    }
+
+    private static void createServer(Path home) throws Exception {
+        write(home.resolve("bin").resolve("standalone.sh"), "#!/bin/sh");
+        write(home.resolve("standalone").resolve("configuration").resolve("standalone.xml"), "<server/>");
+        write(home.resolve("standalone").resolve("data").resolve("kernel").resolve("process-uuid"), "uuid");
+        Path modules = home.resolve("modules").resolve("org").resolve("foo").resolve("main");
+        write(modules.resolve("module.xml"), "<module name=\"org.foo\"/>");
+        byte[] bytes = new byte[64 * 1024];
+        new Random(1).nextBytes(bytes);
+        for (int i = 0; i < 16; i++) {
+            try (OutputStream out = Files.newOutputStream(modules.resolve("foo-" + i + ".jar"))) {
+                out.write(bytes, 0, bytes.length - i);
+            }
+        }
+    }
+
+    private static void touch(Path home) throws Exception {
+        FileTime time = FileTime.fromMillis(System.currentTimeMillis() + 60_000);
+        try (Stream<Path> stream = Files.walk(home)) {
+            for (Path p : (Iterable<Path>) stream::iterator) {
+                Files.setLastModifiedTime(p, time);
+            }
+        }
+    }
+
+    private static void write(Path file, String content) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
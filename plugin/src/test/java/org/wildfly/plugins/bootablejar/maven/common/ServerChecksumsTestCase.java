@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author jdenise
+ */
+public class ServerChecksumsTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testManifestFormat() throws Exception {
+        Path home = folder.newFolder("wildfly").toPath();
+        byte[] binary = new byte[100 * 1024];
+        new Random(1).nextBytes(binary);
+        write(home.resolve("modules").resolve("org").resolve("foo").resolve("main").resolve("foo.jar"), binary);
+        write(home.resolve("standalone").resolve("configuration").resolve("standalone.xml"),
+                "<server/>".getBytes(StandardCharsets.UTF_8));
+        write(home.resolve("standalone").resolve("data").resolve("file with spaces.txt"), "spaces".getBytes(StandardCharsets.UTF_8));
+        write(home.resolve("standalone").resolve("data").resolve("empty"), new byte[0]);
+        Files.createDirectories(home.resolve("standalone").resolve("deployments"));
+
+        Path serverZip = new ServerZipper(4, CompressionPolicy.DEFAULT, null).zip(home, folder.newFolder("content").toPath());
+        Path manifest = ServerChecksums.write(serverZip);
+        Assert.assertEquals(serverZip.resolveSibling("wildfly.zip.sha256"), manifest);
+
+        List<String> expected = new ArrayList<>();
+        try (ZipFile zip = ZipFile.builder().setPath(serverZip).get()) {
+            for (ZipArchiveEntry entry : Collections.list(zip.getEntriesInPhysicalOrder())) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                byte[] content = Files.readAllBytes(home.resolve(entry.getName()));
+                String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+                expected.add(sha256 + " " + content.length + " " + entry.getName());
+            }
+        }
+        Assert.assertEquals(4, expected.size());
+        String content = new String(Files.readAllBytes(manifest), StandardCharsets.UTF_8);
+        Assert.assertEquals(String.join("\n", expected) + "\n", content);
+        Assert.assertTrue(content.contains("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855 0 standalone/data/empty\n"));
+        Assert.assertTrue(content.contains(" 6 standalone/data/file with spaces.txt\n"));
+    }
+
+    private static void write(Path file, byte[] content) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+    }
+}
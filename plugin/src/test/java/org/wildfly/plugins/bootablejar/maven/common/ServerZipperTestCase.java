@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.common;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author jdenise
+ */
+public class ServerZipperTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testParallelZip() throws Exception {
+        Path home = folder.newFolder("wildfly").toPath();
+        write(home.resolve("bin").resolve("standalone.sh"), "#!/bin/sh".getBytes(StandardCharsets.UTF_8));
+        write(home.resolve("standalone").resolve("configuration").resolve("standalone.xml"),
+                "<server/>".getBytes(StandardCharsets.UTF_8));
+        Files.createDirectories(home.resolve("standalone").resolve("deployments"));
+        Random random = new Random(1);
+        for (int i = 0; i < 32; i++) {
+            byte[] bytes = new byte[random.nextInt(128 * 1024)];
+            random.nextBytes(bytes);
+            Path module = home.resolve("modules").resolve("org").resolve("foo" + i % 4).resolve("main");
+            write(module.resolve("foo-" + i + ".jar"), bytes);
+            write(module.resolve("module.xml"), ("<module name=\"org.foo" + i % 4 + "\"/>").getBytes(StandardCharsets.UTF_8));
+        }
+        // Empty file.
+        write(home.resolve("standalone").resolve("data").resolve("empty"), new byte[0]);
+
+        Path single = new ServerZipper(1, CompressionPolicy.DEFAULT, null).zip(home, folder.newFolder("single").toPath());
+        Path parallel = new ServerZipper(4, CompressionPolicy.DEFAULT, null).zip(home, folder.newFolder("parallel").toPath());
+        Path defaultThreads = new ServerZipper(0, CompressionPolicy.DEFAULT, null).zip(home, folder.newFolder("default").toPath());
+
+        assertSameEntries(single, parallel);
+        assertSameEntries(single, defaultThreads);
+
+        // The permissions set by the normalization are kept by the parallel zip.
+        ReproducibleOutput reproducible = ReproducibleOutput.fromOutputTimestamp("2026-01-01T00:00:00Z");
+        single = new ServerZipper(1, CompressionPolicy.DEFAULT, reproducible).zip(home, folder.newFolder("single-reproducible").toPath());
+        parallel = new ServerZipper(4, CompressionPolicy.DEFAULT, reproducible).zip(home, folder.newFolder("parallel-reproducible").toPath());
+        assertSameEntries(single, parallel);
+        try (ZipFile zip = ZipFile.builder().setPath(parallel).get()) {
+            Assert.assertEquals(0100755, zip.getEntry("bin/standalone.sh").getUnixMode());
+            Assert.assertEquals(040755, zip.getEntry("standalone/deployments/").getUnixMode());
+        }
+    }
+
+    private static void assertSameEntries(Path expected, Path actual) throws Exception {
+        try (ZipFile expectedZip = ZipFile.builder().setPath(expected).get();
+                ZipFile actualZip = ZipFile.builder().setPath(actual).get()) {
+            List<ZipArchiveEntry> expectedEntries = Collections.list(expectedZip.getEntriesInPhysicalOrder());
+            List<ZipArchiveEntry> actualEntries = Collections.list(actualZip.getEntriesInPhysicalOrder());
+            Assert.assertEquals(names(expectedEntries), names(actualEntries));
+            for (int i = 0; i < expectedEntries.size(); i++) {
+                ZipArchiveEntry e = expectedEntries.get(i);
+                ZipArchiveEntry a = actualEntries.get(i);
+                Assert.assertEquals(e.getName(), e.getMethod(), a.getMethod());
+                Assert.assertEquals(e.getName(), e.getSize(), a.getSize());
+                Assert.assertEquals(e.getName(), e.getCrc(), a.getCrc());
+                Assert.assertEquals(e.getName(), e.getTime(), a.getTime());
+                Assert.assertEquals(e.getName(), e.getUnixMode(), a.getUnixMode());
+                Assert.assertEquals(e.getName(), e.getExternalAttributes(), a.getExternalAttributes());
+                try (InputStream ein = expectedZip.getInputStream(e); InputStream ain = actualZip.getInputStream(a)) {
+                    Assert.assertArrayEquals(e.getName(), ein.readAllBytes(), ain.readAllBytes());
+                }
+            }
+        }
+    }
+
+    private static List<String> names(List<ZipArchiveEntry> entries) {
+        List<String> names = new ArrayList<>();
+        for (ZipArchiveEntry entry : entries) {
+            names.add(entry.getName());
+        }
+        return names;
+    }
+
+    private static void write(Path file, byte[] content) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.jboss.galleon.universe.maven.MavenArtifact;
+import org.jboss.galleon.universe.maven.MavenUniverseException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.wildfly.channel.ArtifactCoordinate;
+import org.wildfly.channel.ArtifactTransferException;
+import org.wildfly.channel.ChannelMetadataCoordinate;
+import org.wildfly.channel.NoStreamFoundException;
+import org.wildfly.channel.Repository;
+import org.wildfly.channel.spi.MavenVersionsResolver;
+
+/**
+ * @author jdenise
+ */
+public class ChannelMavenArtifactRepositoryManagerTestCase {
+
+    private static final String REQUIRE_CHANNEL = "org.wildfly.plugins.galleon.all.artifact.requires.channel.resolution";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TestResolver resolver;
+    private ChannelMavenArtifactRepositoryManager manager;
+
+    @Before
+    public void setUp() throws Exception {
+        Path manifest = folder.getRoot().toPath().resolve("manifest.yaml");
+        Files.write(manifest, ("schemaVersion: \"1.0.0\"\n"
+                + "streams:\n"
+                + "  - groupId: \"org.foo\"\n"
+                + "    artifactId: \"foo\"\n"
+                + "    version: \"1.1\"\n"
+                + "  - groupId: \"org.foo\"\n"
+                + "    artifactId: \"bar\"\n"
+                + "    version: \"2.1\"\n").getBytes(StandardCharsets.UTF_8));
+        resolver = new TestResolver();
+        resolver.add("org.foo", "foo", "1.0");
+        resolver.add("org.foo", "foo", "1.1");
+        resolver.add("org.foo", "bar", "2.1");
+        resolver.add("org.other", "other", "3.0");
+        ChannelConfiguration configuration = new ChannelConfiguration();
+        configuration.set(manifest.toUri().toURL().toExternalForm());
+        manager = new ChannelMavenArtifactRepositoryManager(List.of(configuration.toChannel(Collections.emptyList())),
+                repositories -> resolver, folder.getRoot().toPath(), new SystemStreamLog(), null);
+    }
+
+    @Test
+    public void testBatchResolution() throws Exception {
+        MavenArtifact foo = artifact("org.foo", "foo", "1.0");
+        MavenArtifact bar = artifact("org.foo", "bar", "2.0");
+        manager.resolveAll(List.of(foo, bar));
+        Assert.assertEquals("1.1", foo.getVersion());
+        Assert.assertEquals("2.1", bar.getVersion());
+        Assert.assertEquals(resolver.getFile("org.foo", "foo", "1.1").toPath(), foo.getPath());
+        Assert.assertEquals(1, resolver.batches.size());
+        Assert.assertEquals(Collections.emptyList(), resolver.resolved);
+
+        // Served from the cache.
+        MavenArtifact fooAgain = artifact("org.foo", "foo", "1.0");
+        manager.resolve(fooAgain);
+        Assert.assertEquals("1.1", fooAgain.getVersion());
+        Assert.assertEquals(Collections.emptyList(), resolver.resolved);
+    }
+
+    @Test
+    public void testBatchFailureFallback() throws Exception {
+        MavenArtifact foo = artifact("org.foo", "foo", "1.0");
+        MavenArtifact other = artifact("org.other", "other", "3.0");
+        manager.resolveAll(List.of(foo, other));
+        // The artifacts are resolved one by one, the channel version still applies to the artifacts of the channel.
+        Assert.assertEquals("1.1", foo.getVersion());
+        Assert.assertEquals(resolver.getFile("org.foo", "foo", "1.1").toPath(), foo.getPath());
+        // The original version is used for the artifact that is not in the channel.
+        Assert.assertEquals("3.0", other.getVersion());
+        Assert.assertEquals(resolver.getFile("org.other", "other", "3.0").toPath(), other.getPath());
+    }
+
+    @Test
+    public void testCachedNoStreamFound() throws Exception {
+        MavenArtifact other = artifact("org.other", "other", "3.0");
+        other.addMetadata(REQUIRE_CHANNEL, "true");
+        MavenUniverseException first = Assert.assertThrows(MavenUniverseException.class, () -> manager.resolve(other));
+        Assert.assertTrue(first.getCause() instanceof NoStreamFoundException);
+
+        // The artifact known to not be in the channel is not part of the batch, that succeeds for the other ones.
+        MavenArtifact foo = artifact("org.foo", "foo", "1.0");
+        MavenArtifact bar = artifact("org.foo", "bar", "2.0");
+        MavenArtifact otherAgain = artifact("org.other", "other", "3.0");
+        otherAgain.addMetadata(REQUIRE_CHANNEL, "true");
+        MavenUniverseException second = Assert.assertThrows(MavenUniverseException.class,
+                () -> manager.resolveAll(List.of(foo, bar, otherAgain)));
+        Assert.assertSame(first.getCause(), second.getCause());
+        Assert.assertEquals(1, resolver.batches.size());
+        Set<String> batch = new HashSet<>();
+        for (ArtifactCoordinate coordinate : resolver.batches.get(0)) {
+            batch.add(coordinate.getGroupId() + ":" + coordinate.getArtifactId());
+        }
+        Assert.assertEquals(Set.of("org.foo:foo", "org.foo:bar"), batch);
+        Assert.assertEquals("1.1", foo.getVersion());
+        Assert.assertEquals("2.1", bar.getVersion());
+        Assert.assertNull(otherAgain.getPath());
+
+        // Without the channel requirement, the original version is resolved.
+        MavenArtifact optional = artifact("org.other", "other", "3.0");
+        manager.resolve(optional);
+        Assert.assertEquals("3.0", optional.getVersion());
+        Assert.assertEquals(resolver.getFile("org.other", "other", "3.0").toPath(), optional.getPath());
+    }
+
+    private static MavenArtifact artifact(String groupId, String artifactId, String version) {
+        return new MavenArtifact().setGroupId(groupId).setArtifactId(artifactId).setVersion(version).setExtension("jar");
+    }
+
+    private final class TestResolver implements MavenVersionsResolver {
+
+        private final Map<String, File> files = new HashMap<>();
+        private final List<List<ArtifactCoordinate>> batches = new ArrayList<>();
+        private final List<String> resolved = new ArrayList<>();
+
+        private void add(String groupId, String artifactId, String version) throws Exception {
+            Path file = folder.getRoot().toPath().resolve(artifactId + "-" + version + ".jar");
+            Files.write(file, new byte[0]);
+            files.put(groupId + ":" + artifactId + ":" + version, file.toFile());
+        }
+
+        private File getFile(String groupId, String artifactId, String version) {
+            return files.get(groupId + ":" + artifactId + ":" + version);
+        }
+
+        @Override
+        public Set<String> getAllVersions(String groupId, String artifactId, String extension, String classifier) {
+            Set<String> versions = new HashSet<>();
+            String prefix = groupId + ":" + artifactId + ":";
+            for (String key : files.keySet()) {
+                if (key.startsWith(prefix)) {
+                    versions.add(key.substring(prefix.length()));
+                }
+            }
+            return versions;
+        }
+
+        @Override
+        public File resolveArtifact(String groupId, String artifactId, String extension, String classifier, String version)
+                throws ArtifactTransferException {
+            resolved.add(groupId + ":" + artifactId + ":" + version);
+            File file = getFile(groupId, artifactId, version);
+            if (file == null) {
+                throw new ArtifactTransferException("Not found " + groupId + ":" + artifactId + ":" + version,
+                        Set.of(new ArtifactCoordinate(groupId, artifactId, extension, classifier, version)), Set.of());
+            }
+            return file;
+        }
+
+        @Override
+        public List<File> resolveArtifacts(List<ArtifactCoordinate> coordinates) throws ArtifactTransferException {
+            batches.add(new ArrayList<>(coordinates));
+            List<File> result = new ArrayList<>();
+            for (ArtifactCoordinate coordinate : coordinates) {
+                File file = getFile(coordinate.getGroupId(), coordinate.getArtifactId(), coordinate.getVersion());
+                if (file == null) {
+                    throw new ArtifactTransferException("Not found " + coordinate, Set.of(coordinate), Set.of());
+                }
+                result.add(file);
+            }
+            return result;
+        }
+
+        @Override
+        public List<URL> resolveChannelMetadata(List<? extends ChannelMetadataCoordinate> coordinates) {
+            List<URL> urls = new ArrayList<>();
+            for (ChannelMetadataCoordinate coordinate : coordinates) {
+                urls.add(coordinate.getUrl());
+            }
+            return urls;
+        }
+
+        @Override
+        public String getMetadataReleaseVersion(String groupId, String artifactId) {
+            return null;
+        }
+
+        @Override
+        public String getMetadataLatestVersion(String groupId, String artifactId) {
+            return null;
+        }
+    }
+}
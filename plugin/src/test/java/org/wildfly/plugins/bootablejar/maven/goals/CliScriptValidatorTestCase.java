@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author jdenise
+ */
+public class CliScriptValidatorTestCase {
+
+    private static final String[] CLOUD_SCRIPTS = {
+        "openshift-management-script.cli",
+        "openshift-logging-script.cli",
+        "openshift-interfaces-script.cli",
+        "openshift-https-script.cli",
+        "openshift-undertow-script.cli",
+        "openshift-tx-script.cli",
+        "openshift-clustering-script.cli",
+        "openshift-infinispan-script.cli",
+        "openshift-webservices-script.cli"};
+
+    @Test
+    public void testCloudScripts() throws Exception {
+        for (String script : CLOUD_SCRIPTS) {
+            CliScriptValidator validator = new CliScriptValidator(null, false);
+            validator.validate(script, readScript(script));
+            Assert.assertEquals(script, Arrays.asList(), validator.getErrors());
+        }
+    }
+
+    @Test
+    public void testValid() {
+        Properties props = new Properties();
+        props.setProperty("foo.value", "bar");
+        CliScriptValidator validator = new CliScriptValidator(props, true);
+        validator.validate("test.cli", Arrays.asList(
+                "# comment",
+                "",
+                "/system-property=foo:add(value=${foo.value})",
+                "/system-property=bar:add(value=${bar.value:default})",
+                "if (outcome != success) of /subsystem=logging/logger=org.foo:read-resource",
+                "    /subsystem=logging/logger=org.foo:add(level=DEBUG, handlers=[\"CONSOLE\"])",
+                "else",
+                "    /subsystem=logging/logger=org.foo:write-attribute(name=level, value=\"a:b(c\")",
+                "end-if",
+                "batch",
+                ":write-attribute(name=name,value=test){allow-resource-service-restart=true}",
+                "/subsystem=datasources/data-source=ds:add(jndi-name=java\\:jboss/ds)",
+                "run-batch",
+                "for name in :read-children-names(child-type=system-property)",
+                "echo $name",
+                "done",
+                ":read-resource(recursive, !include-runtime)"));
+        Assert.assertEquals(Arrays.asList(), validator.getErrors());
+    }
+
+    @Test
+    public void testInvalid() {
+        CliScriptValidator validator = new CliScriptValidator(new Properties(), true);
+        validator.validate("test.cli", Arrays.asList(
+                "/system-property=foo:add(value=bar",
+                "/system-property=foo:add(value=${foo.value})",
+                "/system-property=foo",
+                "/system-property:add(value=bar)",
+                "/system-property=foo:add(value=bar) foo",
+                "/system-property=foo:add(value=bar,)",
+                "foo-command --bar",
+                "end-if",
+                "batch",
+                "batch"));
+        List<String> errors = validator.getErrors();
+        Assert.assertEquals(errors.toString(), 8, errors.size());
+        assertError(errors.get(0), "test.cli:1", "'(' is not closed");
+        assertError(errors.get(1), "test.cli:3", "Missing operation name");
+        assertError(errors.get(2), "test.cli:4", "Invalid address element");
+        assertError(errors.get(3), "test.cli:5", "Unexpected content 'foo'");
+        assertError(errors.get(4), "test.cli:6", "Invalid parameter ''");
+        assertError(errors.get(5), "test.cli:8", "end-if without if");
+        assertError(errors.get(6), "test.cli:10", "batch is already active");
+        assertError(errors.get(7), "test.cli:9", "batch is not closed");
+        Assert.assertEquals(2, validator.getWarnings().size());
+        assertError(validator.getWarnings().get(0), "test.cli:2", "${foo.value} can't be resolved");
+        assertError(validator.getWarnings().get(1), "test.cli:7", "Unknown command foo-command");
+    }
+
+    @Test
+    public void testCommandArguments() {
+        CliScriptValidator validator = new CliScriptValidator(new Properties(), true);
+        validator.validate("test.cli", Arrays.asList(
+                "command add --node-type=/subsystem=logging/logger --command-name=logger",
+                "logger add --name=org.foo",
+                "echo Unbalanced (\"quote ${not.defined}"));
+        Assert.assertEquals(Arrays.asList(), validator.getErrors());
+        Assert.assertEquals(1, validator.getWarnings().size());
+        assertError(validator.getWarnings().get(0), "test.cli:2", "Unknown command logger");
+    }
+
+    @Test
+    public void testServerEnvironmentExpressions() {
+        CliScriptValidator validator = new CliScriptValidator(new Properties(), true);
+        validator.validate("test.cli", Arrays.asList(
+                "/subsystem=logging/periodic-rotating-file-handler=foo:add(file={path=${jboss.server.log.dir}/foo.log})",
+                "/system-property=home:add(value=${jboss.home.dir})"));
+        Assert.assertEquals(Arrays.asList(), validator.getErrors());
+        Assert.assertEquals(Arrays.asList(), validator.getWarnings());
+    }
+
+    @Test
+    public void testUnresolvedExpressionsAtRuntime() {
+        CliScriptValidator validator = new CliScriptValidator(null, false);
+        validator.validate("test.cli", Arrays.asList("/system-property=foo:add(value=${foo.value})"));
+        Assert.assertEquals(Arrays.asList(), validator.getErrors());
+    }
+
+    private static void assertError(String error, String location, String message) {
+        Assert.assertTrue(error, error.startsWith(location + ": "));
+        Assert.assertTrue(error, error.contains(message));
+    }
+
+    private static List<String> readScript(String script) throws Exception {
+        try (InputStream stream = CliScriptValidatorTestCase.class.getResourceAsStream("/org/wildfly/plugins/bootablejar/maven/cloud/" + script)) {
+            return new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)).lines().collect(Collectors.toList());
+        }
+    }
+}
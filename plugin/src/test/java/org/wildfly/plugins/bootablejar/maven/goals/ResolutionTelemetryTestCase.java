@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+import org.jboss.galleon.universe.maven.MavenArtifact;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author jdenise
+ */
+public class ResolutionTelemetryTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReport() throws Exception {
+        ResolutionTelemetry telemetry = new ResolutionTelemetry();
+        telemetry.transferSucceeded(download("org/foo/remote/1.0/remote-1.0.jar", 1024));
+        telemetry.transferSucceeded(download("org/foo/remote/1.0/remote-1.0.pom", 100));
+
+        telemetry.resolved(artifact("remote", "/repo/org/foo/remote/1.0/remote-1.0.jar"), 30_000_000);
+        telemetry.resolved(artifact("local", "/repo/org/foo/local/1.0/local-1.0.jar"), 10_000_000);
+        // Only the first resolution of an artifact is reported.
+        telemetry.resolved(artifact("local", "/repo/org/foo/local/1.0/local-1.0.jar"), 50_000_000);
+        telemetry.failed(artifact("missing", null), 20_000_000);
+
+        Path report = folder.getRoot().toPath().resolve(ResolutionTelemetry.REPORT_FILE);
+        telemetry.write(report, 2);
+        String content = new String(Files.readAllBytes(report), StandardCharsets.UTF_8);
+        Assert.assertTrue(content, content.contains("<summary artifacts=\"3\" resolutions=\"4\" local=\"1\" remote=\"1\" failed=\"1\""
+                + " transfers=\"2\" transferred-bytes=\"1124\" time-ms=\"60\""));
+        String slowest = content.substring(content.indexOf("<slowest-artifacts>"), content.indexOf("</slowest-artifacts>"));
+        Assert.assertTrue(slowest, slowest.indexOf(":remote:") < slowest.indexOf(":missing:"));
+        Assert.assertFalse(slowest, slowest.contains(":local:"));
+        Assert.assertTrue(content, content.contains(
+                "<artifact coords=\"org.foo:remote:jar:1.0\" time-ms=\"30\" source=\"remote\" bytes=\"1024\"/>"));
+        Assert.assertTrue(content, content.contains("<artifact coords=\"org.foo:local:jar:1.0\" time-ms=\"10\" source=\"local\"/>"));
+        Assert.assertTrue(content, content.contains("source=\"failed\""));
+    }
+
+    private static TransferEvent download(String name, long bytes) {
+        TransferResource resource = new TransferResource("remote", "https://repo.example/", name, null, null);
+        return new TransferEvent.Builder(new DefaultRepositorySystemSession(), resource)
+                .setType(TransferEvent.EventType.SUCCEEDED)
+                .setRequestType(TransferEvent.RequestType.GET)
+                .setTransferredBytes(bytes)
+                .build();
+    }
+
+    private static MavenArtifact artifact(String artifactId, String path) {
+        MavenArtifact artifact = new MavenArtifact().setGroupId("org.foo").setArtifactId(artifactId).setVersion("1.0")
+                .setExtension("jar");
+        if (path != null) {
+            artifact.setPath(Paths.get(path));
+        }
+        return artifact;
+    }
+}
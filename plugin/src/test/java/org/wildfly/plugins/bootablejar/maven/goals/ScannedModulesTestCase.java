@@ -0,0 +1,270 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.jboss.galleon.ProvisioningException;
+import org.jboss.galleon.api.GalleonFeaturePackRuntime;
+import org.jboss.galleon.api.GalleonPackageRuntime;
+import org.jboss.galleon.universe.FeaturePackLocation;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.wildfly.plugin.tools.bootablejar.BootableJarSupport;
+
+/**
+ * @author jdenise
+ */
+public class ScannedModulesTestCase {
+
+    private static final String JBOSS_MODULES = "org.jboss.modules:jboss-modules";
+    private static final String JBOSS_MODULES_VERSION = "org.jboss.modules:jboss-modules:2.1.0.Final::jar";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testScan() throws Exception {
+        Path fp1 = folder.newFolder("fp1").toPath();
+        write(fp1.resolve(BootableJarSupport.WILDFLY_ARTIFACT_VERSIONS_RESOURCE_PATH),
+                "# Artifact versions\n"
+                + JBOSS_MODULES + "=" + JBOSS_MODULES_VERSION + "\n"
+                + "org.foo:foo=org.foo:foo:1.0::jar\n"
+                + "org.foo:foo-impl=org.foo:foo-impl:1.0::jar\n"
+                + "org.bar:bar=org.bar:bar:2.0::jar\n"
+                + "org.tool:tool=org.tool:tool:3.0::jar\n");
+        TestFeaturePack featurePack1 = new TestFeaturePack(fp1);
+        // A template present in multiple packages is processed once, for the last package.
+        Path fooAlias = featurePack1.addPackage("org.foo.alias");
+        write(fooAlias.resolve("pm/wildfly/module/org/foo/main/module.xml"),
+                "<module xmlns=\"urn:jboss:module:1.9\" name=\"org.foo\">\n"
+                + "  <resources>\n"
+                + "    <artifact name=\"${org.bar:bar}\"/>\n"
+                + "  </resources>\n"
+                + "</module>\n");
+        Path foo = featurePack1.addPackage("org.foo");
+        write(foo.resolve("pm/wildfly/module/org/foo/main/module.xml"),
+                "<module xmlns=\"urn:jboss:module:1.9\" name=\"org.foo\">\n"
+                + "  <resources>\n"
+                + "    <artifact name=\"${org.foo:foo}\"/>\n"
+                + "    <artifact name=\"${org.foo:foo-impl}\"/>\n"
+                + "    <resource-root path=\"foo-local.jar\"/>\n"
+                + "    <artifact name=\"org.literal:literal:1.0\"/>\n"
+                + "  </resources>\n"
+                + "  <dependencies>\n"
+                + "    <module name=\"org.bar\"/>\n"
+                + "  </dependencies>\n"
+                + "</module>\n");
+        Path tasks = featurePack1.addPackage("tasks");
+        write(tasks.resolve("pm/wildfly/tasks.xml"),
+                "<tasks xmlns=\"urn:wildfly:wildfly-feature-pack-tasks:3.1\">\n"
+                + "  <copy-artifact artifact=\"org.tool:tool\" to-location=\"bin/tool.jar\"/>\n"
+                + "  <copy-artifact artifact=\"org.missing:optional\" to-location=\"bin/optional.jar\" optional=\"true\"/>\n"
+                + "  <copy-artifact artifact=\"org.missing:required\" to-location=\"bin/required.jar\"/>\n"
+                + "  <mkdir name=\"standalone/tmp\"/>\n"
+                + "</tasks>\n");
+        // A package without any WildFly content.
+        featurePack1.addPackage("docs");
+
+        // The artifact versions of all the feature-packs are visible to the module templates.
+        Path fp2 = folder.newFolder("fp2").toPath();
+        write(fp2.resolve(BootableJarSupport.WILDFLY_ARTIFACT_VERSIONS_RESOURCE_PATH),
+                "org.baz:baz=org.baz:baz:4.0::jar\n");
+        TestFeaturePack featurePack2 = new TestFeaturePack(fp2);
+        Path bar = featurePack2.addPackage("org.bar");
+        write(bar.resolve("pm/wildfly/module/org/bar/main/module.xml"),
+                "<module xmlns=\"urn:jboss:module:1.9\" name=\"org.bar\">\n"
+                + "  <resources>\n"
+                + "    <artifact name=\"${org.bar:bar}\"/>\n"
+                + "    <artifact name=\"${org.baz:baz}\"/>\n"
+                + "  </resources>\n"
+                + "</module>\n");
+
+        ScannedModules scanned = ScannedModules.scan(List.of(featurePack1, featurePack2));
+
+        Map<String, Map<String, String>> expectedModules = new TreeMap<>();
+        Map<String, String> fooArtifacts = new TreeMap<>();
+        fooArtifacts.put("org.foo:foo", "org.foo:foo:1.0::jar");
+        fooArtifacts.put("org.foo:foo-impl", "org.foo:foo-impl:1.0::jar");
+        expectedModules.put("org.foo", fooArtifacts);
+        Map<String, String> barArtifacts = new TreeMap<>();
+        barArtifacts.put("org.bar:bar", "org.bar:bar:2.0::jar");
+        barArtifacts.put("org.baz:baz", "org.baz:baz:4.0::jar");
+        expectedModules.put("org.bar", barArtifacts);
+        Assert.assertEquals(expectedModules, scanned.getPerModuleArtifacts());
+
+        Map<String, String> expectedCopied = new HashMap<>();
+        expectedCopied.put("org.tool:tool", "org.tool:tool:3.0::jar");
+        expectedCopied.put("org.missing:optional", "org.missing:optional:unknown::jar");
+        Assert.assertEquals(expectedCopied, scanned.getCopiedArtifacts());
+
+        Assert.assertEquals(JBOSS_MODULES_VERSION, scanned.getModuleRuntime());
+
+        Map<String, String> expectedProvisioned = new HashMap<>();
+        expectedProvisioned.putAll(fooArtifacts);
+        expectedProvisioned.putAll(barArtifacts);
+        expectedProvisioned.putAll(expectedCopied);
+        expectedProvisioned.put(JBOSS_MODULES, JBOSS_MODULES_VERSION);
+        Assert.assertEquals(expectedProvisioned, scanned.getProvisionedArtifacts());
+    }
+
+    @Test
+    public void testNoModuleRuntime() throws Exception {
+        Path fp = folder.newFolder("fp").toPath();
+        write(fp.resolve(BootableJarSupport.WILDFLY_ARTIFACT_VERSIONS_RESOURCE_PATH), "org.foo:foo=org.foo:foo:1.0::jar\n");
+        TestFeaturePack featurePack = new TestFeaturePack(fp);
+        featurePack.addPackage("docs");
+        ProvisioningException ex = Assert.assertThrows(ProvisioningException.class,
+                () -> ScannedModules.scan(List.of(featurePack)));
+        Assert.assertEquals("No JBoss Modules runtime found", ex.getMessage());
+    }
+
+    @Test
+    public void testInvalidModuleTemplate() throws Exception {
+        Path fp = folder.newFolder("fp").toPath();
+        write(fp.resolve(BootableJarSupport.WILDFLY_ARTIFACT_VERSIONS_RESOURCE_PATH),
+                JBOSS_MODULES + "=" + JBOSS_MODULES_VERSION + "\n");
+        TestFeaturePack featurePack = new TestFeaturePack(fp);
+        Path foo = featurePack.addPackage("org.foo");
+        write(foo.resolve("pm/wildfly/module/org/foo/main/module.xml"), "<module><resources>");
+        ProvisioningException ex = Assert.assertThrows(ProvisioningException.class,
+                () -> ScannedModules.scan(List.of(featurePack)));
+        Assert.assertTrue(ex.getMessage(), ex.getMessage().contains("package org.foo"));
+    }
+
+    private static void write(Path file, String content) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path resolve(Path dir, String... path) {
+        Path p = dir;
+        for (String name : path) {
+            p = p.resolve(name);
+        }
+        return p;
+    }
+
+    private static final class TestFeaturePack implements GalleonFeaturePackRuntime {
+
+        private final Path dir;
+        private final List<GalleonPackageRuntime> packages = new ArrayList<>();
+
+        private TestFeaturePack(Path dir) {
+            this.dir = dir;
+        }
+
+        private Path addPackage(String name) throws Exception {
+            Path pkgDir = Files.createDirectories(dir.resolve("packages").resolve(name));
+            packages.add(new TestPackage(name, pkgDir));
+            return pkgDir;
+        }
+
+        @Override
+        public FeaturePackLocation.FPID getFPID() {
+            return null;
+        }
+
+        @Override
+        public boolean hasPackages() {
+            return !packages.isEmpty();
+        }
+
+        @Override
+        public boolean containsPackage(String name) {
+            return getGalleonPackage(name) != null;
+        }
+
+        @Override
+        public Set<String> getPackageNames() {
+            Set<String> names = new LinkedHashSet<>();
+            for (GalleonPackageRuntime pkg : packages) {
+                names.add(pkg.getName());
+            }
+            return names;
+        }
+
+        @Override
+        public Collection<GalleonPackageRuntime> getGalleonPackages() {
+            return Collections.unmodifiableList(packages);
+        }
+
+        @Override
+        public GalleonPackageRuntime getGalleonPackage(String name) {
+            for (GalleonPackageRuntime pkg : packages) {
+                if (pkg.getName().equals(name)) {
+                    return pkg;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Path getResource(String... path) {
+            return ScannedModulesTestCase.resolve(dir, path);
+        }
+    }
+
+    private static final class TestPackage implements GalleonPackageRuntime {
+
+        private final String name;
+        private final Path dir;
+
+        private TestPackage(String name, Path dir) {
+            this.name = name;
+            this.dir = dir;
+        }
+
+        @Override
+        public String getStability() {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Path getResource(String... path) {
+            return ScannedModulesTestCase.resolve(dir, path);
+        }
+
+        @Override
+        public Path getContentDir() {
+            return dir.resolve("content");
+        }
+
+        @Override
+        public FeaturePackLocation.FPID getFeaturePackFPID() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+/**
+ * @author jdenise
+ */
+public class CliCacheTestCase extends AbstractBootableJarMojoTestCase {
+
+    private static final String CACHED = "<!-- restored from the CLI cache -->";
+
+    public CliCacheTestCase() {
+        super("cli-cache-pom.xml", true, null, "add-prop.cli");
+    }
+
+    @Test
+    public void testCliCache() throws Exception {
+        final Path dir = getTestDir();
+        Path cache = Files.createTempDirectory("wildfly-jar-cli-cache");
+        try {
+            // The configured server is stored in the cache.
+            BuildBootableJarMojo mojo = lookupMojo("package", cache);
+            assertTrue(mojo.cliCache);
+            mojo.execute();
+            List<Path> entries = getEntries(cache);
+            assertEquals(1, entries.size());
+            String config = readConfig(dir);
+            assertTrue(config, config.contains("foobootable"));
+            Files.write(entries.get(0).resolve("configuration").resolve("standalone.xml"),
+                    CACHED.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+            // Unchanged inputs, the configuration is restored from the cache.
+            mojo = lookupMojo("package", cache);
+            mojo.execute();
+            assertEquals(entries, getEntries(cache));
+            config = readConfig(dir);
+            assertTrue(config, config.contains("foobootable"));
+            assertTrue(config, config.contains(CACHED));
+            checkDeployment(dir, true);
+
+            // The script changed, the server is configured by the CLI.
+            writeScript(dir, "/system-property=foobootable3:add(value=bar)");
+            mojo = lookupMojo("package", cache);
+            mojo.execute();
+            assertEquals(2, getEntries(cache).size());
+            config = readConfig(dir);
+            assertTrue(config, config.contains("foobootable3"));
+            assertFalse(config, config.contains(CACHED));
+
+            // The CLI resolves the expressions of the addresses, the cache is disabled.
+            writeScript(dir, "/system-property=${bootable.test.property.name:foobootable4}:add(value=bar)");
+            mojo = lookupMojo("package", cache);
+            mojo.execute();
+            assertEquals(2, getEntries(cache).size());
+            config = readConfig(dir);
+            assertTrue(config, config.contains("foobootable4"));
+        } finally {
+            BuildBootableJarMojo.deleteDir(cache);
+        }
+    }
+
+    private BuildBootableJarMojo lookupMojo(String goal, Path cache) throws Exception {
+        BuildBootableJarMojo mojo = lookupMojo(goal);
+        mojo.cliCacheDir = cache.toFile();
+        return mojo;
+    }
+
+    private String readConfig(Path dir) throws Exception {
+        String[] layers = {"jaxrs", "management"};
+        Path home = checkAndGetWildFlyHome(dir, true, true, layers, null, false);
+        try {
+            return new String(Files.readAllBytes(home.resolve("standalone").resolve("configuration").resolve("standalone.xml")),
+                    StandardCharsets.UTF_8);
+        } finally {
+            BuildBootableJarMojo.deleteDir(home);
+        }
+    }
+
+    private static void writeScript(Path dir, String command) throws Exception {
+        Files.write(dir.resolve("add-prop.cli"), command.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Directories being published or deleted are not entries.
+    private static List<Path> getEntries(Path cache) throws Exception {
+        try (Stream<Path> stream = Files.list(cache)) {
+            return stream.filter(p -> !p.getFileName().toString().startsWith(".")).sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Test;
+
+/**
+ * @author jdenise
+ */
+public class CliClassLoaderTestCase extends AbstractBootableJarMojoTestCase {
+
+    // The unloading of the class loaders is checked in debug mode.
+    private static class DebugLog extends SystemStreamLog {
+
+        private final List<String> debug = new ArrayList<>();
+        private final List<String> warnings = new ArrayList<>();
+
+        @Override
+        public boolean isDebugEnabled() {
+            return true;
+        }
+
+        @Override
+        public void debug(CharSequence content) {
+            debug.add(content.toString());
+        }
+
+        @Override
+        public void warn(CharSequence content) {
+            warnings.add(content.toString());
+            super.warn(content);
+        }
+    }
+
+    public CliClassLoaderTestCase() {
+        super("cli-class-loader-pom.xml", true, null, "add-prop.cli");
+    }
+
+    @Test
+    public void testClassLoaderUnloaded() throws Exception {
+        BuildBootableJarMojo mojo = lookupMojo("package");
+        assertEquals("false", mojo.pluginOptions.get("jboss-fork-embedded"));
+        DebugLog log = new DebugLog();
+        mojo.setLog(log);
+        String modulePath = System.getProperty("module.path");
+        mojo.execute();
+        // The class loaders of the closed in-process CLI executors have been garbage collected.
+        assertTrue(log.debug.toString(), log.debug.contains("The CLI class loaders have been unloaded"));
+        for (String warning : log.warnings) {
+            assertFalse(warning, warning.contains("have not been unloaded"));
+        }
+        assertEquals(modulePath, System.getProperty("module.path"));
+        String[] layers = {"jaxrs", "management"};
+        final Path dir = getTestDir();
+        checkJar(dir, true, true, layers, null, mojo.recordState, "foobootable");
+        checkDeployment(dir, true);
+    }
+}
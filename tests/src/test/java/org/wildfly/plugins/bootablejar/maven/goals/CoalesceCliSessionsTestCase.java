@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+/**
+ * @author jdenise
+ */
+public class CoalesceCliSessionsTestCase extends AbstractBootableJarMojoTestCase {
+
+    public CoalesceCliSessionsTestCase() {
+        super("coalesce-cli-sessions-pom.xml", true, null, "coalesced-1.cli", "coalesced-1.properties",
+                "coalesced-2.cli", "coalesced-2.properties");
+    }
+
+    @Test
+    public void testCoalescedSessions() throws Exception {
+        BuildBootableJarMojo mojo = lookupMojo("package");
+        assertTrue(mojo.coalesceCliSessions);
+        assertEquals(2, mojo.cliSessions.size());
+        mojo.execute();
+        final Path dir = getTestDir();
+        String[] layers = {"jaxrs", "management", "logging"};
+        Path home = checkAndGetWildFlyHome(dir, true, true, layers, null, mojo.recordState);
+        try {
+            Path configDir = home.resolve("standalone").resolve("configuration");
+            String config = new String(Files.readAllBytes(configDir.resolve("standalone.xml")), StandardCharsets.UTF_8);
+            // The first session resolves the expressions with its properties file.
+            assertTrue(config, config.contains("name=\"coalesced1\" value=\"one\""));
+            // The second session uses its properties file for the address, the expressions of the values are kept.
+            assertTrue(config, config.contains("name=\"coalesced2\" value=\"${coalesced.value}\""));
+            // The boot logging configuration is generated after the sessions.
+            String logging = new String(Files.readAllBytes(configDir.resolve("logging.properties")), StandardCharsets.UTF_8);
+            assertTrue(logging, logging.contains("org.coalesced"));
+        } finally {
+            BuildBootableJarMojo.deleteDir(home);
+        }
+        checkDeployment(dir, true);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.Test;
+import org.wildfly.core.launcher.CommandBuilder;
+import org.wildfly.core.launcher.Launcher;
+import org.wildfly.core.launcher.ProcessHelper;
+import org.wildfly.core.launcher.StandaloneCommandBuilder;
+import org.wildfly.plugins.bootablejar.maven.cloud.CloudConfig;
+import org.wildfly.plugins.bootablejar.maven.common.ExplodedOutput;
+import org.wildfly.plugins.bootablejar.maven.common.Utils;
+
+/**
+ * @author jdenise
+ */
+public class ExplodedOutputTestCase extends AbstractBootableJarMojoTestCase {
+
+    public ExplodedOutputTestCase() {
+        super("exploded-output-pom.xml", true, null);
+    }
+
+    @Test
+    public void testExplodedOutput() throws Exception {
+        BuildBootableJarMojo mojo = lookupMojo("package");
+        assertEquals("exploded", mojo.outputMode);
+        mojo.execute();
+        final Path dir = getTestDir();
+        Path jar = dir.resolve("target").resolve(TEST_FILE);
+        assertFalse(Files.exists(jar));
+        ExplodedOutput exploded = ExplodedOutput.of(jar);
+        assertTrue(exploded.exists());
+        Path home = exploded.getExplodedDir();
+        assertTrue(Files.exists(home.resolve(ExplodedOutput.LAUNCHER)));
+        assertTrue(Files.exists(home.resolve("standalone").resolve("configuration").resolve("standalone.xml")));
+        assertEquals(1, Files.list(home.resolve("standalone").resolve("data").resolve("content")).count());
+
+        // The run and start goals run the exploded server.
+        CommandBuilder builder = Utils.buildCommand(null, mojo.project, "run",
+                Utils.splitArguments(System.getProperty("test.jvm.args", "")), Collections.emptyList());
+        assertTrue(builder instanceof StandaloneCommandBuilder);
+        Path out = TestEnvironment.createTempPath("logs", getClass().getName() + "-process.txt");
+        Files.createDirectories(out.getParent());
+        Process process = Launcher.of(builder).setRedirectErrorStream(true).redirectOutput(out).launch();
+        try {
+            checkURL(dir, null, createUrl(TestEnvironment.getHttpPort(), ""), false);
+        } finally {
+            ProcessHelper.destroyProcess(process);
+        }
+    }
+
+    @Test
+    public void testCloudExplodedOutput() throws Exception {
+        BuildBootableJarMojo mojo = lookupMojo("package");
+        mojo.cloud = new CloudConfig();
+        try {
+            mojo.execute();
+            fail("The cloud configuration requires the bootable JAR runtime");
+        } catch (MojoExecutionException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("cloud"));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Test;
+
+/**
+ * @author jdenise
+ */
+public class IncrementalBuildTestCase extends AbstractBootableJarMojoTestCase {
+
+    public IncrementalBuildTestCase() {
+        super("incremental-build-pom.xml", true, null);
+    }
+
+    @Test
+    public void testIncrementalBuild() throws Exception {
+        final Path dir = getTestDir();
+        Path contentRoot = dir.resolve("target").resolve("bootable-jar-build-artifacts");
+        Path marker = contentRoot.resolve("wildfly").resolve("marker");
+        String[] layers = {"jaxrs", "management"};
+
+        BuildBootableJarMojo mojo = lookupMojo("package");
+        assertTrue(mojo.incrementalBuild);
+        mojo.execute();
+        String digest = IncrementalBuildState.load(contentRoot).getDigest();
+        assertTrue(SharedServerCache.contains(digest));
+        Files.write(marker, "marker".getBytes(StandardCharsets.UTF_8));
+
+        // Unchanged inputs, the configured server is reused.
+        mojo = lookupMojo("package");
+        mojo.execute();
+        assertTrue(Files.exists(marker));
+        assertEquals(digest, IncrementalBuildState.load(contentRoot).getDigest());
+        checkJar(dir, true, true, layers, null, mojo.recordState);
+
+        // The content of the deployment changed, the server is re-built.
+        addEntry(dir.resolve("target").resolve("test.war"), "incremental.txt");
+        mojo = lookupMojo("package");
+        mojo.execute();
+        assertFalse(Files.exists(marker));
+        String changedDigest = IncrementalBuildState.load(contentRoot).getDigest();
+        assertFalse(digest.equals(changedDigest));
+        checkJar(dir, true, true, layers, null, mojo.recordState);
+
+        // The server is restored from the shared cache, the files are linked to the cached ones.
+        BuildBootableJarMojo.deleteDir(contentRoot);
+        mojo = lookupMojo("package");
+        mojo.execute();
+        assertEquals(changedDigest, IncrementalBuildState.load(contentRoot).getDigest());
+        if (!TestEnvironment.isWindows()) {
+            try (Stream<Path> stream = Files.walk(contentRoot.resolve("wildfly").resolve("modules"))) {
+                Path jar = stream.filter(p -> p.getFileName().toString().endsWith(".jar")).findFirst().orElseThrow();
+                assertTrue(jar.toString(), (Integer) Files.getAttribute(jar, "unix:nlink") > 1);
+            }
+        }
+        checkJar(dir, true, true, layers, null, mojo.recordState);
+        checkDeployment(dir, true);
+    }
+
+    private static void addEntry(Path war, String name) throws Exception {
+        Path tmp = war.resolveSibling(war.getFileName() + ".tmp");
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(war));
+                ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(tmp))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                in.transferTo(out);
+                out.closeEntry();
+            }
+            out.putNextEntry(new ZipEntry(name));
+            out.write(name.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        Files.move(tmp, war, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
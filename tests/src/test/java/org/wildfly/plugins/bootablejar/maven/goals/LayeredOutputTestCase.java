@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.wildfly.core.launcher.CommandBuilder;
+import org.wildfly.plugins.bootablejar.maven.common.LayeredOutput;
+import org.wildfly.plugins.bootablejar.maven.common.Utils;
+
+/**
+ * @author jdenise
+ */
+public class LayeredOutputTestCase extends AbstractBootableJarMojoTestCase {
+
+    public LayeredOutputTestCase() {
+        super("layered-output-pom.xml", true, null);
+    }
+
+    @Test
+    public void testLayeredOutput() throws Exception {
+        BuildBootableJarMojo mojo = lookupMojo("package");
+        assertTrue(mojo.layeredOutput);
+        mojo.recordState = true;
+        mojo.execute();
+        final Path dir = getTestDir();
+        Path jar = dir.resolve("target").resolve(TEST_FILE);
+        LayeredOutput layers = LayeredOutput.of(jar);
+        assertTrue(Files.exists(layers.getLayersDir().resolve(LayeredOutput.LAYERS_INDEX)));
+        assertTrue(Files.exists(layers.getLayersDir().resolve(LayeredOutput.SERVER_LAYER).resolve(TEST_FILE)));
+        Path deployment = layers.getDeployment();
+        assertNotNull(deployment);
+        assertEquals("ROOT.war", deployment.getFileName().toString());
+        String[] layersNames = {"jaxrs", "management"};
+        // The bootable JAR is hollow.
+        checkJar(dir, false, true, layersNames, null, mojo.recordState);
+        // The run and start goals deploy the application of the deployment layer.
+        CommandBuilder builder = Utils.buildCommand(null, mojo.project, "run", Collections.emptyList(), Collections.emptyList());
+        assertTrue(builder.build().toString(), builder.build().contains("--deployment=" + deployment.toAbsolutePath()));
+        checkDeployment(dir, true, "--deployment=" + deployment.toAbsolutePath());
+    }
+}
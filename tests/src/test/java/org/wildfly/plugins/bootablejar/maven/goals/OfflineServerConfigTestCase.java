@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * @author jdenise
+ */
+public class OfflineServerConfigTestCase extends AbstractBootableJarMojoTestCase {
+
+    public OfflineServerConfigTestCase() {
+        super("offline-server-config-pom.xml", true, null);
+    }
+
+    @Test
+    public void testOfflineServerConfig() throws Exception {
+        BuildBootableJarMojo mojo = lookupMojo("package");
+        assertTrue(mojo.offlineServerConfig);
+        mojo.execute();
+        final Path dir = getTestDir();
+        String[] tokens = {"default-cache=\"sessions\"", "proxy-address-forwarding=\"true\"", "bindall"};
+        Path offlineHome = checkAndGetWildFlyHome(dir, true, true, null, null, mojo.recordState, tokens);
+        Path cliHome = null;
+        try {
+            checkDeployment(dir, true);
+            // The same server configured with the embedded server.
+            mojo = lookupMojo("package");
+            mojo.offlineServerConfig = false;
+            mojo.execute();
+            cliHome = checkAndGetWildFlyHome(dir, true, true, null, null, mojo.recordState, tokens);
+            assertEquals(canonical(cliHome), canonical(offlineHome));
+            assertEquals(listContent(cliHome), listContent(offlineHome));
+        } finally {
+            BuildBootableJarMojo.deleteDir(offlineHome);
+            if (cliHome != null) {
+                BuildBootableJarMojo.deleteDir(cliHome);
+            }
+        }
+    }
+
+    private static List<String> listContent(Path home) throws Exception {
+        Path content = home.resolve("standalone").resolve("data").resolve("content");
+        try (Stream<Path> stream = Files.walk(content)) {
+            return stream.filter(Files::isRegularFile).map(p -> content.relativize(p).toString()).sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // The configuration elements, the order of the attributes and of the sibling elements is not significant.
+    private static String canonical(Path home) throws Exception {
+        Path config = home.resolve("standalone").resolve("configuration").resolve("standalone.xml");
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return canonical(factory.newDocumentBuilder().parse(config.toFile()).getDocumentElement());
+    }
+
+    private static String canonical(Element element) {
+        StringBuilder builder = new StringBuilder();
+        builder.append('<').append(element.getNamespaceURI()).append(':').append(element.getLocalName());
+        TreeMap<String, String> attributes = new TreeMap<>();
+        NamedNodeMap map = element.getAttributes();
+        for (int i = 0; i < map.getLength(); i++) {
+            Node attribute = map.item(i);
+            if (!attribute.getNodeName().startsWith("xmlns")) {
+                attributes.put(attribute.getNodeName(), attribute.getNodeValue());
+            }
+        }
+        builder.append(attributes).append('>');
+        List<String> children = new ArrayList<>();
+        NodeList nodes = element.getChildNodes();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Node node = nodes.item(i);
+            if (node.getNodeType() == Node.ELEMENT_NODE) {
+                children.add(canonical((Element) node));
+            } else if (node.getNodeType() == Node.TEXT_NODE && !node.getNodeValue().isBlank()) {
+                children.add(node.getNodeValue().trim());
+            }
+        }
+        Collections.sort(children);
+        children.forEach(builder::append);
+        return builder.append("</>").toString();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * @author jdenise
+ */
+public class ReproducibleBuildTestCase extends AbstractBootableJarMojoTestCase {
+
+    private static final String OUTPUT_TIMESTAMP = "2026-01-01T00:00:00Z";
+
+    public ReproducibleBuildTestCase() {
+        super("reproducible-build-pom.xml", true, null);
+    }
+
+    @Test
+    public void testReproducibleBuild() throws Exception {
+        final Path dir = getTestDir();
+        Path serverZip = dir.resolve("target").resolve("bootable-jar-build-artifacts").resolve("jar-content").resolve("wildfly.zip");
+        Path jar = dir.resolve("target").resolve(TEST_FILE);
+
+        BuildBootableJarMojo mojo = lookupMojo("package");
+        mojo.outputTimestamp = OUTPUT_TIMESTAMP;
+        mojo.serverZipThreads = 1;
+        mojo.execute();
+        byte[] zipContent = Files.readAllBytes(serverZip);
+        byte[] jarContent = Files.readAllBytes(jar);
+
+        // Built again, the server entries are deflated concurrently.
+        mojo = lookupMojo("package");
+        mojo.outputTimestamp = OUTPUT_TIMESTAMP;
+        mojo.serverZipThreads = 4;
+        mojo.execute();
+        assertTrue(Arrays.equals(zipContent, Files.readAllBytes(serverZip)));
+        assertTrue(Arrays.equals(jarContent, Files.readAllBytes(jar)));
+
+        String[] layers = {"jaxrs", "management"};
+        checkJar(dir, true, true, layers, null, mojo.recordState);
+        checkDeployment(dir, true);
+    }
+}
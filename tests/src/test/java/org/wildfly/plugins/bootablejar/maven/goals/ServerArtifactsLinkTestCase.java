@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+/**
+ * @author jdenise
+ */
+public class ServerArtifactsLinkTestCase extends AbstractBootableJarMojoTestCase {
+
+    public ServerArtifactsLinkTestCase() {
+        super("link-artifacts-pom.xml", true, null);
+    }
+
+    @Test
+    public void testLinkedArtifacts() throws Exception {
+        BuildBootableJarMojo mojo = lookupMojo("package");
+        assertEquals("hardlink", mojo.serverArtifactsLinkMode);
+        mojo.recordState = true;
+        mojo.execute();
+        final Path dir = getTestDir();
+        Path modules = dir.resolve("target").resolve("bootable-jar-build-artifacts").resolve("wildfly").resolve("modules");
+        List<Path> moduleFiles;
+        List<Path> jars;
+        try (Stream<Path> stream = Files.walk(modules)) {
+            moduleFiles = stream.filter(p -> p.getFileName().toString().equals("module.xml")).collect(Collectors.toList());
+        }
+        try (Stream<Path> stream = Files.walk(modules)) {
+            jars = stream.filter(p -> p.getFileName().toString().endsWith(".jar")).collect(Collectors.toList());
+        }
+        assertFalse(jars.isEmpty());
+        for (Path moduleFile : moduleFiles) {
+            String content = new String(Files.readAllBytes(moduleFile), StandardCharsets.UTF_8);
+            assertFalse(moduleFile.toString(), content.contains("<artifact "));
+        }
+        if (!TestEnvironment.isWindows()) {
+            for (Path jar : jars) {
+                // A hard linked artifact is shared with the local Maven repository, it can't be written.
+                if ((Integer) Files.getAttribute(jar, "unix:nlink") > 1) {
+                    assertFalse(jar.toString(), Files.getPosixFilePermissions(jar).contains(PosixFilePermission.OWNER_WRITE));
+                }
+            }
+        }
+        String[] layers = {"jaxrs", "management"};
+        checkJar(dir, true, true, layers, null, mojo.recordState);
+        checkDeployment(dir, true);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bootablejar.maven.goals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.wildfly.plugin.tools.bootablejar.ScannedArtifacts;
+
+/**
+ * @author jdenise
+ */
+public class ServerStoreTestCase extends AbstractBootableJarMojoTestCase {
+
+    public ServerStoreTestCase() {
+        super("server-store-pom.xml", true, null);
+    }
+
+    @Test
+    public void testServerStore() throws Exception {
+        final Path dir = getTestDir();
+        Path contentRoot = dir.resolve("target").resolve("bootable-jar-build-artifacts");
+        String[] layers = {"jaxrs", "management"};
+        Path localStore = Files.createTempDirectory("wildfly-jar-server-store");
+        Path sharedStore = Files.createTempDirectory("wildfly-jar-server-store-shared");
+        Path tmp = Files.createTempDirectory("wildfly-jar-server-store-test");
+        try {
+            // The provisioned server is published in both stores.
+            BuildBootableJarMojo mojo = lookupMojo("package", localStore, sharedStore);
+            assertTrue(mojo.serverStore);
+            mojo.execute();
+            List<Path> entries = getEntries(localStore);
+            assertEquals(1, entries.size());
+            String digest = entries.get(0).getFileName().toString();
+            assertEquals(entries.toString(), List.of(sharedStore.resolve(digest)), getEntries(sharedStore));
+            assertTrue(Files.exists(entries.get(0).resolve("server").resolve("modules")));
+            checkJar(dir, true, true, layers, null, mojo.recordState);
+
+            // The server is restored from the shared store, the local store is populated.
+            Files.write(sharedStore.resolve(digest).resolve("server").resolve("marker"), "marker".getBytes(StandardCharsets.UTF_8));
+            BuildBootableJarMojo.deleteDir(localStore.resolve(digest));
+            BuildBootableJarMojo.deleteDir(contentRoot);
+            mojo = lookupMojo("package", localStore, sharedStore);
+            mojo.execute();
+            assertTrue(Files.exists(contentRoot.resolve("wildfly").resolve("marker")));
+            assertTrue(Files.exists(localStore.resolve(digest).resolve("server").resolve("marker")));
+            checkJar(dir, true, true, layers, null, mojo.recordState);
+            checkDeployment(dir, true);
+
+            // The least recently used entry is evicted when the store is above its bound.
+            ServerStore store = new ServerStore(localStore, 0);
+            Path home = tmp.resolve("home");
+            Path provisioningFile = tmp.resolve("provisioning.xml");
+            ScannedArtifacts artifacts = store.restore(digest, home, provisioningFile);
+            assertNotNull(artifacts);
+            assertTrue(Files.exists(home.resolve("marker")));
+            assertNull(store.restore("unknown", tmp.resolve("unknown"), tmp.resolve("unknown.xml")));
+            store.publish("other", home, provisioningFile, artifacts);
+            assertEquals(List.of(localStore.resolve("other")), getEntries(localStore));
+            assertNotNull(store.restore("other", tmp.resolve("other"), tmp.resolve("other.xml")));
+        } finally {
+            BuildBootableJarMojo.deleteDir(localStore);
+            BuildBootableJarMojo.deleteDir(sharedStore);
+            BuildBootableJarMojo.deleteDir(tmp);
+        }
+    }
+
+    private BuildBootableJarMojo lookupMojo(String goal, Path localStore, Path sharedStore) throws Exception {
+        BuildBootableJarMojo mojo = lookupMojo(goal);
+        mojo.serverStoreDir = localStore.toFile();
+        mojo.serverStoreSharedDir = sharedStore.toFile();
+        return mojo;
+    }
+
+    // Directories being published or deleted are not entries.
+    private static List<Path> getEntries(Path store) throws Exception {
+        try (Stream<Path> stream = Files.list(store)) {
+            return stream.filter(p -> !p.getFileName().toString().startsWith(".")).sorted().collect(Collectors.toList());
+        }
+    }
+}